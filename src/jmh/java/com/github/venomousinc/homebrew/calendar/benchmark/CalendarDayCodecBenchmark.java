@@ -0,0 +1,56 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.store.CalendarDayCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a {@link CalendarDay} of events with Discord data, without touching the disk.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarDayCodecBenchmark {
+
+    @Param({ "json", "json-compact", "binary" })
+    public String codecName;
+
+    @Param({ "1", "10", "100" })
+    public int eventsPerDay;
+
+    private CalendarDayCodec codec;
+    private CalendarDay calendarDay;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        codec = CalendarDayCodec.byName(codecName);
+        calendarDay = CalendarFixture.createDay(CalendarFixture.FIRST_DAY, eventsPerDay);
+        encoded = codec.encode(calendarDay);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(calendarDay);
+    }
+
+    @Benchmark
+    public CalendarDay decode() throws IOException {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public CalendarDay roundTrip() throws IOException {
+        return codec.decode(codec.encode(calendarDay));
+    }
+
+}
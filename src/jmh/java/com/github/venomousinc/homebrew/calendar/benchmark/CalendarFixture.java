@@ -0,0 +1,94 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.cache.CalendarDayCache;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FileCalendarStore} in a temporary folder, filled with dayFiles days of eventsPerDay events each,
+ * which is used as the {@link MSGCalendar#getStore()} until it is closed.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+final class CalendarFixture implements AutoCloseable {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+
+    private final Path ROOT;
+    private final FileCalendarStore STORE;
+    private final ArrayList<CalendarEvent> EVENTS = new ArrayList<>();
+    private final ArrayList<File> FILES = new ArrayList<>();
+
+    /**
+     * @param cacheSize The {@link MSGCalendar#DAY_CACHE} size, 0 to read every day from disk
+     */
+    CalendarFixture(int dayFiles, int eventsPerDay, int cacheSize) throws IOException {
+        ROOT = Files.createTempDirectory("msgcal-jmh");
+        STORE = new FileCalendarStore(ROOT.toFile(), MSGCalendar.OBJECT_MAPPER);
+
+        for(int i = 0; i < dayFiles; i++) {
+            final CalendarDay calendarDay = createDay(FIRST_DAY.plusDays(i), eventsPerDay);
+            STORE.write(calendarDay);
+            EVENTS.addAll(calendarDay.copyEvents());
+            FILES.add(STORE.getFile(calendarDay.getDate()));
+        }
+
+        // The Event Index is rebuilt from the written days on first use
+        MSGCalendar.setStore(STORE);
+        MSGCalendar.DAY_CACHE.setMaximumSize(cacheSize);
+    }
+
+    static CalendarDay createDay(LocalDate date, int eventsPerDay) {
+        final long dayStart = date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        final ArrayList<CalendarEvent> events = new ArrayList<>(eventsPerDay);
+        for(int i = 0; i < eventsPerDay; i++)
+            events.add(createEvent(dayStart + i * 60_000L, i));
+        return new CalendarDay(date.getDayOfYear(), date.getYear(), events);
+    }
+
+    static CalendarEvent createEvent(long start, int i) {
+        return new CalendarEvent()
+                .setStart(start)
+                .setEnd(start + 3_600_000L)
+                .setName("Benchmark Event " + i)
+                .setDescription("Don't forget the Birthday Card!")
+                .setData(new DiscordEventData()
+                        .setGuildId(100_000_000_000_000_000L + i % 4)
+                        .setChannelId(200_000_000_000_000_000L + i % 16)
+                        .setOriginMessageId(300_000_000_000_000_000L + i)
+                        .setAuthorId(400_000_000_000_000_000L + i % 32));
+    }
+
+    CalendarEvent randomEvent() {
+        return EVENTS.get(ThreadLocalRandom.current().nextInt(EVENTS.size()));
+    }
+
+    File randomFile() {
+        return FILES.get(ThreadLocalRandom.current().nextInt(FILES.size()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        MSGCalendar.setStore(MSGCalendar.FILE_STORE);
+        MSGCalendar.DAY_CACHE.setMaximumSize(CalendarDayCache.DEFAULT_MAXIMUM_SIZE);
+        try(Stream<Path> paths = Files.walk(ROOT)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves, lookups and deletes against day files in a temporary folder, with and without the {@link MSGCalendar#DAY_CACHE}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalendarStoreBenchmark {
+
+    @Param({ "10", "365" })
+    public int dayFiles;
+
+    @Param({ "1", "10", "100" })
+    public int eventsPerDay;
+
+    @Param({ "0", "366" })
+    public int cacheSize;
+
+    private CalendarFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = new CalendarFixture(dayFiles, eventsPerDay, cacheSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    /**
+     * Updates an existing event, which rewrites its day file.
+     */
+    @Benchmark
+    public CalendarPair save() {
+        return fixture.randomEvent().save();
+    }
+
+    @Benchmark
+    public CalendarPair getCalendarEvent() {
+        return MSGCalendar.getCalendarEvent(fixture.randomEvent().getUniqueID());
+    }
+
+    @Benchmark
+    public CalendarPair deleteCalendarItem(Deleted deleted) {
+        return MSGCalendar.deleteCalendarItem(deleted.event.getUniqueID());
+    }
+
+    @Benchmark
+    public CalendarDay ofFile() {
+        return CalendarDay.of(fixture.randomFile());
+    }
+
+    /**
+     * The event deleted by the next invocation. The previously deleted event is saved back first,
+     * so the amount of events stays the same.
+     */
+    @State(Scope.Thread)
+    public static class Deleted {
+        private CalendarEvent event = null;
+
+        @Setup(Level.Invocation)
+        public void restore(CalendarStoreBenchmark benchmark) {
+            if(event != null)
+                event.save();
+            event = benchmark.fixture.randomEvent();
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.format.DurationFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MSGCalendar#buildDurationString(Duration, Character)} with and without surrounding characters,
+ * and a {@link DurationFormatter} appending to a reused builder.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DurationStringBenchmark {
+
+    /**
+     * 250 Milliseconds, 1 Minute 1 Second, 1 Day 1 Hour 1 Minute 1 Second and 2 Years 3 Days 4 Hours 5 Minutes 6 Seconds
+     */
+    @Param({ "250", "61000", "90061000", "63345906000" })
+    public long millis;
+
+    private Duration duration;
+    private final DurationFormatter formatter = DurationFormatter.DEFAULT.withSurrounding('`');
+    private final StringBuilder builder = new StringBuilder(64);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        duration = Duration.ofMillis(millis);
+    }
+
+    @Benchmark
+    public String plain() {
+        return MSGCalendar.buildDurationString(duration);
+    }
+
+    @Benchmark
+    public String surrounded() {
+        return MSGCalendar.buildDurationString(duration, '`');
+    }
+
+    @Benchmark
+    public StringBuilder formatter() {
+        builder.setLength(0);
+        return formatter.format(duration, builder);
+    }
+
+}
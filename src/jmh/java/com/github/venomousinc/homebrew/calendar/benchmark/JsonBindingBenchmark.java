@@ -0,0 +1,72 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import com.github.venomousinc.homebrew.calendar.json.CalendarJsonModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Jackson's reflective binding of large Calendar Days with the streaming {@link CalendarJsonModule},
+ * pretty printed and compact. Both write the same bytes.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBindingBenchmark {
+
+    @Param({ "reflective", "streaming" })
+    public String binding;
+
+    @Param({ "true", "false" })
+    public boolean pretty;
+
+    @Param({ "100", "1000", "10000" })
+    public int eventsPerDay;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private CalendarDay calendarDay;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final ObjectMapper objectMapper;
+        if(binding.equals("streaming")) {
+            objectMapper = MSGCalendar.OBJECT_MAPPER;
+        } else {
+            objectMapper = new ObjectMapper();
+            objectMapper.registerSubtypes(DiscordEventData.class, DefaultEventData.class, EventData.class);
+        }
+        final ObjectWriter calendarDayWriter = objectMapper.writerFor(CalendarDay.class);
+        writer = pretty ? calendarDayWriter.withDefaultPrettyPrinter() : calendarDayWriter;
+        reader = objectMapper.readerFor(CalendarDay.class);
+        calendarDay = CalendarFixture.createDay(CalendarFixture.FIRST_DAY, eventsPerDay);
+        encoded = writer.writeValueAsBytes(calendarDay);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(calendarDay);
+    }
+
+    @Benchmark
+    public CalendarDay decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.github.venomousinc.homebrew.calendar.benchmark;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.store.CalendarDayCodec;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.YearPack;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads every day of a {@link FileCalendarStore}, as a cold start does, from day files or from {@link YearPack}s.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YearPackBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean packed;
+
+    @Param({ "1", "5" })
+    public int years;
+
+    @Param({ "json", "binary" })
+    public String codecName;
+
+    private Path root;
+    private FileCalendarStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("msgcal-jmh-pack");
+        store = new FileCalendarStore(root.toFile(), MSGCalendar.OBJECT_MAPPER).setCodec(CalendarDayCodec.byName(codecName));
+        final LocalDate lastDay = CalendarFixture.FIRST_DAY.plusYears(years);
+        for(LocalDate date = CalendarFixture.FIRST_DAY; date.isBefore(lastDay); date = date.plusDays(1))
+            store.write(CalendarFixture.createDay(date, 10));
+
+        if(packed) {
+            for(int year = CalendarFixture.FIRST_DAY.getYear(); year < lastDay.getYear(); year++)
+                store.pack(year);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try(Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int readAll() {
+        int events = 0;
+        try(Stream<LocalDate> dates = store.getDates(null, null)) {
+            final Iterator<LocalDate> iterator = dates.iterator();
+            while(iterator.hasNext()) {
+                final CalendarDay calendarDay = store.read(iterator.next());
+                events += calendarDay != null ? calendarDay.getEventCount() : 0;
+            }
+        }
+        return events;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CalendarDay readRandomDay() {
+        return store.read(CalendarFixture.FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(365 * years)));
+    }
+
+}
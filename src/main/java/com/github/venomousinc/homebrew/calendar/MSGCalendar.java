@@ -1,11 +1,33 @@
 package com.github.venomousinc.homebrew.calendar;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.venomousinc.homebrew.calendar.archive.CalendarArchiver;
+import com.github.venomousinc.homebrew.calendar.async.AsyncCalendar;
+import com.github.venomousinc.homebrew.calendar.change.CalendarEventBus;
+import com.github.venomousinc.homebrew.calendar.archive.RetentionPolicy;
+import com.github.venomousinc.homebrew.calendar.cache.CalendarDayCache;
 import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarOccurrence;
 import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartitions;
 import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
 import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
 import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import com.github.venomousinc.homebrew.calendar.format.DurationFormatter;
+import com.github.venomousinc.homebrew.calendar.index.DiscordIndex;
+import com.github.venomousinc.homebrew.calendar.index.EventIndex;
+import com.github.venomousinc.homebrew.calendar.index.IntervalIndex;
+import com.github.venomousinc.homebrew.calendar.json.CalendarJsonModule;
+import com.github.venomousinc.homebrew.calendar.metrics.CalendarMetrics;
+import com.github.venomousinc.homebrew.calendar.schedule.AlertScheduler;
+import com.github.venomousinc.homebrew.calendar.store.CalendarDayCodec;
+import com.github.venomousinc.homebrew.calendar.store.CalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.DayFileWatcher;
+import com.github.venomousinc.homebrew.calendar.store.DayLocks;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.WriteBehind;
+import com.github.venomousinc.homebrew.calendar.store.YearPacker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -14,9 +36,11 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * @author VenomousInc
@@ -32,52 +56,278 @@ public class MSGCalendar {
 
     static {
         OBJECT_MAPPER.registerSubtypes(DiscordEventData.class, DefaultEventData.class, EventData.class);
+        OBJECT_MAPPER.registerModule(new CalendarJsonModule());
     }
 
+    /**
+     * Day files under {@link CalendarDay#CALENDAR_FOLDER}, the store used unless {@link #setStore(CalendarStore)} is called.
+     */
+    public static final FileCalendarStore FILE_STORE = new FileCalendarStore(CalendarDay.CALENDAR_FOLDER, OBJECT_MAPPER);
+
+    /**
+     * Keeps recently used Calendar Days in memory, so only cold days are read from disk.
+     * Configure it with {@link CalendarDayCache#setMaximumSize(int)} and {@link CalendarDayCache#setExpireAfterAccess(Duration)}
+     */
+    public static final CalendarDayCache DAY_CACHE = new CalendarDayCache();
+
+    /**
+     * Knows which Calendar Day every event is saved in, kept up to date by {@link CalendarDay#save()}
+     * and {@link CalendarDay#removeEvent(String)}
+     */
+    public static final EventIndex EVENT_INDEX = new EventIndex(FILE_STORE.getIndexFile());
+
+    /**
+     * Answers time range queries over every event's start and end, built on first use
+     * @see #getEvents(Instant, Instant)
+     */
+    public static final IntervalIndex INTERVAL_INDEX = new IntervalIndex();
+
+    /**
+     * Finds events by the guild, channel and author of their {@link DiscordEventData}, built on first use
+     * @see #getEventsByGuild(long)
+     */
+    public static final DiscordIndex DISCORD_INDEX = new DiscordIndex();
+
+    /**
+     * Serializes the load, modify and save of each Calendar Day
+     */
+    public static final DayLocks DAY_LOCKS = new DayLocks();
+
+    /**
+     * The shared calendar above, and the calendar of every Discord guild once {@link CalendarPartitions#setEnabled(boolean)}
+     */
+    public static final CalendarPartitions PARTITIONS = new CalendarPartitions();
+
+    /**
+     * Disabled by default, {@link WriteBehind#enable(Duration, int)} to coalesce saves of the same day into one write.
+     */
+    public static final WriteBehind WRITE_BEHIND = new WriteBehind();
+
+    /**
+     * Fires alerts at each event's {@link CalendarEvent#getAnnouncementTime()} once {@link AlertScheduler#start(AlertScheduler.AlertListener)}ed
+     */
+    public static final AlertScheduler ALERT_SCHEDULER = new AlertScheduler();
+
+    /**
+     * Counts and times Calendar Day loads, saves and event lookups, and records them as Flight Recorder events
+     */
+    public static final CalendarMetrics METRICS = new CalendarMetrics();
+
+    /**
+     * Moves expired events into compressed monthly archives with {@link CalendarArchiver#archive(RetentionPolicy)}
+     */
+    public static final CalendarArchiver ARCHIVER = new CalendarArchiver();
+
+    /**
+     * The operations above as {@link java.util.concurrent.CompletableFuture}s on an I/O executor, serialized per Calendar Day
+     */
+    public static final AsyncCalendar ASYNC = new AsyncCalendar();
+
+    /**
+     * Publishes every event added, updated or removed to its {@link com.github.venomousinc.homebrew.calendar.change.CalendarChangeListener}s
+     */
+    public static final CalendarEventBus EVENT_BUS = new CalendarEventBus();
+
+    /**
+     * Reloads day files changed by other processes once {@link DayFileWatcher#start()}ed, so caching can stay enabled
+     */
+    public static final DayFileWatcher DAY_FILE_WATCHER = new DayFileWatcher();
+
+    /**
+     * Packs years of day files into memory mapped {@link com.github.venomousinc.homebrew.calendar.store.YearPack}s once {@link YearPacker#start(Duration)}ed
+     */
+    public static final YearPacker YEAR_PACKER = new YearPacker();
+
     private static final Logger LOGGER = LoggerFactory.getLogger( MSGCalendar.class );
 
+    /**
+     * {@link DurationFormatter#DEFAULT} by surrounding character, for {@link #buildDurationString(Duration, Character)}
+     */
+    private static final ConcurrentHashMap<Character, DurationFormatter> SURROUNDED_FORMATTERS = new ConcurrentHashMap<>();
+
+    private static volatile CalendarStore store = FILE_STORE;
+
+    /**
+     * @return Where Calendar Days are read from and written to, {@link #FILE_STORE} by default
+     */
+    public static CalendarStore getStore() {
+        return store;
+    }
+
+    /**
+     * Switches to another store. Pending writes are flushed to the old store first,
+     * then {@link #DAY_CACHE}, {@link #EVENT_INDEX}, {@link #INTERVAL_INDEX} and {@link #DISCORD_INDEX} are reset for the new one.
+     * Call it before the calendar is used, or while nothing else is using it.
+     */
+    public static synchronized void setStore(@NotNull CalendarStore calendarStore) {
+        WRITE_BEHIND.flush();
+        store = calendarStore;
+        DAY_CACHE.invalidateAll();
+        EVENT_INDEX.reset(calendarStore.getIndexFile());
+        INTERVAL_INDEX.invalidate();
+        DISCORD_INDEX.invalidate();
+        LOGGER.info("Using Calendar Store: {}", calendarStore);
+    }
+
+    /**
+     * @return The codec {@link #FILE_STORE} writes Calendar Days with, {@link CalendarDayCodec#JSON} by default
+     */
+    public static CalendarDayCodec getDayCodec() {
+        return FILE_STORE.getCodec();
+    }
+
+    /**
+     * Only affects new writes, existing day files are read in whichever format they are in.
+     * Use {@link com.github.venomousinc.homebrew.calendar.store.CalendarDayMigrator} to convert a whole folder.
+     * @see FileCalendarStore#setCodec(CalendarDayCodec)
+     */
+    public static void setDayCodec(@NotNull CalendarDayCodec codec) {
+        FILE_STORE.setCodec(codec);
+    }
+
     @Nullable
     public static ArrayList<CalendarDay> getCalendarDays() {
         return CalendarDay.getCalendarDays();
     }
 
+    /**
+     * Must be closed, use try-with-resources.
+     * @see CalendarDay#streamCalendarDays(LocalDate, LocalDate)
+     */
+    public static Stream<CalendarDay> streamCalendarDays(@Nullable LocalDate from, @Nullable LocalDate to) {
+        return CalendarDay.streamCalendarDays(from, to);
+    }
+
+    /**
+     * @return The UTC date of the epoch millisecond, which is the Calendar Day it belongs to
+     */
+    public static LocalDate getLocalDate(long epochMs) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+
     @Nullable
     public static CalendarDay getCalendarDay(long epochMs) {
-        LocalDate localDate = LocalDate.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.of("UTC"));
+        LocalDate localDate = getLocalDate(epochMs);
         LOGGER.debug("Getting Calendar Day from epoch MS: {} -> {}", epochMs, localDate.toString());
         return CalendarDay.of(localDate);
     }
 
+    /**
+     * Looks the event up in {@link #EVENT_INDEX}, so only the Calendar Day it is saved in is loaded.
+     * With partitions, the Event Index of every partition is searched.
+     * @see CalendarPartitions#getCalendarEvent(String)
+     */
     @Nullable
     public static CalendarPair getCalendarEvent(final String uniqueID) {
-        ArrayList<CalendarDay> calendarDays = getCalendarDays();
-
-        if(calendarDays != null && calendarDays.size() > 0) {
-            final Optional<CalendarPair> optionalCalendarPair = calendarDays.stream()
-                    .filter(calendarDay -> calendarDay.getEvent(uniqueID) != null)
-                    .map(calendarDay -> new CalendarPair(calendarDay, calendarDay.getEvent(uniqueID)))
-                    .findFirst();
-
-            if(optionalCalendarPair.isPresent()) {
-                LOGGER.debug("Found Calendar Event with UUID `{}`", uniqueID);
-                return optionalCalendarPair.get();
-            }
+        final CalendarPair calendarPair = PARTITIONS.getCalendarEvent(uniqueID);
+        if(calendarPair != null) {
+            LOGGER.debug("Found Calendar Event with UUID `{}`", uniqueID);
+            METRICS.recordLookup(true);
+            return calendarPair;
         }
 
-        LOGGER.error("Couldn't find Calendar Event with UUID `{}`", uniqueID);
+        LOGGER.debug("Couldn't find Calendar Event with UUID `{}`", uniqueID);
+        METRICS.recordLookup(false);
         return null;
     }
 
+    /**
+     * Archived events are never returned by {@link #getCalendarEvent(String)}, only by this lookup.
+     * @see CalendarArchiver#getArchivedEvent(String)
+     */
+    @Nullable
+    public static CalendarEvent getArchivedEvent(final String uniqueID) {
+        return ARCHIVER.getArchivedEvent(uniqueID);
+    }
+
     @Nullable
     public static CalendarPair deleteCalendarItem(final String uniqueID) {
         final CalendarPair calendarPair = getCalendarEvent(uniqueID);
-        if(calendarPair != null && calendarPair.DAY.removeEvent(calendarPair.EVENT) != null) {
-            LOGGER.info("Deleted Calendar Item: {}", uniqueID);
-            return calendarPair;
+        if(calendarPair != null) {
+            final CalendarPair deleted = calendarPair.DAY.getPartition().removeEvent(calendarPair.DAY.getDate(), uniqueID);
+            if(deleted != null) {
+                LOGGER.info("Deleted Calendar Item: {}", uniqueID);
+                return deleted;
+            }
         }
         return null;
     }
 
+    /**
+     * Events are matched by their start and end, not by the Calendar Day they are saved in,
+     * so a multi-day event is found on every day it spans.
+     *
+     * @return Every event whose [start, end] overlaps [from, to], ordered by start
+     */
+    public static List<CalendarEvent> getEvents(@NotNull Instant from, @NotNull Instant to) {
+        return INTERVAL_INDEX.getOverlapping(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * @see #getUpcomingEvents(Instant, int)
+     */
+    public static List<CalendarEvent> getUpcomingEvents(int limit) {
+        return getUpcomingEvents(Instant.now(), limit);
+    }
+
+    /**
+     * @return Up to limit events starting at or after from, ordered by start
+     */
+    public static List<CalendarEvent> getUpcomingEvents(@NotNull Instant from, int limit) {
+        return INTERVAL_INDEX.getUpcoming(from.toEpochMilli(), limit);
+    }
+
+    /**
+     * Recurring events are expanded, but only within the window.
+     * @return Every occurrence whose [start, end] overlaps [from, to], ordered by start
+     */
+    public static List<CalendarOccurrence> getOccurrences(@NotNull Instant from, @NotNull Instant to) {
+        return INTERVAL_INDEX.getOccurrences(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * @return Up to limit occurrences starting at or after from, including the repeats of recurring events, ordered by start
+     */
+    public static List<CalendarOccurrence> getUpcomingOccurrences(@NotNull Instant from, int limit) {
+        return INTERVAL_INDEX.getUpcomingOccurrences(from.toEpochMilli(), limit);
+    }
+
+    /**
+     * @return Every event of the guild, ordered by start
+     */
+    public static List<CalendarEvent> getEventsByGuild(long guildId) {
+        return DISCORD_INDEX.getByGuild(guildId);
+    }
+
+    /**
+     * @return Up to limit events of the guild starting at or after from, ordered by start
+     */
+    public static List<CalendarEvent> getUpcomingEventsByGuild(long guildId, @NotNull Instant from, int limit) {
+        final long fromMs = from.toEpochMilli();
+        final ArrayList<CalendarEvent> events = new ArrayList<>(Math.min(limit, 64));
+        for(CalendarEvent calendarEvent : DISCORD_INDEX.getByGuild(guildId)) {
+            if(events.size() >= limit)
+                break;
+            if(calendarEvent.getStart() >= fromMs)
+                events.add(calendarEvent);
+        }
+        return events;
+    }
+
+    /**
+     * @return Every event posted in the channel, ordered by start
+     */
+    public static List<CalendarEvent> getEventsByChannel(long channelId) {
+        return DISCORD_INDEX.getByChannel(channelId);
+    }
+
+    /**
+     * @return Every event created by the user, ordered by start
+     */
+    public static List<CalendarEvent> getEventsByAuthor(long authorId) {
+        return DISCORD_INDEX.getByAuthor(authorId);
+    }
+
     /**
      * No surrounding Character for the Digits.
      *
@@ -91,54 +341,21 @@ public class MSGCalendar {
 
     /**
      * Builds a String based on a duration. Supports: Year, Day, Hour, Second, Millisecond (if no other cases)
+     * Use a {@link DurationFormatter} to append to an existing builder without allocating, or to change the units and labels.
      * @param duration A Duration of time
      * @param surrounding E.G: `50` Seconds, null for no surrounding
      * @return Duration.ofSeconds(61) returns `1` Minute `1` Second
      */
     public static String buildDurationString(@NotNull Duration duration, @Nullable Character surrounding) {
-        StringBuilder sb = new StringBuilder();
-
-        long years = duration.toDays() / 365;
-        long days = duration.toDays() % 365;
-        long hours = duration.toHoursPart();
-        long minutes = duration.toMinutesPart();
-        long seconds = duration.toSecondsPart();
-        final String surroundFormat = "%c%s%c";
-
-        if(years > 0) {
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, years, surrounding)
-                    : years).append(" Year").append(years > 1 ? "s " : ' ');
-        }
-        if(days > 0) {
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, days, surrounding)
-                    : days).append(" Day").append(days > 1 ? "s " : ' ');
-        }
-        if(hours > 0) {
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, hours, surrounding)
-                    : hours).append(" Hour").append(hours > 1 ? "s " : ' ');
-        }
-        if(minutes > 0) {
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, minutes, surrounding)
-                    : minutes).append(" Minute").append(minutes > 1 ? "s " : ' ');
-        }
-        if(seconds > 0) {
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, seconds, surrounding)
-                    : seconds).append(" Second").append(seconds > 1 ? "s " : ' ');
-        }
+        if(surrounding == null)
+            return DurationFormatter.DEFAULT.format(duration);
 
-        if(sb.length() == 0) {
-            final long millis = duration.toMillis();
-            sb.append(surrounding != null
-                    ? String.format(surroundFormat, surrounding, millis, surrounding)
-                    : millis).append(" Milliseconds");
+        DurationFormatter formatter = SURROUNDED_FORMATTERS.get(surrounding);
+        if(formatter == null) {
+            formatter = DurationFormatter.DEFAULT.withSurrounding(surrounding);
+            SURROUNDED_FORMATTERS.putIfAbsent(surrounding, formatter);
         }
-
-        return sb.toString().trim();
+        return formatter.format(duration);
     }
 
 }
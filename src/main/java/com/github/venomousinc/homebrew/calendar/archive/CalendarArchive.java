@@ -0,0 +1,287 @@
+package com.github.venomousinc.homebrew.calendar.archive;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.index.EventIndex;
+import com.github.venomousinc.homebrew.calendar.store.ParallelDayLoader;
+import com.github.venomousinc.homebrew.calendar.transfer.JsonLinesEventReader;
+import com.github.venomousinc.homebrew.calendar.transfer.JsonLinesEventWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The archived Calendar Events of one partition, in a compressed segment per month such as <b>archive/2026-10.jsonl.gz</b>.
+ * <p>
+ * A segment is gzipped JSON lines, as written by {@link JsonLinesEventWriter}, and holds the events of the Calendar Days of its month.
+ * Archived events are never loaded with the Calendar Days, they are only read by {@link #get(String)} and {@link #stream(LocalDate, LocalDate)}.
+ * <p>
+ * An {@link EventIndex} next to the segments maps every archived event to its day, and is the source of truth:
+ * a segment line which the index does not point at, such as an event which was restored, is skipped
+ * and dropped the next time its segment is written.
+ *
+ * @see CalendarArchiver
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarArchive {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarArchive.class );
+
+    public static final String ARCHIVE_FOLDER = "archive";
+    public static final String SEGMENT_EXTENSION = ".jsonl.gz";
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("uuuu-MM");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File FOLDER;
+    private final EventIndex INDEX;
+
+    /**
+     * The folder is only created once the first event is archived.
+     */
+    public CalendarArchive(@NotNull File folder) {
+        FOLDER = folder;
+        INDEX = new EventIndex(new File(folder, EventIndex.INDEX_FILE_NAME), () -> readSegments(null, null)
+                .map(calendarEvent -> {
+                    final LocalDate date = getDate(calendarEvent);
+                    return new CalendarDay(date.getDayOfYear(), date.getYear(), Collections.singletonList(calendarEvent));
+                }));
+    }
+
+    public File getFolder() {
+        return FOLDER;
+    }
+
+    /**
+     * Writes the events into the segment of their month, replacing archived copies with the same unique ID, then indexes them.
+     * The segment is rewritten to a temporary file which replaces it, so a failed write leaves the segment as it was.
+     *
+     * @param events Events whose Calendar Days are all in the month
+     * @throws IOException If the segment could not be written, the events are then not archived
+     */
+    public synchronized void append(@NotNull YearMonth month, @NotNull Collection<CalendarEvent> events) throws IOException {
+        Files.createDirectories(FOLDER.toPath());
+        final Path segment = getSegment(month).toPath();
+        final Path tempPath = segment.resolveSibling(segment.getFileName() + ".tmp");
+        final HashSet<String> replaced = new HashSet<>();
+        for(CalendarEvent calendarEvent : events)
+            replaced.add(calendarEvent.getUniqueID());
+
+        int kept = 0;
+        try {
+            try(JsonLinesEventWriter writer = new JsonLinesEventWriter(new GZIPOutputStream(Files.newOutputStream(tempPath), BUFFER_SIZE))) {
+                if(Files.isRegularFile(segment)) {
+                    try(JsonLinesEventReader reader = new JsonLinesEventReader(new GZIPInputStream(Files.newInputStream(segment), BUFFER_SIZE))) {
+                        CalendarEvent calendarEvent;
+                        while((calendarEvent = reader.read()) != null) {
+                            if(!replaced.contains(calendarEvent.getUniqueID()) && isCurrent(calendarEvent)) {
+                                writer.write(calendarEvent);
+                                kept++;
+                            }
+                        }
+                    }
+                }
+                for(CalendarEvent calendarEvent : events)
+                    writer.write(calendarEvent);
+            }
+            Files.move(tempPath, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+
+        for(CalendarEvent calendarEvent : events)
+            INDEX.put(calendarEvent.getUniqueID(), getDate(calendarEvent));
+        LOGGER.debug("Archived {} Calendar Events into `{}`, which holds {}", events.size(), segment, kept + events.size());
+    }
+
+    /**
+     * Reads the segment of the event's month, only the archive index is kept in memory.
+     * @return The archived event, or null if it is not archived
+     */
+    @Nullable
+    public CalendarEvent get(@NotNull String uniqueId) {
+        if(!FOLDER.isDirectory())
+            return null;
+        final LocalDate date = INDEX.get(uniqueId);
+        if(date == null)
+            return null;
+
+        try(Stream<CalendarEvent> calendarEvents = readSegment(YearMonth.from(date))) {
+            return calendarEvents.filter(calendarEvent -> calendarEvent.getUniqueID().equals(uniqueId))
+                    .findFirst().orElse(null);
+        }
+    }
+
+    public boolean contains(@NotNull String uniqueId) {
+        return FOLDER.isDirectory() && INDEX.get(uniqueId) != null;
+    }
+
+    /**
+     * @return The date of the Calendar Day the event was archived from, or null if it is not archived
+     */
+    @Nullable
+    public LocalDate getDate(@NotNull String uniqueId) {
+        return FOLDER.isDirectory() ? INDEX.get(uniqueId) : null;
+    }
+
+    /**
+     * Forgets the archived event, its segment line is dropped the next time the segment is written.
+     * @return true if the event was archived
+     */
+    public boolean remove(@NotNull String uniqueId) {
+        if(!contains(uniqueId))
+            return false;
+        INDEX.remove(uniqueId);
+        return true;
+    }
+
+    public int size() {
+        return FOLDER.isDirectory() ? INDEX.size() : 0;
+    }
+
+    /**
+     * Lazily streams the archived events of the Calendar Days between two dates (inclusive), a month at a time.
+     * The stream must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     */
+    public Stream<CalendarEvent> stream(@Nullable LocalDate from, @Nullable LocalDate to) {
+        if(!FOLDER.isDirectory())
+            return Stream.empty();
+        return readSegments(from, to).filter(this::isCurrent);
+    }
+
+    /**
+     * @return The months with a segment, in order
+     */
+    public TreeSet<YearMonth> getMonths() {
+        final TreeSet<YearMonth> months = new TreeSet<>();
+        final File[] segments = FOLDER.listFiles((folder, name) -> name.endsWith(SEGMENT_EXTENSION));
+        if(segments != null) {
+            for(File segment : segments) {
+                final String name = segment.getName();
+                try {
+                    months.add(YearMonth.parse(name.substring(0, name.length() - SEGMENT_EXTENSION.length()), MONTH));
+                } catch (DateTimeParseException e) {
+                    LOGGER.debug("Ignoring unknown archive file: `{}`", segment);
+                }
+            }
+        }
+        return months;
+    }
+
+    public File getSegment(@NotNull YearMonth month) {
+        return new File(FOLDER, MONTH.format(month) + SEGMENT_EXTENSION);
+    }
+
+    public void close() {
+        INDEX.close();
+    }
+
+    /**
+     * @return true if the index points at this copy of the event
+     */
+    private boolean isCurrent(CalendarEvent calendarEvent) {
+        return getDate(calendarEvent).equals(INDEX.get(calendarEvent.getUniqueID()));
+    }
+
+    /**
+     * Every line of the segments, without checking the index.
+     */
+    private Stream<CalendarEvent> readSegments(@Nullable LocalDate from, @Nullable LocalDate to) {
+        final YearMonth fromMonth = from != null ? YearMonth.from(from) : null;
+        final YearMonth toMonth = to != null ? YearMonth.from(to) : null;
+        return getMonths().stream()
+                .filter(month -> (fromMonth == null || !month.isBefore(fromMonth)) && (toMonth == null || !month.isAfter(toMonth)))
+                .flatMap(this::readSegment)
+                .filter(calendarEvent -> ParallelDayLoader.isWithin(getDate(calendarEvent), from, to));
+    }
+
+    private Stream<CalendarEvent> readSegment(YearMonth month) {
+        final File segment = getSegment(month);
+        final JsonLinesEventReader reader;
+        try {
+            reader = new JsonLinesEventReader(new GZIPInputStream(Files.newInputStream(segment.toPath()), BUFFER_SIZE));
+        } catch (IOException e) {
+            LOGGER.error("Could not read Calendar Archive segment: `{}`", segment, e);
+            return Stream.empty();
+        }
+
+        final Iterator<CalendarEvent> iterator = new Iterator<CalendarEvent>() {
+            private CalendarEvent next = null;
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                if(next == null && !done) {
+                    try {
+                        next = reader.read();
+                    } catch (IOException e) {
+                        LOGGER.error("Could not read Calendar Archive segment: `{}`", segment, e);
+                    }
+                    done = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public CalendarEvent next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                final CalendarEvent calendarEvent = next;
+                next = null;
+                return calendarEvent;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        LOGGER.debug("Could not close Calendar Archive segment: `{}`", segment, e);
+                    }
+                });
+    }
+
+    /**
+     * @return The Calendar Day the event is saved in
+     */
+    private static LocalDate getDate(CalendarEvent calendarEvent) {
+        return MSGCalendar.getLocalDate(calendarEvent.getAnnouncementTime());
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarArchive{" +
+                "FOLDER=" + FOLDER +
+                '}';
+    }
+
+}
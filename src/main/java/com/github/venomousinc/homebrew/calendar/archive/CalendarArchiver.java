@@ -0,0 +1,259 @@
+package com.github.venomousinc.homebrew.calendar.archive;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import com.github.venomousinc.homebrew.calendar.store.PeriodicTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Moves expired Calendar Events out of the live Calendar Days into the {@link CalendarArchive} of their partition,
+ * so loading a day only ever reads the events which still matter.
+ * <p>
+ * Events are written into their month's segment first and only then removed from their day, with a single save per day,
+ * so a failure leaves them live rather than lost. An event which changed in the meantime stays live and is forgotten by the archive.
+ * <p>
+ * Archived events are not returned by {@link MSGCalendar#getCalendarEvent(String)} or the query indexes,
+ * look them up with {@link #getArchivedEvent(String)} and bring them back with {@link #restore(String)}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarArchiver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarArchiver.class );
+
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private final PeriodicTask TASK = new PeriodicTask("Archiver", Duration.ofMinutes(1));
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The maximum amount of events held in memory before they are written into their segment
+     */
+    public CalendarArchiver setBatchSize(int batchSize) {
+        if(batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Archives the expired events of the shared partition and of every tenant partition.
+     * @return The amount of events archived
+     */
+    public long archive(@NotNull RetentionPolicy policy) {
+        final long now = System.currentTimeMillis();
+        long archived = archive(MSGCalendar.PARTITIONS.getShared(), policy, now);
+        for(Long tenantId : MSGCalendar.PARTITIONS.getTenantIds())
+            archived += archive(MSGCalendar.PARTITIONS.get(tenantId), policy, now);
+        LOGGER.info("Archived {} Calendar Events", archived);
+        return archived;
+    }
+
+    /**
+     * Archives the expired events of one partition. Only the days up to today are read, nothing after them can have ended.
+     * @param now The current Epoch Millisecond
+     * @return The amount of events archived
+     */
+    public long archive(@NotNull CalendarPartition partition, @NotNull RetentionPolicy policy, long now) {
+        final CalendarArchive archive = partition.getArchive();
+        if(archive == null) {
+            LOGGER.warn("Calendar Partition {} cannot be archived, its store has no archive folder", partition.getTenantId());
+            return 0;
+        }
+
+        final Batch batch = new Batch();
+        long archived = 0;
+        try(Stream<CalendarDay> calendarDays = partition.streamCalendarDays(null, MSGCalendar.getLocalDate(now))) {
+            final Iterator<CalendarDay> iterator = calendarDays.iterator();
+            while(iterator.hasNext()) {
+                final CalendarDay calendarDay = iterator.next();
+                final ArrayList<CalendarEvent> expired = new ArrayList<>();
+                for(CalendarEvent calendarEvent : calendarDay.copyEvents())
+                    if(policy.isExpired(calendarEvent, now))
+                        expired.add(calendarEvent);
+                if(expired.isEmpty())
+                    continue;
+
+                final YearMonth month = YearMonth.from(calendarDay.getDate());
+                if(!month.equals(batch.month) || batch.size >= batchSize)
+                    archived += flush(partition, archive, batch, policy, now);
+                batch.add(month, calendarDay.getDate(), expired);
+            }
+        }
+        archived += flush(partition, archive, batch, policy, now);
+        return archived;
+    }
+
+    /**
+     * Writes the batch into its segment, then removes its events from their days.
+     */
+    private long flush(CalendarPartition partition, CalendarArchive archive, Batch batch, RetentionPolicy policy, long now) {
+        if(batch.size == 0)
+            return 0;
+
+        final ArrayList<CalendarEvent> events = new ArrayList<>(batch.size);
+        for(HashMap<String, CalendarEvent> dayEvents : batch.DAYS.values())
+            events.addAll(dayEvents.values());
+        try {
+            archive.append(batch.month, events);
+        } catch (IOException e) {
+            LOGGER.error("Could not archive {} Calendar Events of {}, they stay live", events.size(), batch.month, e);
+            batch.clear();
+            return 0;
+        }
+
+        long removed = 0;
+        for(Map.Entry<LocalDate, HashMap<String, CalendarEvent>> day : batch.DAYS.entrySet()) {
+            final HashMap<String, CalendarEvent> dayEvents = day.getValue();
+            // Only events which are still as they were archived, an event saved again since then stays live
+            final List<CalendarEvent> removedEvents = partition.removeEvents(day.getKey(), dayEvents.keySet(),
+                    calendarEvent -> calendarEvent.isSameAs(dayEvents.get(calendarEvent.getUniqueID())) && policy.isExpired(calendarEvent, now));
+            removed += removedEvents.size();
+
+            if(removedEvents.size() != dayEvents.size()) {
+                final HashSet<String> kept = new HashSet<>(dayEvents.keySet());
+                for(CalendarEvent calendarEvent : removedEvents)
+                    kept.remove(calendarEvent.getUniqueID());
+                kept.forEach(archive::remove);
+            }
+        }
+        batch.clear();
+        return removed;
+    }
+
+    /**
+     * Archives on a background thread every interval, starting one interval from now.
+     */
+    public synchronized CalendarArchiver start(@NotNull RetentionPolicy policy, @NotNull Duration interval) {
+        if(interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("Archive interval must be positive: " + interval);
+
+        TASK.start(interval, () -> archive(policy), "Could not archive Calendar Events");
+        LOGGER.info("Calendar Archiver started, archiving every {}ms with {}", interval.toMillis(), policy);
+        return this;
+    }
+
+    public synchronized void stop() {
+        if(TASK.stop())
+            LOGGER.info("Calendar Archiver stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return TASK.isRunning();
+    }
+
+    /**
+     * Looks the event up in the archive of the shared partition, then in the archive of every tenant partition.
+     * Only the segment of the event's month is read.
+     * @return The archived event, or null if no archive contains it
+     */
+    @Nullable
+    public CalendarEvent getArchivedEvent(@NotNull String uniqueId) {
+        final CalendarArchive archive = findArchive(uniqueId);
+        return archive != null ? archive.get(uniqueId) : null;
+    }
+
+    /**
+     * Lazily streams the archived events of the days between two dates (inclusive), of the shared partition followed by every tenant partition.
+     * The stream must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     */
+    public Stream<CalendarEvent> streamArchivedEvents(@Nullable LocalDate from, @Nullable LocalDate to) {
+        final CalendarArchive shared = MSGCalendar.PARTITIONS.getShared().getArchive();
+        final Stream<CalendarEvent> sharedEvents = shared != null ? shared.stream(from, to) : Stream.empty();
+        return Stream.concat(sharedEvents, MSGCalendar.PARTITIONS.getTenantIds().stream()
+                .flatMap(tenantId -> {
+                    final CalendarArchive archive = MSGCalendar.PARTITIONS.get(tenantId).getArchive();
+                    return archive != null ? archive.stream(from, to) : Stream.empty();
+                }));
+    }
+
+    /**
+     * Saves the archived event back into its Calendar Day, then removes it from the archive.
+     * It is restored as it was archived, so an inactive event stays inactive.
+     * @return The day and the event, or null if it is not archived or could not be saved
+     */
+    @Nullable
+    public CalendarPair restore(@NotNull String uniqueId) {
+        final CalendarArchive archive = findArchive(uniqueId);
+        final CalendarEvent calendarEvent = archive != null ? archive.get(uniqueId) : null;
+        if(calendarEvent == null)
+            return null;
+
+        final CalendarPair calendarPair = calendarEvent.save();
+        if(calendarPair != null)
+            archive.remove(uniqueId);
+        return calendarPair;
+    }
+
+    @Nullable
+    private CalendarArchive findArchive(@NotNull String uniqueId) {
+        final CalendarArchive shared = MSGCalendar.PARTITIONS.getShared().getArchive();
+        if(shared != null && shared.contains(uniqueId))
+            return shared;
+
+        for(Long tenantId : MSGCalendar.PARTITIONS.getTenantIds()) {
+            final CalendarArchive archive = MSGCalendar.PARTITIONS.get(tenantId).getArchive();
+            if(archive != null && archive.contains(uniqueId))
+                return archive;
+        }
+        return null;
+    }
+
+    /**
+     * The expired events of one month, by day.
+     */
+    private static class Batch {
+        private final TreeMap<LocalDate, HashMap<String, CalendarEvent>> DAYS = new TreeMap<>();
+        private YearMonth month = null;
+        private int size = 0;
+
+        private void add(YearMonth month, LocalDate date, List<CalendarEvent> events) {
+            this.month = month;
+            final HashMap<String, CalendarEvent> dayEvents = DAYS.computeIfAbsent(date, day -> new HashMap<>());
+            for(CalendarEvent calendarEvent : events)
+                if(dayEvents.put(calendarEvent.getUniqueID(), calendarEvent) == null)
+                    size++;
+        }
+
+        private void clear() {
+            DAYS.clear();
+            size = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarArchiver{" +
+                "batchSize=" + batchSize +
+                ", running=" + isRunning() +
+                '}';
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.venomousinc.homebrew.calendar.archive;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Decides which Calendar Events {@link CalendarArchiver} moves out of the live Calendar Days.
+ * <p>
+ * An event is never archived before it has ended, for a recurring event that is the end of its last occurrence,
+ * so a series which never ends is never archived. Once ended, it is archived if it is inactive,
+ * such as after {@link com.github.venomousinc.homebrew.calendar.schedule.AlertScheduler} fired it,
+ * or if it ended more than {@link #getMaxAge()} ago.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class RetentionPolicy {
+
+    private boolean archiveInactive = true;
+    @Nullable
+    private Duration maxAge = null;
+
+    public boolean isArchiveInactive() {
+        return archiveInactive;
+    }
+
+    /**
+     * @param archiveInactive true to archive inactive events once they have ended, the default
+     */
+    public RetentionPolicy setArchiveInactive(boolean archiveInactive) {
+        this.archiveInactive = archiveInactive;
+        return this;
+    }
+
+    @Nullable
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * @param maxAge Archive events which ended longer ago, active or not, or null to keep them, the default
+     */
+    public RetentionPolicy setMaxAge(@Nullable Duration maxAge) {
+        if(maxAge != null && maxAge.isNegative())
+            throw new IllegalArgumentException("Max age cannot be negative: " + maxAge);
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * @param now The current Epoch Millisecond
+     * @return true if the event should be archived
+     */
+    public boolean isExpired(@NotNull CalendarEvent calendarEvent, long now) {
+        final long end = getLastEnd(calendarEvent);
+        if(end >= now)
+            return false;
+        if(archiveInactive && calendarEvent.isInactive())
+            return true;
+        return maxAge != null && end < now - maxAge.toMillis();
+    }
+
+    /**
+     * @return The Epoch Millisecond the event, or its last occurrence, ends at, or {@link Long#MAX_VALUE} if it never ends
+     */
+    public static long getLastEnd(@NotNull CalendarEvent calendarEvent) {
+        final long end = Math.max(calendarEvent.getEnd(), calendarEvent.getAnnouncementTime());
+        if(!calendarEvent.isRecurring())
+            return end;
+
+        final long lastStart = calendarEvent.getRecurrence().getLastStart(calendarEvent.getStart());
+        if(lastStart == Long.MAX_VALUE)
+            return Long.MAX_VALUE;
+        return Math.max(end, lastStart + Math.max(0, end - calendarEvent.getStart()));
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionPolicy{" +
+                "archiveInactive=" + archiveInactive +
+                ", maxAge=" + maxAge +
+                '}';
+    }
+
+}
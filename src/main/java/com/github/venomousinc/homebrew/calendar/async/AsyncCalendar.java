@@ -0,0 +1,375 @@
+package com.github.venomousinc.homebrew.calendar.async;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking {@link MSGCalendar} operations on an I/O executor and returns {@link CompletableFuture}s,
+ * so a Discord gateway thread never waits on the disk.
+ * <p>
+ * Operations on the same Calendar Day of the same partition run one after another, in the order they were submitted,
+ * while operations on different days run in parallel. Operations on the same event also run in the order they were submitted:
+ * a lookup or delete by unique ID waits for the earlier operations on that event, such as its save, then finds the event's day
+ * in the Event Index and queues behind the operations already submitted for that day. A save behind such an operation is only
+ * queued on its day once that operation completed.
+ * <p>
+ * At most {@link #getMaxPending()} operations may be queued or running. Once full, new operations wait up to
+ * {@link #getOfferTimeout()} for room and otherwise fail with a {@link RejectedExecutionException},
+ * by default straight away, so callers can shed load rather than pile it up.
+ * <p>
+ * The futures complete on the I/O executor, use the <b>Async</b> variants of {@link CompletableFuture} with your own executor
+ * for slow follow-up work. Do not modify an event while its save is pending.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class AsyncCalendar {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( AsyncCalendar.class );
+
+    public static final int DEFAULT_MAX_PENDING = 10_000;
+    /**
+     * The platform thread pool size when virtual threads are not available
+     */
+    public static final int DEFAULT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * The last operation submitted for every day, removed once it completes
+     */
+    private final ConcurrentHashMap<DayKey, CompletableFuture<?>> TAILS = new ConcurrentHashMap<>();
+    /**
+     * The last operation submitted for every event, removed once it completes
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<?>> EVENT_TAILS = new ConcurrentHashMap<>();
+
+    private volatile ExecutorService executor = null;
+    /**
+     * true if the executor was created here, so it is shut down here
+     */
+    private boolean ownsExecutor = false;
+    private volatile int maxPending = DEFAULT_MAX_PENDING;
+    private volatile Semaphore permits = new Semaphore(DEFAULT_MAX_PENDING);
+    private volatile Duration offerTimeout = Duration.ZERO;
+
+    /**
+     * @return The I/O executor, created on first use with a virtual thread per task where the runtime supports it,
+     * otherwise a pool of {@link #DEFAULT_THREADS} daemon threads
+     */
+    public ExecutorService getExecutor() {
+        ExecutorService service = executor;
+        if(service == null) {
+            synchronized (this) {
+                service = executor;
+                if(service == null) {
+                    executor = service = newDefaultExecutor();
+                    ownsExecutor = true;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Replaces the I/O executor, call it before any operation is submitted.
+     * The default executor is shut down, an executor passed in here is left to the caller.
+     */
+    public synchronized AsyncCalendar setExecutor(@NotNull ExecutorService executor) {
+        final ExecutorService previous = this.executor;
+        if(previous != null && ownsExecutor)
+            previous.shutdown();
+        this.executor = executor;
+        ownsExecutor = false;
+        return this;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Call it before any operation is submitted.
+     * @param maxPending The maximum amount of queued and running operations
+     */
+    public synchronized AsyncCalendar setMaxPending(int maxPending) {
+        if(maxPending < 1)
+            throw new IllegalArgumentException("Max pending must be positive: " + maxPending);
+        this.maxPending = maxPending;
+        permits = new Semaphore(maxPending);
+        return this;
+    }
+
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    /**
+     * @param offerTimeout How long the submitting thread may wait for room once {@link #getMaxPending()} is reached, 0 to reject at once
+     */
+    public AsyncCalendar setOfferTimeout(@NotNull Duration offerTimeout) {
+        if(offerTimeout.isNegative())
+            throw new IllegalArgumentException("Offer timeout cannot be negative: " + offerTimeout);
+        this.offerTimeout = offerTimeout;
+        return this;
+    }
+
+    /**
+     * @return The amount of queued and running operations
+     */
+    public int getPendingCount() {
+        return maxPending - permits.availablePermits();
+    }
+
+    /**
+     * @see MSGCalendar#getCalendarDay(long)
+     */
+    public CompletableFuture<CalendarDay> getCalendarDay(long epochMs) {
+        return submit(new DayKey(0, MSGCalendar.getLocalDate(epochMs)), () -> MSGCalendar.getCalendarDay(epochMs));
+    }
+
+    /**
+     * Completes with null if no partition contains the event.
+     * @see MSGCalendar#getCalendarEvent(String)
+     */
+    public CompletableFuture<CalendarPair> getCalendarEvent(@NotNull String uniqueId) {
+        return submit(uniqueId, null, () -> MSGCalendar.getCalendarEvent(uniqueId));
+    }
+
+    /**
+     * Completes with null if no partition contains the event.
+     * @see MSGCalendar#deleteCalendarItem(String)
+     */
+    public CompletableFuture<CalendarPair> deleteCalendarItem(@NotNull String uniqueId) {
+        return submit(uniqueId, null, () -> MSGCalendar.deleteCalendarItem(uniqueId));
+    }
+
+    /**
+     * Queued behind the operations on the day of the event's {@link CalendarEvent#getAnnouncementTime()},
+     * and behind the operations already submitted for the event.
+     * @see CalendarEvent#save()
+     */
+    public CompletableFuture<CalendarPair> save(@NotNull CalendarEvent calendarEvent) {
+        final DayKey dayKey = new DayKey(MSGCalendar.PARTITIONS.getTenantId(calendarEvent),
+                MSGCalendar.getLocalDate(calendarEvent.getAnnouncementTime()));
+        return submit(calendarEvent.getUniqueID(), dayKey, calendarEvent::save);
+    }
+
+    /**
+     * Shuts down the default executor once the submitted operations have finished, an executor passed to
+     * {@link #setExecutor(ExecutorService)} is left running. A new default executor is created when next used.
+     */
+    public synchronized void shutdown() {
+        final ExecutorService service = executor;
+        if(service == null || !ownsExecutor)
+            return;
+
+        executor = null;
+        service.shutdown();
+        try {
+            if(!service.awaitTermination(1, TimeUnit.MINUTES))
+                LOGGER.warn("Async Calendar operations still running after 1 minute");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finds the day of the event in the Event Indexes, off the calling thread as opening them may read from disk.
+     * @return The day, or null if no partition contains the event
+     */
+    @Nullable
+    private static DayKey locate(@NotNull String uniqueId) {
+        final CalendarPartition partition = MSGCalendar.PARTITIONS.findPartition(uniqueId);
+        if(partition == null)
+            return null;
+        final LocalDate date = partition.getEventIndex().get(uniqueId);
+        return date != null ? new DayKey(partition.getTenantId(), date) : null;
+    }
+
+    /**
+     * Runs the task once every operation submitted before it for the same day has completed, successfully or not.
+     */
+    private <T> CompletableFuture<T> submit(@NotNull DayKey dayKey, @NotNull Supplier<T> task) {
+        final Semaphore semaphore = permits;
+        if(!acquire(semaphore))
+            return rejected();
+
+        final CompletableFuture<T> next;
+        try {
+            next = enqueue(dayKey, task, getExecutor());
+        } catch (RejectedExecutionException e) {
+            semaphore.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return track(next, semaphore, dayKey);
+    }
+
+    /**
+     * Runs the task once every operation submitted before it for the same event has completed, successfully or not,
+     * and then once every operation submitted before it for the event's day has completed.
+     * The permit is held from submission on, so finding the day counts as pending too.
+     * @param dayKey The day of the event, or null to find it in the Event Indexes once the earlier operations completed
+     */
+    private <T> CompletableFuture<T> submit(@NotNull String uniqueId, @Nullable DayKey dayKey, @NotNull Supplier<T> task) {
+        final Semaphore semaphore = permits;
+        if(!acquire(semaphore))
+            return rejected();
+
+        final ExecutorService service = getExecutor();
+        final Object[] holder = new Object[1];
+        try {
+            EVENT_TAILS.compute(uniqueId, (key, tail) -> {
+                final CompletableFuture<T> next;
+                if(tail == null && dayKey != null) {
+                    // Nothing pending for the event, queue on the day straight away to keep the day's order
+                    next = enqueue(dayKey, task, service);
+                } else {
+                    final CompletableFuture<?> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+                    next = previous.handleAsync((ignored, error) -> dayKey != null ? dayKey : locate(uniqueId), service)
+                            .thenCompose(located -> located != null
+                                    ? enqueue(located, task, service)
+                                    : CompletableFuture.completedFuture(null));
+                }
+                holder[0] = next;
+                return next;
+            });
+        } catch (RejectedExecutionException e) {
+            semaphore.release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<T> next = (CompletableFuture<T>) holder[0];
+        next.whenComplete((result, error) -> EVENT_TAILS.remove(uniqueId, next));
+        return track(next, semaphore, uniqueId);
+    }
+
+    /**
+     * Chains the task behind the last operation of the day, without taking a permit.
+     */
+    private <T> CompletableFuture<T> enqueue(@NotNull DayKey dayKey, @NotNull Supplier<T> task, @NotNull ExecutorService service) {
+        final Object[] holder = new Object[1];
+        TAILS.compute(dayKey, (key, tail) -> {
+            final CompletableFuture<?> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            final CompletableFuture<T> next = previous.handleAsync((ignored, error) -> task.get(), service);
+            holder[0] = next;
+            return next;
+        });
+
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<T> next = (CompletableFuture<T>) holder[0];
+        next.whenComplete((result, error) -> TAILS.remove(dayKey, next));
+        return next;
+    }
+
+    /**
+     * Releases the permit once the operation completes.
+     * @return A copy, so a caller completing or cancelling it cannot break the chain of the day or the event
+     */
+    private <T> CompletableFuture<T> track(@NotNull CompletableFuture<T> next, @NotNull Semaphore semaphore, @NotNull Object target) {
+        next.whenComplete((result, error) -> {
+            semaphore.release();
+            if(error != null)
+                LOGGER.error("Async Calendar operation failed for {}", target, error);
+        });
+        return next.copy();
+    }
+
+    private <T> CompletableFuture<T> rejected() {
+        return CompletableFuture.failedFuture(new RejectedExecutionException(
+                "Async Calendar is saturated with " + getPendingCount() + " pending operations"));
+    }
+
+    private boolean acquire(Semaphore semaphore) {
+        final Duration timeout = offerTimeout;
+        if(timeout.isZero())
+            return semaphore.tryAcquire();
+        try {
+            return semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Virtual threads need Java 21, the library targets Java 11, so they are looked up reflectively.
+     */
+    private static ExecutorService newDefaultExecutor() {
+        try {
+            final ExecutorService service = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("Async Calendar running on virtual threads");
+            return service;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            final AtomicInteger count = new AtomicInteger();
+            LOGGER.info("Async Calendar running on {} threads", DEFAULT_THREADS);
+            return Executors.newFixedThreadPool(DEFAULT_THREADS, runnable -> {
+                final Thread thread = new Thread(runnable, "MSGCalendar-IO-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * A Calendar Day of a partition.
+     */
+    private static class DayKey {
+        private final long TENANT_ID;
+        private final LocalDate DATE;
+
+        private DayKey(long tenantId, @NotNull LocalDate date) {
+            TENANT_ID = tenantId;
+            DATE = date;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if(this == other)
+                return true;
+            if(!(other instanceof DayKey))
+                return false;
+            final DayKey dayKey = (DayKey) other;
+            return TENANT_ID == dayKey.TENANT_ID && DATE.equals(dayKey.DATE);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(TENANT_ID) + DATE.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return TENANT_ID == 0 ? DATE.toString() : TENANT_ID + "/" + DATE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncCalendar{" +
+                "executor=" + executor +
+                ", maxPending=" + maxPending +
+                ", pending=" + getPendingCount() +
+                ", offerTimeout=" + offerTimeout +
+                '}';
+    }
+
+}
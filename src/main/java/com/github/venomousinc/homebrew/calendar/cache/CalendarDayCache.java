@@ -0,0 +1,283 @@
+package com.github.venomousinc.homebrew.calendar.cache;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded, in-memory cache of {@link CalendarDay}s keyed by their {@link LocalDate}.
+ * Once {@link #getMaximumSize()} is exceeded the least recently used day is evicted,
+ * and days which have not been accessed within {@link #getExpireAfterAccess()} expire.
+ * <p>
+ * A maximum size of 0 disables the cache, every lookup is then a miss.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarDayCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarDayCache.class );
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 366;
+    public static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    /**
+     * Insertion ordered, every access moves the day to the end with {@link #touch(LocalDate, Entry, long)},
+     * so the eldest entry is always the least recently used day while {@link #peek(LocalDate)} can look days up without moving them.
+     */
+    private final LinkedHashMap<LocalDate, Entry> ENTRIES = new LinkedHashMap<>();
+
+    private int maximumSize;
+    private long expireAfterAccessNanos;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    /**
+     * The dates being loaded by {@link #get(LocalDate, Function)}, so a put or invalidation of the same date can mark the load stale.
+     */
+    private final HashMap<LocalDate, Load> LOADS = new HashMap<>();
+
+    public CalendarDayCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    public CalendarDayCache(final int maximumSize, @NotNull final Duration expireAfterAccess) {
+        setMaximumSize(maximumSize);
+        setExpireAfterAccess(expireAfterAccess);
+    }
+
+    /**
+     * Returns the cached day, or loads it with the loader on a miss.
+     * The loader is called outside of the cache lock; if another thread cached the same day in the meantime
+     * that instance wins, so every caller shares a single {@link CalendarDay} per date.
+     * A day loaded while the same date was put or invalidated is returned but not cached, as it may predate that write.
+     *
+     * @param date The date of the Calendar Day
+     * @param loader Loads the day on a miss, may return null (which is not cached)
+     * @return The cached or loaded day, or null if the loader returned null
+     */
+    @Nullable
+    public CalendarDay get(@NotNull LocalDate date, @NotNull Function<LocalDate, CalendarDay> loader) {
+        final Load load;
+        final long version;
+        synchronized (this) {
+            final CalendarDay cached = getIfPresent(date);
+            if(cached != null)
+                return cached;
+            load = LOADS.computeIfAbsent(date, ignored -> new Load());
+            load.loaders++;
+            version = load.version;
+        }
+
+        CalendarDay loaded = null;
+        try {
+            loaded = loader.apply(date);
+        } finally {
+            synchronized (this) {
+                if(--load.loaders == 0)
+                    LOADS.remove(date);
+
+                if(loaded != null) {
+                    final Entry existing = ENTRIES.get(date);
+                    final long now = System.nanoTime();
+                    if(existing != null && !isExpired(existing, now)) {
+                        touch(date, existing, now);
+                        loaded = existing.DAY;
+                    } else if(version == load.version) {
+                        putInternal(date, loaded);
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Neither refreshes the day's access time nor counts as a hit or miss, for scans which should not disturb the cache.
+     * @return The cached day, or null if it is not cached or expired
+     */
+    @Nullable
+    public synchronized CalendarDay peek(@NotNull LocalDate date) {
+        final Entry entry = ENTRIES.get(date);
+        return entry != null && !isExpired(entry, System.nanoTime()) ? entry.DAY : null;
+    }
+
+    @Nullable
+    public synchronized CalendarDay getIfPresent(@NotNull LocalDate date) {
+        final Entry entry = ENTRIES.get(date);
+        final long now = System.nanoTime();
+
+        if(entry != null) {
+            if(!isExpired(entry, now)) {
+                touch(date, entry, now);
+                hitCount++;
+                return entry.DAY;
+            }
+            ENTRIES.remove(date);
+            evictionCount++;
+        }
+
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Caches the day, replacing any other instance cached for the same date.
+     */
+    public synchronized void put(@NotNull CalendarDay calendarDay) {
+        markStale(calendarDay.getDate());
+        putInternal(calendarDay.getDate(), calendarDay);
+    }
+
+    public synchronized void invalidate(@NotNull LocalDate date) {
+        markStale(date);
+        ENTRIES.remove(date);
+    }
+
+    public synchronized void invalidateAll() {
+        LOADS.values().forEach(load -> load.version++);
+        ENTRIES.clear();
+    }
+
+    public synchronized int size() {
+        return ENTRIES.size();
+    }
+
+    public synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param maximumSize The maximum amount of cached days, 0 disables the cache
+     */
+    public synchronized CalendarDayCache setMaximumSize(int maximumSize) {
+        if(maximumSize < 0)
+            throw new IllegalArgumentException("Maximum size cannot be negative: " + maximumSize);
+        this.maximumSize = maximumSize;
+        evictOverflow();
+        return this;
+    }
+
+    public synchronized Duration getExpireAfterAccess() {
+        return Duration.ofNanos(expireAfterAccessNanos);
+    }
+
+    /**
+     * @param expireAfterAccess How long an unused day stays cached, {@link Duration#ZERO} never expires
+     */
+    public synchronized CalendarDayCache setExpireAfterAccess(@NotNull Duration expireAfterAccess) {
+        if(expireAfterAccess.isNegative())
+            throw new IllegalArgumentException("Expire after access cannot be negative: " + expireAfterAccess);
+        this.expireAfterAccessNanos = expireAfterAccess.toNanos();
+        return this;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized void resetStats() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    private void putInternal(LocalDate date, CalendarDay calendarDay) {
+        if(maximumSize == 0)
+            return;
+
+        // Replacing a day would keep its old position
+        ENTRIES.remove(date);
+        ENTRIES.put(date, new Entry(calendarDay, System.nanoTime()));
+        evictExpired();
+        evictOverflow();
+    }
+
+    private void markStale(LocalDate date) {
+        final Load load = LOADS.get(date);
+        if(load != null)
+            load.version++;
+    }
+
+    private void touch(LocalDate date, Entry entry, long now) {
+        entry.lastAccess = now;
+        ENTRIES.remove(date);
+        ENTRIES.put(date, entry);
+    }
+
+    /**
+     * Expired entries sit at the head, as the map is ordered from least to most recently accessed.
+     */
+    private void evictExpired() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<LocalDate, Entry>> iterator = ENTRIES.entrySet().iterator();
+        while(iterator.hasNext()) {
+            if(!isExpired(iterator.next().getValue(), now))
+                break;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private void evictOverflow() {
+        final Iterator<Map.Entry<LocalDate, Entry>> iterator = ENTRIES.entrySet().iterator();
+        while(ENTRIES.size() > maximumSize && iterator.hasNext()) {
+            LOGGER.debug("Evicting Calendar Day: `{}`", iterator.next().getKey());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return expireAfterAccessNanos > 0 && now - entry.lastAccess >= expireAfterAccessNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CalendarDayCache{" +
+                "size=" + ENTRIES.size() +
+                ", maximumSize=" + maximumSize +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+
+    /**
+     * The loads of a date in progress, the version is bumped by every write to the date meanwhile.
+     */
+    private static class Load {
+        private int loaders = 0;
+        private long version = 0;
+    }
+
+    private static class Entry {
+        private final CalendarDay DAY;
+        private long lastAccess;
+
+        private Entry(CalendarDay day, long lastAccess) {
+            DAY = day;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+}
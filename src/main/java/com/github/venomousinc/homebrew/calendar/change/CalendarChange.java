@@ -0,0 +1,57 @@
+package com.github.venomousinc.homebrew.calendar.change;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An event which was added to, updated in or removed from a Calendar Day, published by {@link CalendarEventBus}.
+ * <p>
+ * For {@link Type#REMOVED} the pair holds the day the event was removed from. An event which moved to another day
+ * is a single {@link Type#UPDATED} holding its new day.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarChange {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        /**
+         * Deleted, or moved into the archive by {@link com.github.venomousinc.homebrew.calendar.archive.CalendarArchiver}
+         */
+        REMOVED
+    }
+
+    public final Type TYPE;
+    public final CalendarPair PAIR;
+
+    public CalendarChange(@NotNull Type type, @NotNull CalendarPair pair) {
+        TYPE = type;
+        PAIR = pair;
+    }
+
+    public CalendarChange(@NotNull Type type, @NotNull CalendarDay day, @NotNull CalendarEvent event) {
+        this(type, new CalendarPair(day, event));
+    }
+
+    public CalendarDay getDay() {
+        return PAIR.DAY;
+    }
+
+    public CalendarEvent getEvent() {
+        return PAIR.EVENT;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarChange{" +
+                "TYPE=" + TYPE +
+                ", DAY=" + PAIR.DAY.getDate() +
+                ", EVENT=" + PAIR.EVENT.getUniqueID() +
+                '}';
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.venomousinc.homebrew.calendar.change;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Receives the changes published by {@link CalendarEventBus}, register it with
+ * {@link CalendarEventBus#addListener(CalendarChangeListener)} or, batched on another thread,
+ * {@link CalendarEventBus#addListener(CalendarChangeListener, java.util.concurrent.Executor, java.time.Duration)}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@FunctionalInterface
+public interface CalendarChangeListener {
+
+    void onChange(@NotNull CalendarChange change);
+
+    /**
+     * Called with several changes at once, in the order they happened, such as the batch of an asynchronous listener
+     * or every event of an imported day. Override it to handle them in bulk.
+     */
+    default void onChanges(@NotNull List<CalendarChange> changes) {
+        for(CalendarChange change : changes)
+            onChange(change);
+    }
+
+}
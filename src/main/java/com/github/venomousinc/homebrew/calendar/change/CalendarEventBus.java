@@ -0,0 +1,198 @@
+package com.github.venomousinc.homebrew.calendar.change;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells {@link CalendarChangeListener}s about every event added, updated or removed,
+ * so caches, indexes and UIs can follow the calendar without rescanning its days.
+ * <p>
+ * {@link CalendarEvent#save()}, {@link CalendarDay#removeEvent(String)}, the archiver and the importer publish their changes
+ * once the day is saved and its lock released. Dropping a partition publishes nothing, as none of its days are read.
+ * <p>
+ * A synchronous listener is called on the thread that made the change. An asynchronous listener collects changes
+ * for its batch window and is then called once with all of them on its executor, never concurrently with itself, so it sees them in order.
+ * Without listeners, publishing costs a single check.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarEventBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarEventBus.class );
+
+    private final CopyOnWriteArrayList<CalendarChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<Subscription> SUBSCRIPTIONS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Delays the delivery of batches, created on first use
+     */
+    private volatile ScheduledExecutorService scheduler = null;
+
+    /**
+     * Calls the listener on the thread that made the change, it should be quick and must not block.
+     */
+    public CalendarEventBus addListener(@NotNull CalendarChangeListener listener) {
+        LISTENERS.add(listener);
+        return this;
+    }
+
+    /**
+     * Calls the listener on the executor with the changes of every batch window.
+     * @param batchWindow How long changes are collected after the first one, 0 to deliver them as soon as the executor gets to it
+     */
+    public CalendarEventBus addListener(@NotNull CalendarChangeListener listener, @NotNull Executor executor, @NotNull Duration batchWindow) {
+        if(batchWindow.isNegative())
+            throw new IllegalArgumentException("Batch window cannot be negative: " + batchWindow);
+        SUBSCRIPTIONS.add(new Subscription(listener, executor, batchWindow.toMillis()));
+        return this;
+    }
+
+    /**
+     * Changes already collected for an asynchronous listener are still delivered.
+     */
+    public CalendarEventBus removeListener(@NotNull CalendarChangeListener listener) {
+        LISTENERS.remove(listener);
+        SUBSCRIPTIONS.removeIf(subscription -> subscription.LISTENER == listener);
+        return this;
+    }
+
+    public boolean hasListeners() {
+        return !LISTENERS.isEmpty() || !SUBSCRIPTIONS.isEmpty();
+    }
+
+    public void publish(@NotNull CalendarChange.Type type, @NotNull CalendarDay calendarDay, @NotNull CalendarEvent calendarEvent) {
+        if(hasListeners())
+            publish(Collections.singletonList(new CalendarChange(type, calendarDay, calendarEvent)));
+    }
+
+    /**
+     * @param changes In the order they happened
+     */
+    public void publish(@NotNull List<CalendarChange> changes) {
+        if(changes.isEmpty())
+            return;
+
+        for(CalendarChangeListener listener : LISTENERS)
+            deliver(listener, changes);
+        for(Subscription subscription : SUBSCRIPTIONS)
+            subscription.add(changes);
+    }
+
+    public int getListenerCount() {
+        return LISTENERS.size() + SUBSCRIPTIONS.size();
+    }
+
+    private ScheduledExecutorService getScheduler() {
+        ScheduledExecutorService service = scheduler;
+        if(service == null) {
+            synchronized (this) {
+                service = scheduler;
+                if(service == null) {
+                    scheduler = service = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        final Thread thread = new Thread(runnable, "MSGCalendar-EventBus");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return service;
+    }
+
+    private static void deliver(CalendarChangeListener listener, List<CalendarChange> changes) {
+        try {
+            if(changes.size() == 1)
+                listener.onChange(changes.get(0));
+            else
+                listener.onChanges(changes);
+        } catch (RuntimeException e) {
+            LOGGER.error("Calendar Change Listener failed", e);
+        }
+    }
+
+    /**
+     * An asynchronous listener and its pending batch.
+     */
+    private class Subscription {
+        private final CalendarChangeListener LISTENER;
+        private final Executor EXECUTOR;
+        private final long BATCH_WINDOW;
+
+        private ArrayList<CalendarChange> pending = new ArrayList<>();
+        /**
+         * true from the first change of a batch until the batch and any changes collected while delivering it are delivered
+         */
+        private boolean scheduled = false;
+
+        private Subscription(CalendarChangeListener listener, Executor executor, long batchWindow) {
+            LISTENER = listener;
+            EXECUTOR = executor;
+            BATCH_WINDOW = batchWindow;
+        }
+
+        private void add(List<CalendarChange> changes) {
+            synchronized (this) {
+                pending.addAll(changes);
+                if(scheduled)
+                    return;
+                scheduled = true;
+            }
+
+            if(BATCH_WINDOW > 0)
+                getScheduler().schedule(this::execute, BATCH_WINDOW, TimeUnit.MILLISECONDS);
+            else
+                execute();
+        }
+
+        private void execute() {
+            try {
+                EXECUTOR.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                LOGGER.error("Could not deliver Calendar Changes, the listener's executor rejected them", e);
+                synchronized (this) {
+                    pending = new ArrayList<>();
+                    scheduled = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while(true) {
+                final ArrayList<CalendarChange> batch;
+                synchronized (this) {
+                    if(pending.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                    batch = pending;
+                    pending = new ArrayList<>();
+                }
+                deliver(LISTENER, batch);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarEventBus{" +
+                "listeners=" + LISTENERS.size() +
+                ", asyncListeners=" + SUBSCRIPTIONS.size() +
+                '}';
+    }
+
+}
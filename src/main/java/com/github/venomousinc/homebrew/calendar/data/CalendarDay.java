@@ -3,19 +3,28 @@ package com.github.venomousinc.homebrew.calendar.data;
 
 import com.fasterxml.jackson.annotation.*;
 import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.change.CalendarChange;
+import com.github.venomousinc.homebrew.calendar.store.CalendarJournal;
+import com.github.venomousinc.homebrew.calendar.store.CalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.JournalRecord;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Calendar Day, such as 2020-46
@@ -31,16 +40,15 @@ public class CalendarDay {
 
     private static final Logger LOGGER = LoggerFactory.getLogger( CalendarDay.class );
 
+    /**
+     * The root of {@link MSGCalendar#FILE_STORE}
+     */
     public static final File CALENDAR_FOLDER = new File("calendar");
 
-    static {
-        LOGGER.debug("Calendar - Created: {} Exists: {}", CALENDAR_FOLDER.mkdirs(), CALENDAR_FOLDER.exists());
-    }
-
     public static final String CALENDAR_FILE_EXTENSION = "msgcal";
     /**
-     * <b>1970-01-01.msgcal</b>
-     * @see LocalDate#toString()
+     * <b>17.msgcal</b>, the day of the month inside of its year and month folders.
+     * @see DayFileLayout
      * @see #CALENDAR_FILE_EXTENSION
      */
     public static final String CALENDAR_FILE_FORMAT = "%s.%s";
@@ -49,20 +57,47 @@ public class CalendarDay {
     public final int DAY_OF_YEAR;
     @JsonProperty("YEAR")
     public final int YEAR;
-    @JsonProperty("EVENTS")
-    private final ArrayList<CalendarEvent> EVENTS;
+    /**
+     * Keyed by {@link CalendarEvent#getUniqueID()}, in insertion order so the saved EVENTS array keeps its order.
+     */
+    private final LinkedHashMap<String, CalendarEvent> EVENTS = new LinkedHashMap<>();
+    private final Collection<CalendarEvent> EVENTS_VIEW = Collections.unmodifiableCollection(EVENTS.values());
+    /**
+     * Set when a tenant partition loads or creates the day, null for the shared partition
+     */
+    @JsonIgnore private volatile CalendarPartition partition = null;
 
     @JsonCreator
     public CalendarDay(@JsonProperty("DAY_OF_YEAR") final int dayOfYear, @JsonProperty("YEAR") final int year,
-                       @JsonProperty("EVENTS") final ArrayList<CalendarEvent> events) {
+                       @JsonProperty("EVENTS") final Collection<CalendarEvent> events) {
         this.DAY_OF_YEAR = dayOfYear;
         this.YEAR = year;
-        EVENTS = events != null ? events : new ArrayList<>();
+        if(events != null) {
+            for(CalendarEvent calendarEvent : events)
+                EVENTS.put(calendarEvent.getUniqueID(), calendarEvent);
+        }
     }
 
+    /**
+     * Synchronize on this day while iterating if other threads may modify it, or iterate {@link #copyEvents()}.
+     * @return A read-only view of the events, use {@link #putEvent(CalendarEvent)} and {@link #removeEvent(CalendarEvent)} to modify them
+     */
     @JsonGetter("EVENTS")
-    public ArrayList<CalendarEvent> getEvents() {
-        return EVENTS;
+    public Collection<CalendarEvent> getEvents() {
+        return EVENTS_VIEW;
+    }
+
+    /**
+     * @return A copy of the events, safe to iterate while other threads modify this day
+     */
+    @JsonIgnore
+    public synchronized ArrayList<CalendarEvent> copyEvents() {
+        return new ArrayList<>(EVENTS.values());
+    }
+
+    @JsonIgnore
+    public synchronized int getEventCount() {
+        return EVENTS.size();
     }
 
     /**
@@ -75,34 +110,70 @@ public class CalendarDay {
         return Year.of(YEAR).atDay(DAY_OF_YEAR);
     }
 
+    /**
+     * @return The partition this day is saved in
+     */
+    @JsonIgnore
+    public CalendarPartition getPartition() {
+        final CalendarPartition calendarPartition = partition;
+        return calendarPartition != null ? calendarPartition : MSGCalendar.PARTITIONS.getShared();
+    }
+
+    void setPartition(@NotNull CalendarPartition partition) {
+        this.partition = partition;
+    }
+
+    /**
+     * Saves this day, or only marks it dirty when {@link MSGCalendar#WRITE_BEHIND} is enabled.
+     * @return this, or null if it could not be saved
+     */
     @JsonIgnore
     public CalendarDay save() {
-        final String dateStr = getDate().toString();
-        if(CALENDAR_FOLDER.exists() || CALENDAR_FOLDER.mkdirs()) {
-            try {
-                MSGCalendar.OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(getFile(), this);
-                LOGGER.info("Saving Calendar Day: `{}`", dateStr);
-                return this;
-            } catch (IOException e) {
-                LOGGER.error("Could not save Calendar Day: `{}`", dateStr);
-                LOGGER.error("Exception occurred while saving!", e);
-                return null;
-            }
+        return save(JournalRecord.day(this));
+    }
+
+    /**
+     * @param record The mutation, appended to the {@link CalendarJournal} when write-behind is journaled
+     */
+    CalendarDay save(@NotNull JournalRecord record) {
+        final CalendarPartition calendarPartition = getPartition();
+        calendarPartition.getDayCache().put(this);
+        if(record.OPERATION == JournalRecord.Operation.PUT)
+            calendarPartition.getEventIndex().put(record.UNIQUE_ID, getDate());
+        else if(record.OPERATION == JournalRecord.Operation.DAY) {
+            calendarPartition.getEventIndex().putAll(this);
+            MSGCalendar.INTERVAL_INDEX.putAll(this);
+            MSGCalendar.DISCORD_INDEX.putAll(this);
         }
-        LOGGER.error("Calendar Day could not save: `{}` Calendar Folder: {}", dateStr, CALENDAR_FOLDER.toString());
-        return null;
+
+        if(calendarPartition.isShared() && MSGCalendar.WRITE_BEHIND.isEnabled()) {
+            MSGCalendar.WRITE_BEHIND.markDirty(this, record);
+            return this;
+        }
+        return saveNow();
     }
 
+    /**
+     * Writes this day to the store of its partition immediately, bypassing {@link MSGCalendar#WRITE_BEHIND}.
+     * @return this, or null if it could not be saved
+     * @see CalendarStore#write(CalendarDay)
+     */
+    @JsonIgnore
+    public synchronized CalendarDay saveNow() {
+        return MSGCalendar.METRICS.recordSave(this, getPartition().getStore()::write) ? this : null;
+    }
+
+    /**
+     * @return The day file of this day in {@link MSGCalendar#FILE_STORE}
+     */
     @JsonIgnore
     public File getFile() {
-        return new File(CALENDAR_FOLDER, String.format(CALENDAR_FILE_FORMAT, getDate().toString(), CALENDAR_FILE_EXTENSION));
+        return getFile(getDate());
     }
 
     @Nullable
-    public CalendarEvent getEvent(final String uniqueId) {
-        return getEvents().stream()
-                .filter(dayEvent -> dayEvent.getUniqueID().equals(uniqueId))
-                .findFirst().orElse(null);
+    public synchronized CalendarEvent getEvent(final String uniqueId) {
+        return EVENTS.get(uniqueId);
     }
 
     @Nullable
@@ -110,63 +181,218 @@ public class CalendarDay {
         return getEvent(calendarEvent.getUniqueID());
     }
 
+    public synchronized boolean containsEvent(final String uniqueId) {
+        return EVENTS.containsKey(uniqueId);
+    }
+
+    /**
+     * Adds or replaces (by {@link CalendarEvent#getUniqueID()}) the event, without saving.
+     * @return The event that was replaced, or null if it was added
+     */
+    @Nullable
+    public synchronized CalendarEvent putEvent(@NotNull CalendarEvent calendarEvent) {
+        return EVENTS.put(calendarEvent.getUniqueID(), calendarEvent);
+    }
+
+    /**
+     * Replaces every event without saving, used when the day file was changed by another process.
+     */
+    synchronized void replaceEvents(@NotNull Collection<CalendarEvent> events) {
+        EVENTS.clear();
+        for(CalendarEvent calendarEvent : events)
+            EVENTS.put(calendarEvent.getUniqueID(), calendarEvent);
+    }
+
+    /**
+     * Removes the event with the same {@link CalendarEvent#getUniqueID()} and saves this day.
+     * @return The removed event, or null if this day did not contain it
+     */
     @Nullable
     public CalendarEvent removeEvent(CalendarEvent calendarEvent) {
-        if(getEvents().remove(calendarEvent)) {
-            save();
-            return calendarEvent;
+        return removeEvent(calendarEvent.getUniqueID());
+    }
+
+    /**
+     * Removes the event and saves this day, while holding its lock in the {@link CalendarPartition#getDayLocks()}.
+     * Call this on the instance from {@link #of(LocalDate)}, or use {@link #removeEvent(LocalDate, String)},
+     * as saving a stale copy of the day overwrites newer events.
+     * Publishes {@link CalendarChange.Type#REMOVED} to {@link MSGCalendar#EVENT_BUS} once saved.
+     * @return The removed event, or null if this day did not contain it
+     */
+    @Nullable
+    public CalendarEvent removeEvent(final String uniqueId) {
+        return removeEvent(uniqueId, true);
+    }
+
+    /**
+     * @param publish false when the event moves to another day, its save publishes the change instead,
+     * or when the caller still holds the day's lock and publishes once it released it
+     */
+    @Nullable
+    CalendarEvent removeEvent(final String uniqueId, boolean publish) {
+        final CalendarPartition calendarPartition = getPartition();
+        final ReentrantLock lock = calendarPartition.getDayLocks().get(getDate());
+        final CalendarEvent calendarEvent;
+        lock.lock();
+        try {
+            synchronized (this) {
+                calendarEvent = EVENTS.remove(uniqueId);
+            }
+            if(calendarEvent == null)
+                return null;
+
+            calendarPartition.getEventIndex().remove(uniqueId, getDate());
+            MSGCalendar.INTERVAL_INDEX.remove(uniqueId);
+            MSGCalendar.DISCORD_INDEX.remove(uniqueId);
+            MSGCalendar.ALERT_SCHEDULER.cancel(uniqueId);
+            save(JournalRecord.remove(getDate(), uniqueId));
+        } finally {
+            lock.unlock();
         }
-        return null;
+
+        if(publish)
+            MSGCalendar.EVENT_BUS.publish(CalendarChange.Type.REMOVED, this, calendarEvent);
+        return calendarEvent;
     }
 
-    public static ArrayList<CalendarDay> getCalendarDays() {
-        if(CALENDAR_FOLDER.isDirectory()) {
-            final String[] calendarFileNames = CALENDAR_FOLDER.list();
-            if(calendarFileNames != null && calendarFileNames.length > 0) {
-                ArrayList<CalendarDay> calendarDays = Arrays.stream(calendarFileNames)
-                        .map(s -> new File(CALENDAR_FOLDER, s))
-                        .map(CalendarDay::of).filter(Objects::nonNull)
-                        .collect(Collectors.toCollection(ArrayList::new));
-                LOGGER.debug("Returning ArrayList of {} CalendarDays", calendarDays.size());
-                return calendarDays;
-            } else {
-                LOGGER.debug("No CalendarDay Files found!");
+    /**
+     * Removes every listed event which still matches the filter and saves this day once, while holding its lock.
+     * Call this on the instance from {@link CalendarPartition#getCalendarDay(LocalDate)}, like {@link #removeEvent(String)}.
+     * @param filter Tested against the current event under the lock, so an event changed in the meantime can be kept
+     * @return The removed events
+     */
+    public List<CalendarEvent> removeEvents(@NotNull Collection<String> uniqueIds, @NotNull Predicate<CalendarEvent> filter) {
+        final List<CalendarEvent> removed = removeEvents(uniqueIds, filter, false);
+        publishRemoved(removed);
+        return removed;
+    }
+
+    /**
+     * @param publish false when the caller still holds the day's lock and publishes with {@link #publishRemoved(List)} once it released it
+     */
+    List<CalendarEvent> removeEvents(@NotNull Collection<String> uniqueIds, @NotNull Predicate<CalendarEvent> filter, boolean publish) {
+        final CalendarPartition calendarPartition = getPartition();
+        final ReentrantLock lock = calendarPartition.getDayLocks().get(getDate());
+        final ArrayList<CalendarEvent> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            synchronized (this) {
+                for(String uniqueId : uniqueIds) {
+                    final CalendarEvent calendarEvent = EVENTS.get(uniqueId);
+                    if(calendarEvent != null && filter.test(calendarEvent)) {
+                        EVENTS.remove(uniqueId);
+                        removed.add(calendarEvent);
+                    }
+                }
             }
-        } else {
-            LOGGER.debug("No Calendar Folder found!\n{}", CALENDAR_FOLDER.getAbsolutePath());
+            for(CalendarEvent calendarEvent : removed) {
+                calendarPartition.getEventIndex().remove(calendarEvent.getUniqueID(), getDate());
+                MSGCalendar.INTERVAL_INDEX.remove(calendarEvent.getUniqueID());
+                MSGCalendar.DISCORD_INDEX.remove(calendarEvent.getUniqueID());
+                MSGCalendar.ALERT_SCHEDULER.cancel(calendarEvent.getUniqueID());
+            }
+            if(!removed.isEmpty())
+                save();
+        } finally {
+            lock.unlock();
+        }
+
+        if(publish)
+            publishRemoved(removed);
+        return removed;
+    }
+
+    void publishRemoved(@NotNull List<CalendarEvent> removed) {
+        if(!removed.isEmpty() && MSGCalendar.EVENT_BUS.hasListeners()) {
+            final ArrayList<CalendarChange> changes = new ArrayList<>(removed.size());
+            for(CalendarEvent calendarEvent : removed)
+                changes.add(new CalendarChange(CalendarChange.Type.REMOVED, this, calendarEvent));
+            MSGCalendar.EVENT_BUS.publish(changes);
+        }
+    }
+
+    /**
+     * Loads the current Calendar Day of the shared partition and removes the event from it, both while holding the day's lock.
+     * @return The day and the removed event, or null if there is no such event on that date
+     * @see CalendarPartition#removeEvent(LocalDate, String)
+     */
+    @Nullable
+    public static CalendarPair removeEvent(@NotNull LocalDate date, @NotNull String uniqueId) {
+        return MSGCalendar.PARTITIONS.getShared().removeEvent(date, uniqueId);
+    }
+
+    /**
+     * Every saved Calendar Day of the shared partition, including days which {@link MSGCalendar#WRITE_BEHIND} has not written yet.
+     * @return The days, or null if there are none
+     * @see #streamCalendarDays(LocalDate, LocalDate)
+     */
+    @Nullable
+    public static ArrayList<CalendarDay> getCalendarDays() {
+        final ArrayList<CalendarDay> calendarDays;
+        try(Stream<CalendarDay> stream = streamCalendarDays(null, null)) {
+            calendarDays = stream.collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        if(!calendarDays.isEmpty()) {
+            LOGGER.debug("Returning ArrayList of {} CalendarDays", calendarDays.size());
+            return calendarDays;
         }
-        LOGGER.info("No Calendar Folder!");
+        LOGGER.debug("No CalendarDay Files found!");
         return null;
     }
 
+    /**
+     * Lazily streams the saved Calendar Days of the shared partition between two dates (inclusive), loading them in parallel.
+     * The stream must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     * @see CalendarPartition#streamCalendarDays(LocalDate, LocalDate)
+     * @see CalendarPartitions#streamAllCalendarDays()
+     */
+    public static Stream<CalendarDay> streamCalendarDays(@Nullable LocalDate from, @Nullable LocalDate to) {
+        return MSGCalendar.PARTITIONS.getShared().streamCalendarDays(from, to);
+    }
+
+    /**
+     * @param timestamp A date, such as <b>1970-01-01</b>
+     * @return The day file of the date in {@link MSGCalendar#FILE_STORE}
+     */
     @JsonIgnore
     public static File getFile(final String timestamp) {
-        return new File(CALENDAR_FOLDER, String.format(CALENDAR_FILE_FORMAT, timestamp, CALENDAR_FILE_EXTENSION));
+        return getFile(LocalDate.parse(timestamp));
     }
 
+    /**
+     * @return The day file of the date in {@link MSGCalendar#FILE_STORE}
+     */
     @JsonIgnore
-    @Nullable
-    public static CalendarDay of(@NotNull LocalDate dateTime) {
-        CalendarDay calendarDay = of(getFile(dateTime.toString()));
-
-        if(calendarDay != null)
-            return calendarDay;
+    public static File getFile(@NotNull LocalDate date) {
+        return MSGCalendar.FILE_STORE.getFile(date);
+    }
 
-        return new CalendarDay(dateTime.getDayOfYear(), dateTime.getYear(), null).save();
+    /**
+     * Gets the Calendar Day of the shared partition from {@link MSGCalendar#DAY_CACHE}, reading it from {@link MSGCalendar#getStore()} on a miss.
+     * A new, empty Calendar Day is returned if nothing is stored for the date, it is only written once it is saved.
+     * @see CalendarPartition#getCalendarDay(LocalDate)
+     */
+    @JsonIgnore
+    @NotNull
+    public static CalendarDay of(@NotNull LocalDate dateTime) {
+        return MSGCalendar.PARTITIONS.getShared().getCalendarDay(dateTime);
     }
 
+    /**
+     * Day files of the {@link MSGCalendar#getStore()} are served from {@link MSGCalendar#DAY_CACHE}, any other file is read from disk.
+     */
     @Nullable
     public static CalendarDay of(@NotNull File file) {
-        LOGGER.debug("CalendarDay#of({})", file.toString());
-        if(file.exists() && file.canRead() && file.isFile()) {
-            try {
-                return MSGCalendar.OBJECT_MAPPER.readValue(file, CalendarDay.class);
-            } catch (IOException e) {
-                LOGGER.error("Unable to process Calendar Day!", e);
-            }
-        }
+        final CalendarStore store = MSGCalendar.getStore();
+        final LocalDate date = store instanceof FileCalendarStore ? ((FileCalendarStore) store).getDate(file) : null;
+        if(date != null)
+            return MSGCalendar.PARTITIONS.getShared().getStoredCalendarDay(date);
 
-        return null;
+        return MSGCalendar.FILE_STORE.read(file);
     }
 
     @Override
@@ -174,7 +400,7 @@ public class CalendarDay {
         return "CalendarDay{" +
                 "DAY_OF_YEAR=" + DAY_OF_YEAR +
                 ", YEAR=" + YEAR +
-                ", EVENTS=" + EVENTS +
+                ", EVENTS=" + EVENTS.values() +
                 '}';
     }
 }
@@ -1,18 +1,28 @@
 package com.github.venomousinc.homebrew.calendar.data;
 
 import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.change.CalendarChange;
 import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import com.github.venomousinc.homebrew.calendar.store.JournalRecord;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * A Calendar Event Item, such as someones Birthday, or what time dinner is ready.
@@ -28,7 +38,8 @@ import java.util.UUID;
         "end",
         "name",
         "description",
-        "data"
+        "data",
+        "recurrence"
 })
 public class CalendarEvent {
 
@@ -67,6 +78,15 @@ public class CalendarEvent {
      * Useful for storing extra data, such as Discord Guild, Channel, and Message ID.
      */
     @JsonProperty("data") private EventData data = null;
+    /**
+     * Repeats this event, such as a Birthday every year. Only written when set.
+     */
+    @JsonProperty("recurrence") @JsonInclude(JsonInclude.Include.NON_NULL) private Recurrence recurrence = null;
+    /**
+     * The tenant of the partition this instance was loaded from or last saved in, -1 if unknown.
+     * Lets {@link #save()} move the event when its guild changed.
+     */
+    @JsonIgnore private transient volatile long savedTenantId = -1;
 
     public CalendarEvent() {
         this.CREATED_ON = System.currentTimeMillis();
@@ -180,6 +200,53 @@ public class CalendarEvent {
         return this;
     }
 
+    @JsonGetter("recurrence")
+    @Nullable
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * The {@link #getStart()} is the first occurrence, and the event stays saved in the Calendar Day of its first announcement.
+     * @param recurrence The rule, or null for a single occurrence
+     */
+    @JsonSetter("recurrence")
+    public CalendarEvent setRecurrence(@Nullable Recurrence recurrence) {
+        this.recurrence = recurrence;
+        return this;
+    }
+
+    @JsonIgnore
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Expands the occurrences overlapping [from, to], occurrences outside of the window are never calculated.
+     * @return The occurrences in order, a single occurrence if the event does not recur
+     */
+    @JsonIgnore
+    public List<CalendarOccurrence> getOccurrences(long from, long to) {
+        final ArrayList<CalendarOccurrence> occurrences = new ArrayList<>();
+        final Iterator<CalendarOccurrence> iterator = CalendarOccurrence.iterate(this, from);
+        while(iterator.hasNext()) {
+            final CalendarOccurrence occurrence = iterator.next();
+            if(occurrence.getStart() > to)
+                break;
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    /**
+     * @return The first occurrence announced at or after the Epoch Millisecond, or null if there is none
+     */
+    @JsonIgnore
+    @Nullable
+    public CalendarOccurrence getNextOccurrence(long announcedFrom) {
+        return CalendarOccurrence.next(this, announcedFrom);
+    }
+
     /**
      * Time between the event {@link #CREATED_ON} and the {@link #getAnnouncementTime()}
      * @return
@@ -222,32 +289,102 @@ public class CalendarEvent {
     }
 
     /**
-     * Save / Update this event. <b>Warning:</b> this will not remove old instances if the CalendarDay is no longer the same!
+     * Save / Update this event. If the {@link #getAnnouncementTime()} moved to another day,
+     * the old instance is removed from its previous CalendarDay.
+     * The day is loaded, updated and saved while holding its lock in the {@link CalendarPartition#getDayLocks()},
+     * so concurrent saves into the same day never overwrite each other.
+     * If its guild changed since it was loaded or last saved, it is removed from the old guild's partition.
+     * Publishes {@link CalendarChange.Type#ADDED} or {@link CalendarChange.Type#UPDATED} to {@link MSGCalendar#EVENT_BUS} once saved.
      * @see CalendarPair
+     * @see CalendarPartitions#of(CalendarEvent)
      * @return {@link CalendarPair} or null
      */
     @JsonIgnore
     @Nullable
     public CalendarPair save() {
-        CalendarDay calendarDay = MSGCalendar.getCalendarDay(getAnnouncementTime());
-        if(calendarDay != null) {
-            CalendarEvent calendarEvent = calendarDay.getEvent(this);
+        return save(true);
+    }
+
+    /**
+     * @param publish false when the caller still holds the day's lock and publishes the update once it released it
+     */
+    @NotNull
+    CalendarPair save(boolean publish) {
+        final LocalDate date = MSGCalendar.getLocalDate(getAnnouncementTime());
+        final CalendarPartition partition = MSGCalendar.PARTITIONS.of(this);
+        final CalendarDay calendarDay;
+        final LocalDate previousDate;
+        final CalendarEvent calendarEvent;
+
+        final ReentrantLock lock = partition.getDayLocks().get(date);
+        lock.lock();
+        try {
+            calendarDay = partition.getCalendarDay(date);
+            previousDate = partition.getEventIndex().get(getUniqueID());
+            calendarEvent = calendarDay.putEvent(this);
+            LOGGER.debug("{} Calendar Item: {}", calendarEvent == null ? "Adding" : "Updating", this.getUniqueID());
+            calendarDay.save(JournalRecord.put(date, this));
+        } finally {
+            lock.unlock();
+        }
 
-            if(calendarEvent != null) {
-                calendarDay.getEvents().remove(calendarEvent);
+        boolean updated = calendarEvent != null;
+        if(previousDate != null && !previousDate.equals(date)) {
+            LOGGER.debug("Moving Calendar Item: {} from {} to {}", this.getUniqueID(), previousDate, date);
+            updated |= partition.removeEvent(previousDate, getUniqueID(), false) != null;
+        }
+        // Saved in the shared partition before partitioning was enabled, or in the partition of the guild it had before
+        final long previousTenantId = savedTenantId != -1 ? savedTenantId : 0;
+        savedTenantId = partition.getTenantId();
+        if(previousTenantId != partition.getTenantId()) {
+            final CalendarPartition previous = MSGCalendar.PARTITIONS.getIfExists(previousTenantId);
+            final LocalDate previousPartitionDate = previous != null ? previous.getEventIndex().get(getUniqueID()) : null;
+            if(previousPartitionDate != null) {
+                LOGGER.debug("Moving Calendar Item: {} from Calendar Partition {} to {}", this.getUniqueID(), previousTenantId, partition.getTenantId());
+                updated |= previous.removeEvent(previousPartitionDate, getUniqueID(), false) != null;
             }
+        }
+        MSGCalendar.INTERVAL_INDEX.put(this);
+        MSGCalendar.DISCORD_INDEX.put(this);
+        MSGCalendar.ALERT_SCHEDULER.schedule(this);
+        if(publish)
+            MSGCalendar.EVENT_BUS.publish(updated ? CalendarChange.Type.UPDATED : CalendarChange.Type.ADDED, calendarDay, this);
+        return new CalendarPair(calendarDay, this);
+    }
 
-            calendarDay.getEvents().add(this);
-            LOGGER.debug("{} Calendar Item: {}", calendarEvent == null ? "Adding" : "Updating", this.getUniqueID());
-            calendarDay.save();
-            return new CalendarPair(calendarDay, this);
+    void setSavedTenantId(long savedTenantId) {
+        this.savedTenantId = savedTenantId;
+    }
+
+    /**
+     * CalendarEvent does not override equals, so this compares the JSON both events are saved as.
+     * @return true if both events would be saved the same
+     */
+    public boolean isSameAs(@Nullable CalendarEvent other) {
+        if(other == this)
+            return true;
+        if(other == null)
+            return false;
+        try {
+            return MSGCalendar.OBJECT_MAPPER.writeValueAsString(this).equals(MSGCalendar.OBJECT_MAPPER.writeValueAsString(other));
+        } catch (JsonProcessingException e) {
+            return false;
         }
-        return null;
+    }
+
+    /**
+     * Saves on the {@link MSGCalendar#ASYNC} executor, after the pending operations on the same Calendar Day.
+     * Do not modify this event until the future completes.
+     * @see #save()
+     */
+    @JsonIgnore
+    public CompletableFuture<CalendarPair> saveAsync() {
+        return MSGCalendar.ASYNC.save(this);
     }
 
     public String toPrettyPrint() {
         return String.format(
-                "# CalendarEvent #%n UNIQUE_ID: %s%n active: %s%n CREATED_ON: %s%n alert: %s%n start: %s%n end: %s%n name: %s%n description: %s%n data: %s", this.UNIQUE_ID, this.active, this.CREATED_ON, this.alert, this.start, this.end, this.name, this.description, this.data);
+                "# CalendarEvent #%n UNIQUE_ID: %s%n active: %s%n CREATED_ON: %s%n alert: %s%n start: %s%n end: %s%n name: %s%n description: %s%n data: %s%n recurrence: %s", this.UNIQUE_ID, this.active, this.CREATED_ON, this.alert, this.start, this.end, this.name, this.description, this.data, this.recurrence);
     }
 
     @Override
@@ -262,6 +399,7 @@ public class CalendarEvent {
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
                 ", data=" + data +
+                ", recurrence=" + recurrence +
                 '}';
     }
 }
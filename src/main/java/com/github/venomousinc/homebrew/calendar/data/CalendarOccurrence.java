@@ -0,0 +1,167 @@
+package com.github.venomousinc.homebrew.calendar.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * One occurrence of a {@link CalendarEvent}, a plain event has a single occurrence and a {@link Recurrence} has one per repeat.
+ * Occurrences are calculated on demand and never saved, edit the series through {@link #getEvent()}.
+ * <p>
+ * Every occurrence keeps the length of the event, and the alert keeps its distance to the start.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarOccurrence implements Comparable<CalendarOccurrence> {
+
+    private final CalendarEvent EVENT;
+    private final long INDEX;
+    private final long START;
+    private final long END;
+    private final long ALERT;
+
+    private CalendarOccurrence(CalendarEvent event, long index, long start) {
+        EVENT = event;
+        INDEX = index;
+        START = start;
+        final long offset = start - event.getStart();
+        END = event.getEnd() != -1 ? event.getEnd() + offset : -1;
+        ALERT = event.getAlert() != -1 ? event.getAlert() + offset : -1;
+    }
+
+    /**
+     * @return The first occurrence of the event, ignoring any exception
+     */
+    public static CalendarOccurrence first(@NotNull CalendarEvent calendarEvent) {
+        return new CalendarOccurrence(calendarEvent, 0, calendarEvent.getStart());
+    }
+
+    /**
+     * Lazily iterates the occurrences of the event which end at or after from, in order.
+     */
+    public static Iterator<CalendarOccurrence> iterate(@NotNull CalendarEvent calendarEvent, long from) {
+        return new OccurrenceIterator(calendarEvent, from - calendarEvent.getDuration().toMillis());
+    }
+
+    /**
+     * @return The first occurrence announced at or after the Epoch Millisecond, or null if there is none
+     */
+    @Nullable
+    public static CalendarOccurrence next(@NotNull CalendarEvent calendarEvent, long announcedFrom) {
+        if(calendarEvent.getStart() == -1)
+            return null;
+
+        // The announcement of every occurrence is the same distance from its start
+        final long announcementOffset = calendarEvent.getAnnouncementTime() - calendarEvent.getStart();
+        final Iterator<CalendarOccurrence> iterator = new OccurrenceIterator(calendarEvent, announcedFrom - announcementOffset);
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    public CalendarEvent getEvent() {
+        return EVENT;
+    }
+
+    /**
+     * @return 0 for the first occurrence, counting skipped exceptions
+     */
+    public long getIndex() {
+        return INDEX;
+    }
+
+    public long getStart() {
+        return START;
+    }
+
+    public long getEnd() {
+        return END;
+    }
+
+    /**
+     * @return alert (can be -1)
+     */
+    public long getAlert() {
+        return ALERT;
+    }
+
+    public long getAnnouncementTime() {
+        return ALERT != -1 ? ALERT : START;
+    }
+
+    @Override
+    public int compareTo(@NotNull CalendarOccurrence other) {
+        final int compare = Long.compare(START, other.START);
+        return compare != 0 ? compare : Long.compare(INDEX, other.INDEX);
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarOccurrence{" +
+                "UNIQUE_ID='" + EVENT.getUniqueID() + '\'' +
+                ", INDEX=" + INDEX +
+                ", START=" + START +
+                ", END=" + END +
+                ", ALERT=" + ALERT +
+                '}';
+    }
+
+    private static class OccurrenceIterator implements Iterator<CalendarOccurrence> {
+
+        private final CalendarEvent EVENT;
+        private final Recurrence RECURRENCE;
+        private final long SERIES_START;
+
+        private long index;
+        private CalendarOccurrence next = null;
+        private boolean done;
+
+        /**
+         * @param startFrom Occurrences starting before startFrom are skipped
+         */
+        private OccurrenceIterator(CalendarEvent event, long startFrom) {
+            EVENT = event;
+            RECURRENCE = event.getRecurrence();
+            SERIES_START = event.getStart();
+            done = SERIES_START == -1;
+            if(RECURRENCE == null) {
+                index = 0;
+                done |= SERIES_START < startFrom;
+            } else {
+                index = RECURRENCE.getFirstIndex(SERIES_START, startFrom);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while(next == null && !done) {
+                if(RECURRENCE == null) {
+                    next = new CalendarOccurrence(EVENT, 0, SERIES_START);
+                    done = true;
+                    break;
+                }
+
+                final long start = RECURRENCE.getStart(SERIES_START, index);
+                if(!RECURRENCE.isWithinBounds(index, start)) {
+                    done = true;
+                    break;
+                }
+                if(!RECURRENCE.isException(start))
+                    next = new CalendarOccurrence(EVENT, index, start);
+                index++;
+            }
+            return next != null;
+        }
+
+        @Override
+        public CalendarOccurrence next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            final CalendarOccurrence occurrence = next;
+            next = null;
+            return occurrence;
+        }
+    }
+
+}
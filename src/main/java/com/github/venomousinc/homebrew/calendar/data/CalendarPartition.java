@@ -0,0 +1,428 @@
+package com.github.venomousinc.homebrew.calendar.data;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.archive.CalendarArchive;
+import com.github.venomousinc.homebrew.calendar.cache.CalendarDayCache;
+import com.github.venomousinc.homebrew.calendar.change.CalendarChange;
+import com.github.venomousinc.homebrew.calendar.index.EventIndex;
+import com.github.venomousinc.homebrew.calendar.store.CalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.DayFileWatcher;
+import com.github.venomousinc.homebrew.calendar.store.DayLocks;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.ParallelDayLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * One calendar of Calendar Days, with its own store, {@link CalendarDayCache}, {@link EventIndex} and {@link DayLocks},
+ * so loading, saving and looking up a tenant's events never touches another tenant's days.
+ * <p>
+ * The shared partition is the calendar of {@link MSGCalendar#getStore()}, {@link MSGCalendar#DAY_CACHE},
+ * {@link MSGCalendar#EVENT_INDEX} and {@link MSGCalendar#DAY_LOCKS}, every other partition belongs to a tenant.
+ * Only the shared partition uses {@link MSGCalendar#WRITE_BEHIND}, tenant partitions are written immediately.
+ *
+ * @see CalendarPartitions
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarPartition {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarPartition.class );
+
+    private final long TENANT_ID;
+    /**
+     * Null for the shared partition, which follows {@link MSGCalendar#getStore()}
+     */
+    @Nullable
+    private final CalendarStore STORE;
+    private final CalendarDayCache DAY_CACHE;
+    private final EventIndex EVENT_INDEX;
+    private final DayLocks DAY_LOCKS;
+    /**
+     * Opened on first use, in the archive folder of the current store
+     */
+    @Nullable
+    private volatile CalendarArchive archive = null;
+
+    /**
+     * The shared partition
+     */
+    CalendarPartition(@NotNull CalendarDayCache dayCache, @NotNull EventIndex eventIndex, @NotNull DayLocks dayLocks) {
+        TENANT_ID = 0;
+        STORE = null;
+        DAY_CACHE = dayCache;
+        EVENT_INDEX = eventIndex;
+        DAY_LOCKS = dayLocks;
+    }
+
+    /**
+     * A tenant partition, its Event Index is kept next to its days.
+     */
+    CalendarPartition(long tenantId, @NotNull CalendarStore store, int cacheSize) {
+        TENANT_ID = tenantId;
+        STORE = store;
+        DAY_CACHE = new CalendarDayCache(cacheSize, CalendarDayCache.DEFAULT_EXPIRE_AFTER_ACCESS);
+        EVENT_INDEX = new EventIndex(store.getIndexFile(), () -> streamCalendarDays(null, null));
+        DAY_LOCKS = new DayLocks(64);
+    }
+
+    /**
+     * @return The tenant, such as a Discord guild ID, or 0 for the shared partition
+     */
+    public long getTenantId() {
+        return TENANT_ID;
+    }
+
+    public boolean isShared() {
+        return STORE == null;
+    }
+
+    public CalendarStore getStore() {
+        return STORE != null ? STORE : MSGCalendar.getStore();
+    }
+
+    public CalendarDayCache getDayCache() {
+        return DAY_CACHE;
+    }
+
+    public EventIndex getEventIndex() {
+        return EVENT_INDEX;
+    }
+
+    public DayLocks getDayLocks() {
+        return DAY_LOCKS;
+    }
+
+    /**
+     * @return The archive kept next to this partition's days, or null if its store cannot archive
+     * @see CalendarStore#getArchiveFolder()
+     */
+    @Nullable
+    public CalendarArchive getArchive() {
+        final File folder = getStore().getArchiveFolder();
+        if(folder == null)
+            return null;
+
+        CalendarArchive calendarArchive = archive;
+        if(calendarArchive == null || !calendarArchive.getFolder().equals(folder)) {
+            synchronized (this) {
+                calendarArchive = archive;
+                if(calendarArchive == null || !calendarArchive.getFolder().equals(folder)) {
+                    if(calendarArchive != null)
+                        calendarArchive.close();
+                    archive = calendarArchive = new CalendarArchive(folder);
+                }
+            }
+        }
+        return calendarArchive;
+    }
+
+    /**
+     * Gets the Calendar Day from the cache, reading it from the store on a miss.
+     * A new, empty Calendar Day is returned if nothing is stored for the date, it is only written once it is saved.
+     */
+    @NotNull
+    public CalendarDay getCalendarDay(@NotNull LocalDate date) {
+        return DAY_CACHE.get(date, day -> {
+            final CalendarDay calendarDay = load(day);
+            return calendarDay != null ? calendarDay : assign(new CalendarDay(day.getDayOfYear(), day.getYear(), null));
+        });
+    }
+
+    /**
+     * @return The cached or stored Calendar Day, or null if nothing is stored for the date
+     */
+    @Nullable
+    public CalendarDay getStoredCalendarDay(@NotNull LocalDate date) {
+        return DAY_CACHE.get(date, this::load);
+    }
+
+    /**
+     * Looks the event up in the Event Index, so only the Calendar Day it is saved in is loaded.
+     * @return The day and the event, or null if this partition does not contain it
+     */
+    @Nullable
+    public CalendarPair getCalendarEvent(@NotNull String uniqueId) {
+        final LocalDate date = EVENT_INDEX.get(uniqueId);
+        if(date == null)
+            return null;
+
+        final CalendarDay calendarDay = getCalendarDay(date);
+        final CalendarEvent calendarEvent = calendarDay.getEvent(uniqueId);
+        if(calendarEvent != null)
+            return new CalendarPair(calendarDay, calendarEvent);
+
+        LOGGER.warn("Event Index is stale for UUID `{}` -> {}", uniqueId, date);
+        EVENT_INDEX.remove(uniqueId, date);
+        return null;
+    }
+
+    /**
+     * Loads the current Calendar Day and removes the event from it, both while holding the day's lock.
+     * The removal is published once the lock is released, so listeners may save or delete events on other days.
+     * @return The day and the removed event, or null if there is no such event on that date
+     */
+    @Nullable
+    public CalendarPair removeEvent(@NotNull LocalDate date, @NotNull String uniqueId) {
+        return removeEvent(date, uniqueId, true);
+    }
+
+    /**
+     * @param publish false when the event moves to another day, so {@link MSGCalendar#EVENT_BUS} only sees it updated
+     * @see #removeEvent(LocalDate, String)
+     */
+    @Nullable
+    public CalendarPair removeEvent(@NotNull LocalDate date, @NotNull String uniqueId, boolean publish) {
+        final CalendarDay calendarDay;
+        final CalendarEvent calendarEvent;
+        final ReentrantLock lock = DAY_LOCKS.get(date);
+        lock.lock();
+        try {
+            calendarDay = getCalendarDay(date);
+            calendarEvent = calendarDay.removeEvent(uniqueId, false);
+        } finally {
+            lock.unlock();
+        }
+
+        if(calendarEvent == null)
+            return null;
+        if(publish)
+            MSGCalendar.EVENT_BUS.publish(CalendarChange.Type.REMOVED, calendarDay, calendarEvent);
+        return new CalendarPair(calendarDay, calendarEvent);
+    }
+
+    /**
+     * Loads the current Calendar Day and removes the matching events from it with a single save, while holding the day's lock.
+     * The removals are published once the lock is released.
+     * @return The removed events
+     * @see CalendarDay#removeEvents(Collection, Predicate)
+     */
+    public List<CalendarEvent> removeEvents(@NotNull LocalDate date, @NotNull Collection<String> uniqueIds,
+                                            @NotNull Predicate<CalendarEvent> filter) {
+        final CalendarDay calendarDay;
+        final List<CalendarEvent> removed;
+        final ReentrantLock lock = DAY_LOCKS.get(date);
+        lock.lock();
+        try {
+            calendarDay = getCalendarDay(date);
+            removed = calendarDay.removeEvents(uniqueIds, filter, false);
+        } finally {
+            lock.unlock();
+        }
+
+        calendarDay.publishRemoved(removed);
+        return removed;
+    }
+
+    /**
+     * Loads the current Calendar Day, and changes and saves the event if it still matches the filter, all while holding the day's lock.
+     * The update is published once the lock is released.
+     * @param filter Tested against the current event under the lock
+     * @param change Must not change the event's announcement day or guild
+     * @return The day and the saved event, or null if there is no such event on that date or it no longer matches
+     */
+    @Nullable
+    public CalendarPair updateEvent(@NotNull LocalDate date, @NotNull String uniqueId,
+                                    @NotNull Predicate<CalendarEvent> filter, @NotNull Consumer<CalendarEvent> change) {
+        final CalendarPair saved;
+        final ReentrantLock lock = DAY_LOCKS.get(date);
+        lock.lock();
+        try {
+            final CalendarEvent calendarEvent = getCalendarDay(date).getEvent(uniqueId);
+            if(calendarEvent == null || !filter.test(calendarEvent))
+                return null;
+            change.accept(calendarEvent);
+            saved = calendarEvent.save(false);
+        } finally {
+            lock.unlock();
+        }
+
+        MSGCalendar.EVENT_BUS.publish(CalendarChange.Type.UPDATED, saved.DAY, saved.EVENT);
+        return saved;
+    }
+
+    /**
+     * Re-reads a day whose file was changed by another process, and brings the cached day, the Event Index, the query indexes
+     * and the Alert Scheduler in line with it, then publishes the differences to {@link MSGCalendar#EVENT_BUS}.
+     * A cached day is updated in place, so threads holding it see the new events, and unchanged events keep their instance.
+     * <p>
+     * A day with a write pending in {@link MSGCalendar#WRITE_BEHIND} is not reloaded, as that write replaces the file,
+     * neither is a day file which is still as this process last wrote it, see {@link FileCalendarStore#isLastWrite(LocalDate)}.
+     * A removed event is published with only its unique ID if neither the cached day nor the query indexes still held it.
+     *
+     * @return The changes, empty if the file matches what was already known
+     * @see DayFileWatcher
+     */
+    public List<CalendarChange> reload(@NotNull LocalDate date) {
+        final ArrayList<CalendarChange> changes = new ArrayList<>();
+        final ReentrantLock lock = DAY_LOCKS.get(date);
+        lock.lock();
+        try {
+            if(isShared() && MSGCalendar.WRITE_BEHIND.getPending(date) != null) {
+                LOGGER.debug("Not reloading Calendar Day {}, a pending write replaces it", date);
+                return changes;
+            }
+            final CalendarStore store = getStore();
+            if(store instanceof FileCalendarStore && ((FileCalendarStore) store).isLastWrite(date)) {
+                LOGGER.debug("Not reloading Calendar Day {}, it is as this process wrote it", date);
+                return changes;
+            }
+
+            final CalendarDay stored = read(date);
+            final CalendarDay cached = DAY_CACHE.getIfPresent(date);
+            final CalendarDay calendarDay = cached != null ? cached
+                    : stored != null ? assign(stored) : assign(new CalendarDay(date.getDayOfYear(), date.getYear(), null));
+
+            // Everything known to be on this day before the reload, the instance is null if only the Event Index knew it
+            final HashMap<String, CalendarEvent> previous = new HashMap<>();
+            for(String uniqueId : EVENT_INDEX.getIds(date))
+                previous.put(uniqueId, MSGCalendar.INTERVAL_INDEX.get(uniqueId));
+            if(cached != null)
+                for(CalendarEvent calendarEvent : cached.copyEvents())
+                    previous.put(calendarEvent.getUniqueID(), calendarEvent);
+
+            final ArrayList<CalendarEvent> events = new ArrayList<>();
+            for(CalendarEvent calendarEvent : stored != null ? stored.copyEvents() : Collections.<CalendarEvent>emptyList()) {
+                final boolean known = previous.containsKey(calendarEvent.getUniqueID());
+                final CalendarEvent previousEvent = previous.remove(calendarEvent.getUniqueID());
+                if(previousEvent != null && previousEvent.isSameAs(calendarEvent)) {
+                    events.add(previousEvent);
+                    continue;
+                }
+
+                events.add(calendarEvent);
+                EVENT_INDEX.put(calendarEvent.getUniqueID(), date);
+                MSGCalendar.INTERVAL_INDEX.put(calendarEvent);
+                MSGCalendar.DISCORD_INDEX.put(calendarEvent);
+                MSGCalendar.ALERT_SCHEDULER.schedule(calendarEvent);
+                changes.add(new CalendarChange(known ? CalendarChange.Type.UPDATED : CalendarChange.Type.ADDED, calendarDay, calendarEvent));
+            }
+
+            for(Map.Entry<String, CalendarEvent> removed : previous.entrySet()) {
+                final String uniqueId = removed.getKey();
+                final LocalDate indexed = EVENT_INDEX.get(uniqueId);
+                if(indexed != null && !indexed.equals(date))
+                    continue; // Moved to another day, which reloads it
+
+                EVENT_INDEX.remove(uniqueId, date);
+                MSGCalendar.INTERVAL_INDEX.remove(uniqueId);
+                MSGCalendar.DISCORD_INDEX.remove(uniqueId);
+                MSGCalendar.ALERT_SCHEDULER.cancel(uniqueId);
+                changes.add(new CalendarChange(CalendarChange.Type.REMOVED, calendarDay,
+                        removed.getValue() != null ? removed.getValue() : new CalendarEvent(-1, uniqueId)));
+            }
+
+            if(cached != null)
+                cached.replaceEvents(events);
+        } finally {
+            lock.unlock();
+        }
+
+        if(!changes.isEmpty()) {
+            LOGGER.debug("Reloaded Calendar Day {} with {} changes", date, changes.size());
+            MSGCalendar.EVENT_BUS.publish(changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Lazily streams the saved Calendar Days between two dates (inclusive), loading them in parallel.
+     * Only the dates in the store are loaded, days outside of the range are never read.
+     * Days which {@link MSGCalendar#WRITE_BEHIND} has not written yet follow the stored days.
+     * <p>
+     * A day which is cached is streamed as is, any other day is read without being cached, so a full scan does not evict the hot days.
+     * Such a day is not the instance {@link #getCalendarDay(LocalDate)} returns, modify days through that instead.
+     * <p>
+     * The stream must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     * @see ParallelDayLoader
+     */
+    public Stream<CalendarDay> streamCalendarDays(@Nullable LocalDate from, @Nullable LocalDate to) {
+        final CalendarStore store = getStore();
+        final Stream<CalendarDay> stored = ParallelDayLoader.stream(store.getDates(from, to), this::getScannedCalendarDay);
+        if(!isShared())
+            return stored;
+
+        final Stream<CalendarDay> pending = MSGCalendar.WRITE_BEHIND.getPendingDays().stream()
+                .filter(calendarDay -> ParallelDayLoader.isWithin(calendarDay.getDate(), from, to))
+                .filter(calendarDay -> !store.contains(calendarDay.getDate()));
+        return Stream.concat(stored, pending);
+    }
+
+    /**
+     * Closes the Event Index and the archive, they are opened again when next used.
+     */
+    void close() {
+        EVENT_INDEX.close();
+        final CalendarArchive calendarArchive = archive;
+        if(calendarArchive != null)
+            calendarArchive.close();
+    }
+
+    /**
+     * @return The cached day, otherwise the stored day without caching it, or null if nothing is stored for the date
+     */
+    @Nullable
+    private CalendarDay getScannedCalendarDay(@NotNull LocalDate date) {
+        final CalendarDay cached = DAY_CACHE.peek(date);
+        return cached != null ? cached : load(date);
+    }
+
+    /**
+     * A dirty day waiting on {@link MSGCalendar#WRITE_BEHIND} is newer than the stored day, so it is used instead.
+     */
+    @Nullable
+    private CalendarDay load(@NotNull LocalDate date) {
+        if(isShared()) {
+            final CalendarDay pending = MSGCalendar.WRITE_BEHIND.getPending(date);
+            if(pending != null)
+                return pending;
+        }
+
+        final CalendarDay calendarDay = read(date);
+        return calendarDay != null ? assign(calendarDay) : null;
+    }
+
+    /**
+     * Reads the day from the store, marking its events as saved in this partition.
+     */
+    @Nullable
+    private CalendarDay read(@NotNull LocalDate date) {
+        final CalendarDay calendarDay = MSGCalendar.METRICS.recordLoad(date, getStore()::read);
+        if(calendarDay != null)
+            calendarDay.copyEvents().forEach(calendarEvent -> calendarEvent.setSavedTenantId(TENANT_ID));
+        return calendarDay;
+    }
+
+    private CalendarDay assign(CalendarDay calendarDay) {
+        if(!isShared())
+            calendarDay.setPartition(this);
+        return calendarDay;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarPartition{" +
+                "TENANT_ID=" + TENANT_ID +
+                ", STORE=" + getStore() +
+                '}';
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.github.venomousinc.homebrew.calendar.data;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Splits the calendar into a {@link CalendarPartition} per Discord guild, so a busy guild never slows down the day files of another.
+ * <p>
+ * Disabled by default, every event is then saved in the shared partition. Once {@link #setEnabled(boolean)},
+ * events with a {@link DiscordEventData#getGuildId()} are saved in their guild's partition,
+ * a folder named after the guild ID under {@link #getRoot()} with the usual year/month layout and its own Event Index.
+ * Events without a guild stay in the shared partition. An event saved in the shared partition before partitioning was enabled
+ * moves into its guild's partition the next time it is saved. So does an event whose guild was changed,
+ * as long as it is saved through the instance which was loaded from or saved in its old partition.
+ * <p>
+ * Partitions are opened on first use and each caches up to {@link #getCacheSize()} days.
+ * {@link #evict(long)} closes a partition without reading any day, {@link #drop(long)} deletes it.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarPartitions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarPartitions.class );
+
+    public static final String PARTITIONS_FOLDER = "guilds";
+    public static final int DEFAULT_CACHE_SIZE = 32;
+    /**
+     * Dropped partitions are renamed to this prefix, then deleted in the background.
+     */
+    private static final String DROPPED_PREFIX = ".dropped-";
+
+    private final CalendarPartition SHARED;
+    private final ConcurrentHashMap<Long, CalendarPartition> PARTITIONS = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+    private volatile File root = new File(CalendarDay.CALENDAR_FOLDER, PARTITIONS_FOLDER);
+    private volatile int cacheSize = DEFAULT_CACHE_SIZE;
+
+    /**
+     * Uses {@link MSGCalendar#DAY_CACHE}, {@link MSGCalendar#EVENT_INDEX} and {@link MSGCalendar#DAY_LOCKS} for the shared partition.
+     */
+    public CalendarPartitions() {
+        SHARED = new CalendarPartition(MSGCalendar.DAY_CACHE, MSGCalendar.EVENT_INDEX, MSGCalendar.DAY_LOCKS);
+    }
+
+    public CalendarPartition getShared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Only affects saves from now on, existing events stay where they are until they are saved again.
+     */
+    public CalendarPartitions setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * Evicts every open partition, call it before partitioning is used.
+     * @param root The folder holding a folder per guild, <b>calendar/guilds</b> by default
+     */
+    public synchronized CalendarPartitions setRoot(@NotNull File root) {
+        for(Long tenantId : PARTITIONS.keySet())
+            evict(tenantId);
+        this.root = root;
+        return this;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @param cacheSize The maximum amount of cached days per partition, 0 disables their caches
+     */
+    public CalendarPartitions setCacheSize(int cacheSize) {
+        if(cacheSize < 0)
+            throw new IllegalArgumentException("Cache size cannot be negative: " + cacheSize);
+        this.cacheSize = cacheSize;
+        PARTITIONS.values().forEach(partition -> partition.getDayCache().setMaximumSize(cacheSize));
+        return this;
+    }
+
+    /**
+     * @return The partition the event is saved in
+     */
+    @NotNull
+    public CalendarPartition of(@NotNull CalendarEvent calendarEvent) {
+        return get(getTenantId(calendarEvent));
+    }
+
+    /**
+     * @return The tenant of the partition the event is saved in, without opening it, 0 for the shared partition
+     */
+    public long getTenantId(@NotNull CalendarEvent calendarEvent) {
+        if(enabled && calendarEvent.getData() instanceof DiscordEventData)
+            return ((DiscordEventData) calendarEvent.getData()).getGuildId();
+        return 0;
+    }
+
+    /**
+     * Opens the partition of the tenant, creating its folder if needed.
+     */
+    @NotNull
+    public CalendarPartition get(long tenantId) {
+        if(tenantId == 0)
+            return SHARED;
+        return PARTITIONS.computeIfAbsent(tenantId, this::open);
+    }
+
+    /**
+     * @return The partition if it is open, without opening it
+     */
+    @Nullable
+    public CalendarPartition getIfOpen(long tenantId) {
+        return tenantId == 0 ? SHARED : PARTITIONS.get(tenantId);
+    }
+
+    /**
+     * @return The partition if it is open or has a folder, opening it, otherwise null
+     */
+    @Nullable
+    public CalendarPartition getIfExists(long tenantId) {
+        final CalendarPartition partition = getIfOpen(tenantId);
+        if(partition != null || !getFolder(tenantId).isDirectory())
+            return partition;
+        return get(tenantId);
+    }
+
+    /**
+     * @return Every tenant with a partition folder or an open partition, in order
+     */
+    public TreeSet<Long> getTenantIds() {
+        final TreeSet<Long> tenantIds = new TreeSet<>(PARTITIONS.keySet());
+        final File[] folders = root.listFiles(File::isDirectory);
+        if(folders != null) {
+            for(File folder : folders) {
+                try {
+                    tenantIds.add(Long.parseLong(folder.getName()));
+                } catch (NumberFormatException ignored) {
+                    // Not a partition, such as a dropped partition which is still being deleted
+                }
+            }
+        }
+        tenantIds.remove(0L);
+        return tenantIds;
+    }
+
+    /**
+     * Streams the shared partition followed by every tenant partition, opening them.
+     * Days of different partitions can share a date. The stream must be closed, use try-with-resources.
+     */
+    public Stream<CalendarDay> streamAllCalendarDays() {
+        return streamAllCalendarDays(null, null);
+    }
+
+    /**
+     * Streams the days between two dates (inclusive) of the shared partition followed by every tenant partition, opening them.
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     * @see CalendarPartition#streamCalendarDays(LocalDate, LocalDate)
+     */
+    public Stream<CalendarDay> streamAllCalendarDays(@Nullable LocalDate from, @Nullable LocalDate to) {
+        final Stream<CalendarDay> shared = SHARED.streamCalendarDays(from, to);
+        if(!enabled && PARTITIONS.isEmpty())
+            return shared;
+        return Stream.concat(shared, getTenantIds().stream()
+                .flatMap(tenantId -> get(tenantId).streamCalendarDays(from, to)));
+    }
+
+    /**
+     * Looks the event up in the shared partition, then in every tenant partition, opening them.
+     * Use {@link CalendarPartition#getCalendarEvent(String)} when the tenant is known.
+     * @return The day and the event, or null if no partition contains it
+     */
+    @Nullable
+    public CalendarPair getCalendarEvent(@NotNull String uniqueId) {
+        final CalendarPair calendarPair = SHARED.getCalendarEvent(uniqueId);
+        if(calendarPair != null || (!enabled && PARTITIONS.isEmpty()))
+            return calendarPair;
+
+        for(Long tenantId : getTenantIds()) {
+            final CalendarPair tenantPair = get(tenantId).getCalendarEvent(uniqueId);
+            if(tenantPair != null)
+                return tenantPair;
+        }
+        return null;
+    }
+
+    /**
+     * Searches the Event Index of the shared partition, then of every tenant partition, without loading any day.
+     * @return The partition whose Event Index contains the event, or null if none does
+     */
+    @Nullable
+    public CalendarPartition findPartition(@NotNull String uniqueId) {
+        if(SHARED.getEventIndex().get(uniqueId) != null)
+            return SHARED;
+        if(!enabled && PARTITIONS.isEmpty())
+            return null;
+
+        for(Long tenantId : getTenantIds()) {
+            final CalendarPartition partition = get(tenantId);
+            if(partition.getEventIndex().get(uniqueId) != null)
+                return partition;
+        }
+        return null;
+    }
+
+    /**
+     * Closes the partition and forgets its cached days, Event Index and archive, it is opened again when next used.
+     * Evict a tenant while it is idle, days still held by other threads keep using the closed partition.
+     * @return true if the partition was open
+     */
+    public boolean evict(long tenantId) {
+        final CalendarPartition partition = PARTITIONS.remove(tenantId);
+        if(partition == null)
+            return false;
+
+        partition.close();
+        partition.getDayCache().invalidateAll();
+        LOGGER.debug("Evicted Calendar Partition: {}", tenantId);
+        return true;
+    }
+
+    /**
+     * Deletes every event of the tenant. The partition folder is renamed away, so its days are gone at once,
+     * and then deleted in the background. Drop a tenant while it is idle, like {@link #evict(long)}.
+     * <p>
+     * The query indexes and the Alert Scheduler are shared by every tenant, so the tenant's events are removed from them one by one.
+     * That costs O(k) for the k events of the tenant: its Event Index is read to know them, no day is read unless it has to be rebuilt.
+     * @return true if the partition existed
+     */
+    public synchronized boolean drop(long tenantId) {
+        if(tenantId == 0)
+            throw new IllegalArgumentException("The shared partition cannot be dropped");
+
+        final CalendarPartition partition = getIfExists(tenantId);
+        final Set<String> uniqueIds = partition != null ? partition.getEventIndex().getIds() : Collections.emptySet();
+        evict(tenantId);
+        final File folder = getFolder(tenantId);
+        if(!folder.isDirectory())
+            return false;
+
+        final Path dropped = folder.toPath().resolveSibling(DROPPED_PREFIX + tenantId + '-' + System.nanoTime());
+        try {
+            Files.move(folder.toPath(), dropped, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Could not drop Calendar Partition: `{}`", folder, e);
+            return false;
+        }
+
+        for(String uniqueId : uniqueIds) {
+            MSGCalendar.INTERVAL_INDEX.remove(uniqueId);
+            MSGCalendar.DISCORD_INDEX.remove(uniqueId);
+            MSGCalendar.ALERT_SCHEDULER.cancel(uniqueId);
+        }
+
+        final Thread deleter = new Thread(() -> deleteRecursively(dropped), "MSGCalendar-PartitionDeleter-" + tenantId);
+        deleter.setDaemon(true);
+        deleter.start();
+        LOGGER.info("Dropped Calendar Partition: {}", tenantId);
+        return true;
+    }
+
+    public int getOpenCount() {
+        return PARTITIONS.size();
+    }
+
+    private File getFolder(long tenantId) {
+        return new File(root, Long.toString(tenantId));
+    }
+
+    private CalendarPartition open(long tenantId) {
+        final FileCalendarStore store = new FileCalendarStore(getFolder(tenantId), MSGCalendar.FILE_STORE.getObjectMapper())
+                .setCodec(MSGCalendar.getDayCodec());
+        LOGGER.debug("Opened Calendar Partition: {}", tenantId);
+        return new CalendarPartition(tenantId, store, cacheSize);
+    }
+
+    private static void deleteRecursively(Path folder) {
+        try(Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    LOGGER.error("Could not delete `{}`", path, e);
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.error("Could not delete dropped Calendar Partition: `{}`", folder, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarPartitions{" +
+                "enabled=" + enabled +
+                ", root=" + root +
+                ", open=" + PARTITIONS.keySet() +
+                '}';
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.github.venomousinc.homebrew.calendar.data;
+
+import com.fasterxml.jackson.annotation.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Repeats a {@link CalendarEvent} every interval days, weeks, months or years from its {@link CalendarEvent#getStart()}, in UTC.
+ * The series ends after count occurrences, or at the until Epoch Millisecond, whichever comes first; without either it never ends.
+ * <p>
+ * Occurrences are never stored, they are calculated from their index when needed.
+ * Monthly and yearly occurrences are counted from the first start, so the 31st repeats on the last day of shorter months.
+ *
+ * @see CalendarOccurrence
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@JsonPropertyOrder({
+        "frequency",
+        "interval",
+        "count",
+        "until",
+        "exceptions"
+})
+public class Recurrence {
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS),
+        WEEKLY(ChronoUnit.WEEKS),
+        MONTHLY(ChronoUnit.MONTHS),
+        YEARLY(ChronoUnit.YEARS);
+
+        private final ChronoUnit UNIT;
+
+        Frequency(ChronoUnit unit) {
+            UNIT = unit;
+        }
+
+        /**
+         * Days and weeks have a fixed length in UTC, months and years do not.
+         */
+        private boolean isFixed() {
+            return this == DAILY || this == WEEKLY;
+        }
+    }
+
+    @JsonProperty("frequency") private final Frequency frequency;
+    /**
+     * Repeat every interval days, weeks, months or years.
+     */
+    @JsonProperty("interval") private int interval = 1;
+    /**
+     * The amount of occurrences, including the first, or -1 for no limit.
+     */
+    @JsonProperty("count") private int count = -1;
+    /**
+     * The Epoch Millisecond after which no occurrence starts, or -1 for no limit.
+     */
+    @JsonProperty("until") private long until = -1;
+    /**
+     * The start Epoch Milliseconds of skipped occurrences.
+     */
+    @JsonProperty("exceptions") private final TreeSet<Long> exceptions = new TreeSet<>();
+
+    @JsonCreator
+    public Recurrence(@JsonProperty("frequency") @NotNull Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    @JsonGetter("frequency")
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    @JsonGetter("interval")
+    public int getInterval() {
+        return interval;
+    }
+
+    @JsonSetter("interval")
+    public Recurrence setInterval(int interval) {
+        if(interval < 1)
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        this.interval = interval;
+        return this;
+    }
+
+    @JsonGetter("count")
+    public int getCount() {
+        return count;
+    }
+
+    @JsonSetter("count")
+    public Recurrence setCount(int count) {
+        this.count = count;
+        return this;
+    }
+
+    @JsonGetter("until")
+    public long getUntil() {
+        return until;
+    }
+
+    @JsonSetter("until")
+    public Recurrence setUntil(long until) {
+        this.until = until;
+        return this;
+    }
+
+    @JsonGetter("exceptions")
+    public Set<Long> getExceptions() {
+        return Collections.unmodifiableSet(exceptions);
+    }
+
+    @JsonSetter("exceptions")
+    public Recurrence setExceptions(Set<Long> exceptions) {
+        this.exceptions.clear();
+        if(exceptions != null)
+            this.exceptions.addAll(exceptions);
+        return this;
+    }
+
+    /**
+     * Skips the occurrence starting at the Epoch Millisecond.
+     */
+    public Recurrence addException(long occurrenceStart) {
+        exceptions.add(occurrenceStart);
+        return this;
+    }
+
+    public boolean isException(long occurrenceStart) {
+        return exceptions.contains(occurrenceStart);
+    }
+
+    /**
+     * @return The start of the occurrence, ignoring count, until and exceptions
+     */
+    public long getStart(long seriesStart, long index) {
+        if(frequency.isFixed())
+            return seriesStart + index * interval * frequency.UNIT.getDuration().toMillis();
+        return toDateTime(seriesStart).plus(index * interval, frequency.UNIT).toInstant().toEpochMilli();
+    }
+
+    /**
+     * @return true if the occurrence is part of the series, it may still be an exception
+     */
+    public boolean isWithinBounds(long index, long occurrenceStart) {
+        return (count == -1 || index < count) && (until == -1 || occurrenceStart <= until);
+    }
+
+    /**
+     * @return The start of the last occurrence, or {@link Long#MAX_VALUE} if the series never ends
+     */
+    public long getLastStart(long seriesStart) {
+        long last = Long.MAX_VALUE;
+        if(count != -1)
+            last = count > 0 ? getStart(seriesStart, count - 1) : Long.MIN_VALUE;
+        if(until != -1)
+            last = Math.min(last, until);
+        return last;
+    }
+
+    /**
+     * @return The index of the first occurrence starting at or after from, ignoring count, until and exceptions
+     */
+    public long getFirstIndex(long seriesStart, long from) {
+        if(from <= seriesStart)
+            return 0;
+
+        if(frequency.isFixed()) {
+            final long period = interval * frequency.UNIT.getDuration().toMillis();
+            return (from - seriesStart + period - 1) / period;
+        }
+
+        long index = frequency.UNIT.between(toDateTime(seriesStart), toDateTime(from)) / interval;
+        while(index > 0 && getStart(seriesStart, index - 1) >= from)
+            index--;
+        while(getStart(seriesStart, index) < from)
+            index++;
+        return index;
+    }
+
+    public Recurrence copy() {
+        return new Recurrence(frequency).setInterval(interval).setCount(count).setUntil(until).setExceptions(exceptions);
+    }
+
+    private static ZonedDateTime toDateTime(long epochMs) {
+        return Instant.ofEpochMilli(epochMs).atZone(ZoneOffset.UTC);
+    }
+
+    @Override
+    public String toString() {
+        return "Recurrence{" +
+                "frequency=" + frequency +
+                ", interval=" + interval +
+                ", count=" + count +
+                ", until=" + until +
+                ", exceptions=" + exceptions +
+                '}';
+    }
+
+}
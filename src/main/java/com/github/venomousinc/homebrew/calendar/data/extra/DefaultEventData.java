@@ -9,7 +9,7 @@ import org.jetbrains.annotations.Nullable;
  * @since 16/02/2020
  */
 @JsonPropertyOrder({"providedLink"})
-public class DefaultEventData {
+public class DefaultEventData implements EventData {
 
     /**
      * An optional link, provided by the User
@@ -0,0 +1,263 @@
+package com.github.venomousinc.homebrew.calendar.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Formats a {@link Duration} as <b>1 Day 2 Hours 3 Seconds</b>, writing straight into a caller supplied {@link Appendable}.
+ * <p>
+ * A formatter is an immutable template, the <b>with</b> methods return a new one, so build it once and reuse it.
+ * Formatting into a {@link StringBuilder} does not allocate.
+ * <p>
+ * Only units with a value above 0 are written. A unit left out of the template carries into the next smaller one,
+ * without {@link Unit#YEARS} the days are counted past 365. If nothing is written, such as for a negative or very short duration,
+ * the whole duration is written in milliseconds instead.
+ * {@link #DEFAULT} writes the same text as {@link com.github.venomousinc.homebrew.calendar.MSGCalendar#buildDurationString(Duration, Character)}
+ * always has.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public final class DurationFormatter {
+
+    public enum Unit {
+        YEARS(365L * 24 * 60 * 60, "Year", "Years"),
+        DAYS(24L * 60 * 60, "Day", "Days"),
+        HOURS(60L * 60, "Hour", "Hours"),
+        MINUTES(60L, "Minute", "Minutes"),
+        SECONDS(1L, "Second", "Seconds"),
+        MILLISECONDS(0L, "Millisecond", "Milliseconds");
+
+        /**
+         * The length in seconds, 0 for milliseconds
+         */
+        private final long LENGTH;
+        private final String SINGULAR;
+        private final String PLURAL;
+
+        Unit(long seconds, String singular, String plural) {
+            LENGTH = seconds;
+            SINGULAR = singular;
+            PLURAL = plural;
+        }
+    }
+
+    private static final Unit[] UNITS = Unit.values();
+
+    /**
+     * Years, days, hours, minutes and seconds, separated by spaces, with English labels
+     */
+    public static final DurationFormatter DEFAULT = new DurationFormatter(
+            EnumSet.range(Unit.YEARS, Unit.SECONDS), null, Integer.MAX_VALUE, " ",
+            labels(false), labels(true));
+
+    private final EnumSet<Unit> UNIT_SET;
+    private final boolean SURROUNDED;
+    private final char SURROUNDING;
+    private final int MAX_UNITS;
+    private final String SEPARATOR;
+    /**
+     * By {@link Unit#ordinal()}, already prefixed with a space
+     */
+    private final String[] SINGULAR;
+    private final String[] PLURAL;
+
+    /**
+     * The compiled template, the length in seconds of every unit written, in order
+     */
+    private final long[] UNIT_SECONDS;
+    private final String[] UNIT_SINGULAR;
+    private final String[] UNIT_PLURAL;
+    private final boolean MILLISECONDS;
+
+    private DurationFormatter(Set<Unit> units, @Nullable Character surrounding, int maxUnits, String separator,
+                              String[] singular, String[] plural) {
+        UNIT_SET = units.isEmpty() ? EnumSet.noneOf(Unit.class) : EnumSet.copyOf(units);
+        SURROUNDED = surrounding != null;
+        SURROUNDING = surrounding != null ? surrounding : 0;
+        MAX_UNITS = maxUnits;
+        SEPARATOR = separator;
+        SINGULAR = singular;
+        PLURAL = plural;
+
+        MILLISECONDS = UNIT_SET.contains(Unit.MILLISECONDS);
+        final int secondUnits = UNIT_SET.size() - (MILLISECONDS ? 1 : 0);
+        UNIT_SECONDS = new long[secondUnits];
+        UNIT_SINGULAR = new String[secondUnits];
+        UNIT_PLURAL = new String[secondUnits];
+        int i = 0;
+        for(Unit unit : UNIT_SET) {
+            if(unit == Unit.MILLISECONDS)
+                continue;
+            UNIT_SECONDS[i] = unit.LENGTH;
+            UNIT_SINGULAR[i] = singular[unit.ordinal()];
+            UNIT_PLURAL[i] = plural[unit.ordinal()];
+            i++;
+        }
+    }
+
+    /**
+     * @param units The units to write, the others carry into the next smaller unit
+     */
+    public DurationFormatter withUnits(@NotNull Set<Unit> units) {
+        return new DurationFormatter(units, getSurrounding(), MAX_UNITS, SEPARATOR, SINGULAR, PLURAL);
+    }
+
+    /**
+     * @param surrounding Written before and after every number, such as <b>`</b> for Discord, or null for none
+     */
+    public DurationFormatter withSurrounding(@Nullable Character surrounding) {
+        if(surrounding == null ? !SURROUNDED : SURROUNDED && SURROUNDING == surrounding)
+            return this;
+        return new DurationFormatter(UNIT_SET, surrounding, MAX_UNITS, SEPARATOR, SINGULAR, PLURAL);
+    }
+
+    /**
+     * @param maxUnits Stop after this many units, such as 2 for <b>1 Day 2 Hours</b>. The rest is truncated, not rounded.
+     */
+    public DurationFormatter withMaxUnits(int maxUnits) {
+        if(maxUnits < 1)
+            throw new IllegalArgumentException("Max units must be positive: " + maxUnits);
+        return new DurationFormatter(UNIT_SET, getSurrounding(), maxUnits, SEPARATOR, SINGULAR, PLURAL);
+    }
+
+    /**
+     * @param separator Written between units, a space by default
+     */
+    public DurationFormatter withSeparator(@NotNull String separator) {
+        return new DurationFormatter(UNIT_SET, getSurrounding(), MAX_UNITS, separator, SINGULAR, PLURAL);
+    }
+
+    /**
+     * Replaces the label of a unit, to translate it.
+     * @param singular Used for a value of 1, such as <b>Tag</b>
+     * @param plural Used for any other value, such as <b>Tage</b>
+     */
+    public DurationFormatter withLabels(@NotNull Unit unit, @NotNull String singular, @NotNull String plural) {
+        final String[] singularLabels = Arrays.copyOf(SINGULAR, SINGULAR.length);
+        final String[] pluralLabels = Arrays.copyOf(PLURAL, PLURAL.length);
+        singularLabels[unit.ordinal()] = ' ' + singular;
+        pluralLabels[unit.ordinal()] = ' ' + plural;
+        return new DurationFormatter(UNIT_SET, getSurrounding(), MAX_UNITS, SEPARATOR, singularLabels, pluralLabels);
+    }
+
+    public Set<Unit> getUnits() {
+        return EnumSet.copyOf(UNIT_SET);
+    }
+
+    @Nullable
+    public Character getSurrounding() {
+        return SURROUNDED ? SURROUNDING : null;
+    }
+
+    public int getMaxUnits() {
+        return MAX_UNITS;
+    }
+
+    public String format(@NotNull Duration duration) {
+        return format(duration, new StringBuilder(32)).toString();
+    }
+
+    /**
+     * Appends the duration without allocating.
+     * @return The builder
+     */
+    public StringBuilder format(@NotNull Duration duration, @NotNull StringBuilder out) {
+        try {
+            formatTo(duration, out);
+        } catch (IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * @return The appendable
+     * @throws IOException If the appendable does
+     */
+    public <T extends Appendable> T formatTo(@NotNull Duration duration, @NotNull T out) throws IOException {
+        int written = 0;
+        if(!duration.isNegative()) {
+            long remaining = duration.getSeconds();
+            for(int i = 0; i < UNIT_SECONDS.length && written < MAX_UNITS; i++) {
+                final long value = remaining / UNIT_SECONDS[i];
+                remaining -= value * UNIT_SECONDS[i];
+                if(value > 0)
+                    writeUnit(out, written++, value, value > 1 ? UNIT_PLURAL[i] : UNIT_SINGULAR[i]);
+            }
+
+            if(MILLISECONDS && written < MAX_UNITS) {
+                final long value = Math.addExact(Math.multiplyExact(remaining, 1000L), duration.getNano() / 1_000_000);
+                if(value > 0)
+                    writeUnit(out, written++, value, value > 1 ? PLURAL[Unit.MILLISECONDS.ordinal()] : SINGULAR[Unit.MILLISECONDS.ordinal()]);
+            }
+        }
+
+        if(written == 0)
+            writeUnit(out, 0, duration.toMillis(), PLURAL[Unit.MILLISECONDS.ordinal()]);
+        return out;
+    }
+
+    private void writeUnit(Appendable out, int index, long value, String label) throws IOException {
+        if(index > 0)
+            out.append(SEPARATOR);
+        // Like String#trim(), a whitespace surrounding is not written at the very start
+        if(SURROUNDED && (index > 0 || SURROUNDING > ' '))
+            out.append(SURROUNDING);
+        appendLong(out, value);
+        if(SURROUNDED)
+            out.append(SURROUNDING);
+        out.append(label);
+    }
+
+    /**
+     * Writes the digits one by one, so only a {@link StringBuilder} gets a String-free shortcut.
+     */
+    private static void appendLong(Appendable out, long value) throws IOException {
+        if(out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+            return;
+        }
+
+        if(value < 0)
+            out.append('-');
+        else
+            value = -value;
+
+        // Counted on the negative side, so Long.MIN_VALUE does not overflow
+        long divisor = 1;
+        while(value / divisor <= -10)
+            divisor *= 10;
+        while(divisor != 0) {
+            out.append((char) ('0' - value / divisor));
+            value %= divisor;
+            divisor /= 10;
+        }
+    }
+
+    private static String[] labels(boolean plural) {
+        final String[] labels = new String[UNITS.length];
+        for(Unit unit : UNITS)
+            labels[unit.ordinal()] = ' ' + (plural ? unit.PLURAL : unit.SINGULAR);
+        return labels;
+    }
+
+    @Override
+    public String toString() {
+        return "DurationFormatter{" +
+                "units=" + UNIT_SET +
+                ", surrounding=" + getSurrounding() +
+                ", maxUnits=" + MAX_UNITS +
+                ", separator='" + SEPARATOR + '\'' +
+                '}';
+    }
+
+}
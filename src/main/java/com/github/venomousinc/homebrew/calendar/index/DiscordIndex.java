@@ -0,0 +1,238 @@
+package com.github.venomousinc.homebrew.calendar.index;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes over the {@link DiscordEventData} of every event, by guild, channel and author ID.
+ * Events without Discord data, or with an ID of 0, are not indexed under that ID.
+ * <p>
+ * The IDs are keyed by {@link LongObjectMap}s, so lookups never box a snowflake.
+ * Every ID's events are kept ordered by start, so a lookup only copies them.
+ * Like the {@link IntervalIndex} it is built by reading every Calendar Day on the first query, afterwards it is maintained by
+ * {@link CalendarEvent#save()} and {@link CalendarDay#removeEvent(String)}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class DiscordIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( DiscordIndex.class );
+
+    /**
+     * By the start the event was indexed with, it may be changed before the event is saved again.
+     */
+    private static final Comparator<Entry> BY_START = Comparator.<Entry>comparingLong(entry -> entry.START).thenComparing(entry -> entry.UNIQUE_ID);
+
+    private final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private final LongObjectMap<TreeMap<Entry, CalendarEvent>> GUILDS = new LongObjectMap<>();
+    private final LongObjectMap<TreeMap<Entry, CalendarEvent>> CHANNELS = new LongObjectMap<>();
+    private final LongObjectMap<TreeMap<Entry, CalendarEvent>> AUTHORS = new LongObjectMap<>();
+    /**
+     * The IDs each event was indexed under, the Discord data itself may be changed before the event is saved again.
+     */
+    private final HashMap<String, Entry> ENTRIES = new HashMap<>();
+
+    private final IndexBuild BUILD = new IndexBuild(LOCK);
+
+    /**
+     * @return Every event of the guild, ordered by start
+     */
+    public List<CalendarEvent> getByGuild(long guildId) {
+        return get(GUILDS, guildId);
+    }
+
+    /**
+     * @return Every event posted in the channel, ordered by start
+     */
+    public List<CalendarEvent> getByChannel(long channelId) {
+        return get(CHANNELS, channelId);
+    }
+
+    /**
+     * @return Every event created by the user, ordered by start
+     */
+    public List<CalendarEvent> getByAuthor(long authorId) {
+        return get(AUTHORS, authorId);
+    }
+
+    /**
+     * @return How many events the user has created, without copying them
+     */
+    public int countByAuthor(long authorId) {
+        ensureBuilt();
+        LOCK.readLock().lock();
+        try {
+            final TreeMap<Entry, CalendarEvent> events = AUTHORS.get(authorId);
+            return events != null ? events.size() : 0;
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the event, or moves it if its IDs or start changed. Does nothing until the index is built,
+     * while it is being built the change is applied after the build's scan.
+     */
+    public void put(@NotNull CalendarEvent calendarEvent) {
+        if(!BUILD.isBuilt() && BUILD.defer(() -> putInternal(calendarEvent)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            putInternal(calendarEvent);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    public void putAll(@NotNull CalendarDay calendarDay) {
+        final ArrayList<CalendarEvent> events = calendarDay.copyEvents();
+        if(!BUILD.isBuilt() && BUILD.defer(() -> events.forEach(this::putInternal)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            events.forEach(this::putInternal);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    public void remove(@NotNull String uniqueId) {
+        if(!BUILD.isBuilt() && BUILD.defer(() -> removeInternal(uniqueId)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            removeInternal(uniqueId);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every event of the guild, without building the index.
+     */
+    public void removeGuild(long guildId) {
+        LOCK.writeLock().lock();
+        try {
+            final TreeMap<Entry, CalendarEvent> events = GUILDS.get(guildId);
+            if(events != null)
+                new ArrayList<>(events.keySet()).forEach(entry -> removeInternal(entry.UNIQUE_ID));
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        LOCK.readLock().lock();
+        try {
+            return ENTRIES.size();
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index, it is rebuilt by the next query.
+     */
+    public void invalidate() {
+        LOCK.writeLock().lock();
+        try {
+            BUILD.invalidate();
+            GUILDS.clear();
+            CHANNELS.clear();
+            AUTHORS.clear();
+            ENTRIES.clear();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    private List<CalendarEvent> get(LongObjectMap<TreeMap<Entry, CalendarEvent>> index, long id) {
+        ensureBuilt();
+        LOCK.readLock().lock();
+        try {
+            final TreeMap<Entry, CalendarEvent> indexed = index.get(id);
+            return indexed != null ? new ArrayList<>(indexed.values()) : new ArrayList<>();
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if(BUILD.ensureBuilt(this::putInternal))
+            LOGGER.debug("Built Discord Index with {} events", size());
+    }
+
+    private void putInternal(CalendarEvent calendarEvent) {
+        final String uniqueId = calendarEvent.getUniqueID();
+        removeInternal(uniqueId);
+        if(!(calendarEvent.getData() instanceof DiscordEventData))
+            return;
+
+        final DiscordEventData data = (DiscordEventData) calendarEvent.getData();
+        final Entry entry = new Entry(uniqueId, calendarEvent.getStart(), data.getGuildId(), data.getChannelId(), data.getAuthorId());
+        ENTRIES.put(uniqueId, entry);
+        add(GUILDS, entry.GUILD_ID, entry, calendarEvent);
+        add(CHANNELS, entry.CHANNEL_ID, entry, calendarEvent);
+        add(AUTHORS, entry.AUTHOR_ID, entry, calendarEvent);
+    }
+
+    private void removeInternal(String uniqueId) {
+        final Entry entry = ENTRIES.remove(uniqueId);
+        if(entry == null)
+            return;
+
+        remove(GUILDS, entry.GUILD_ID, entry);
+        remove(CHANNELS, entry.CHANNEL_ID, entry);
+        remove(AUTHORS, entry.AUTHOR_ID, entry);
+    }
+
+    private static void add(LongObjectMap<TreeMap<Entry, CalendarEvent>> index, long id, Entry entry, CalendarEvent calendarEvent) {
+        if(id == 0)
+            return;
+
+        TreeMap<Entry, CalendarEvent> events = index.get(id);
+        if(events == null) {
+            events = new TreeMap<>(BY_START);
+            index.put(id, events);
+        }
+        events.put(entry, calendarEvent);
+    }
+
+    private static void remove(LongObjectMap<TreeMap<Entry, CalendarEvent>> index, long id, Entry entry) {
+        final TreeMap<Entry, CalendarEvent> events = index.get(id);
+        if(events != null && events.remove(entry) != null && events.isEmpty())
+            index.remove(id);
+    }
+
+    private static class Entry {
+        private final String UNIQUE_ID;
+        private final long START;
+        private final long GUILD_ID;
+        private final long CHANNEL_ID;
+        private final long AUTHOR_ID;
+
+        private Entry(String uniqueId, long start, long guildId, long channelId, long authorId) {
+            UNIQUE_ID = uniqueId;
+            START = start;
+            GUILD_ID = guildId;
+            CHANNEL_ID = channelId;
+            AUTHOR_ID = authorId;
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+package com.github.venomousinc.homebrew.calendar.index;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Maps a {@link CalendarEvent#getUniqueID()} to the {@link LocalDate} of the {@link CalendarDay} it is saved in,
+ * so an event can be found with a single day load instead of reading every Calendar Day.
+ * <p>
+ * The index is persisted as an append-only log, one line per change:
+ * <b>UNIQUE_ID 1970-01-01</b> when an event is saved, <b>UNIQUE_ID -</b> when it is removed.
+ * The log is compacted once it is mostly stale lines, and rebuilt from the Calendar Days if it is missing.
+ * Without a file the index is only kept in memory, and rebuilt when first used.
+ * <p>
+ * Lookups read the map without locking. Changes update the map and append to the log under the index's monitor,
+ * so the log records them in the order the map applied them, and they wait for a {@link #rebuild()} to finish.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class EventIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( EventIndex.class );
+
+    public static final String INDEX_FILE_NAME = "events.msgidx";
+
+    private static final String REMOVED = "-";
+    private static final int MIN_COMPACT_LINES = 1024;
+
+    @Nullable
+    private volatile File file;
+    /**
+     * The Calendar Days the index is rebuilt from
+     */
+    private final Supplier<Stream<CalendarDay>> DAYS;
+    private final ConcurrentHashMap<String, LocalDate> DATES = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+    private BufferedWriter writer = null;
+    /**
+     * The amount of lines in the log, compared against {@link #size()} to decide when to compact.
+     */
+    private int logLines = 0;
+
+    /**
+     * An index over {@link CalendarDay#streamCalendarDays(LocalDate, LocalDate)}
+     */
+    public EventIndex(@Nullable File file) {
+        this(file, () -> CalendarDay.streamCalendarDays(null, null));
+    }
+
+    /**
+     * @param days Streams every Calendar Day the index covers, used to rebuild it
+     */
+    public EventIndex(@Nullable File file, @NotNull Supplier<Stream<CalendarDay>> days) {
+        this.file = file;
+        DAYS = days;
+    }
+
+    /**
+     * @return The date of the Calendar Day the event was last saved in, or null if it is not indexed
+     */
+    @Nullable
+    public LocalDate get(@NotNull String uniqueId) {
+        ensureLoaded();
+        return DATES.get(uniqueId);
+    }
+
+    public synchronized void put(@NotNull String uniqueId, @NotNull LocalDate date) {
+        ensureLoaded();
+        if(!date.equals(DATES.put(uniqueId, date)))
+            append(uniqueId, date.toString());
+    }
+
+    /**
+     * Indexes every event of the Calendar Day, only changed entries are written to the log, with a single flush.
+     */
+    public synchronized void putAll(@NotNull CalendarDay calendarDay) {
+        ensureLoaded();
+        final LocalDate date = calendarDay.getDate();
+        ArrayList<String> changed = null;
+        for(CalendarEvent calendarEvent : calendarDay.copyEvents()) {
+            if(!date.equals(DATES.put(calendarEvent.getUniqueID(), date))) {
+                if(changed == null)
+                    changed = new ArrayList<>();
+                changed.add(calendarEvent.getUniqueID());
+            }
+        }
+        if(changed != null)
+            append(changed, date.toString());
+    }
+
+    public synchronized void remove(@NotNull String uniqueId) {
+        ensureLoaded();
+        if(DATES.remove(uniqueId) != null)
+            append(uniqueId, REMOVED);
+    }
+
+    /**
+     * Only removes the entry if the event is still indexed to the date, used when an event moved to another day.
+     */
+    public synchronized void remove(@NotNull String uniqueId, @NotNull LocalDate date) {
+        ensureLoaded();
+        if(DATES.remove(uniqueId, date))
+            append(uniqueId, REMOVED);
+    }
+
+    /**
+     * Scans the whole index, for rare lookups such as reloading a day which changed on disk.
+     * @return The events indexed to the date
+     */
+    public List<String> getIds(@NotNull LocalDate date) {
+        ensureLoaded();
+        final ArrayList<String> uniqueIds = new ArrayList<>();
+        DATES.forEach((uniqueId, indexed) -> {
+            if(date.equals(indexed))
+                uniqueIds.add(uniqueId);
+        });
+        return uniqueIds;
+    }
+
+    /**
+     * @return Every indexed event
+     */
+    public Set<String> getIds() {
+        ensureLoaded();
+        return new HashSet<>(DATES.keySet());
+    }
+
+    public int size() {
+        ensureLoaded();
+        return DATES.size();
+    }
+
+    @Nullable
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Discards the index and switches it to another file, it is loaded (or rebuilt) again when next used.
+     * @param file The log, or null to keep the index in memory
+     */
+    public synchronized void reset(@Nullable File file) {
+        closeWriter();
+        DATES.clear();
+        logLines = 0;
+        this.file = file;
+        loaded = false;
+    }
+
+    /**
+     * Discards the index and rebuilds it by reading every Calendar Day.
+     */
+    public synchronized void rebuild() {
+        LOGGER.info("Rebuilding Event Index: `{}`", file);
+        DATES.clear();
+        try(Stream<CalendarDay> calendarDays = DAYS.get()) {
+            calendarDays.forEach(calendarDay -> {
+                final LocalDate date = calendarDay.getDate();
+                for(CalendarEvent calendarEvent : calendarDay.copyEvents())
+                    DATES.put(calendarEvent.getUniqueID(), date);
+            });
+        }
+        loaded = true;
+        compact();
+    }
+
+    /**
+     * Rewrites the log with one line per indexed event.
+     */
+    public synchronized void compact() {
+        closeWriter();
+        if(file == null)
+            return;
+
+        final Path path = file.toPath();
+        final Path tempPath = path.resolveSibling(file.getName() + ".tmp");
+        try {
+            try(BufferedWriter tempWriter = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                for(Map.Entry<String, LocalDate> entry : DATES.entrySet()) {
+                    tempWriter.write(entry.getKey() + ' ' + entry.getValue());
+                    tempWriter.newLine();
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logLines = DATES.size();
+            LOGGER.debug("Compacted Event Index to {} entries", logLines);
+        } catch (IOException e) {
+            LOGGER.error("Could not compact Event Index: `{}`", file, e);
+        }
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    private void ensureLoaded() {
+        if(!loaded) {
+            synchronized (this) {
+                if(!loaded)
+                    load();
+            }
+        }
+    }
+
+    private void load() {
+        if(file == null || !file.isFile()) {
+            rebuild();
+            return;
+        }
+
+        try(BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                logLines++;
+                final int split = line.indexOf(' ');
+                if(split <= 0)
+                    continue;
+
+                final String uniqueId = line.substring(0, split);
+                final String value = line.substring(split + 1);
+                if(value.equals(REMOVED)) {
+                    DATES.remove(uniqueId);
+                } else {
+                    try {
+                        DATES.put(uniqueId, LocalDate.parse(value));
+                    } catch (DateTimeParseException e) {
+                        LOGGER.warn("Skipping malformed Event Index line: `{}`", line);
+                    }
+                }
+            }
+            loaded = true;
+            LOGGER.debug("Loaded Event Index with {} entries", DATES.size());
+        } catch (IOException e) {
+            LOGGER.error("Could not read Event Index, rebuilding!", e);
+            rebuild();
+        }
+    }
+
+    private void append(String uniqueId, String value) {
+        append(Collections.singletonList(uniqueId), value);
+    }
+
+    /**
+     * Call while holding the monitor, together with the change to the map.
+     */
+    private void append(List<String> uniqueIds, String value) {
+        if(file == null)
+            return;
+
+        try {
+            if(writer == null) {
+                writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for(String uniqueId : uniqueIds) {
+                writer.write(uniqueId + ' ' + value);
+                writer.newLine();
+                logLines++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            LOGGER.error("Could not write to Event Index: `{}`", file, e);
+            closeWriter();
+        }
+
+        if(logLines > Math.max(MIN_COMPACT_LINES, DATES.size() * 2))
+            compact();
+    }
+
+    private void closeWriter() {
+        if(writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.error("Could not close Event Index writer", e);
+            }
+            writer = null;
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.github.venomousinc.homebrew.calendar.index;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds an index from every Calendar Day without losing the saves and deletes made while it is being built.
+ * <p>
+ * The days are scanned without holding the index's lock, saves and deletes hold day locks the scan takes and would otherwise wait on it.
+ * Changes made during the scan are recorded by {@link #defer(Runnable)} and replayed in order on top of it,
+ * a change the scan already read is applied twice, which is harmless.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+class IndexBuild {
+
+    private final ReentrantReadWriteLock LOCK;
+    /**
+     * Only one thread scans the Calendar Days.
+     */
+    private final ReentrantLock BUILD_LOCK = new ReentrantLock();
+    /**
+     * Changes made during the scan, guards {@link #building} and writes to {@link #built}.
+     */
+    private final ArrayList<Runnable> PENDING = new ArrayList<>();
+
+    private volatile boolean built = false;
+    private boolean building = false;
+
+    /**
+     * @param lock The index's lock, held to apply the scan and the recorded changes
+     */
+    IndexBuild(@NotNull ReentrantReadWriteLock lock) {
+        LOCK = lock;
+    }
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Call before applying a change while {@link #isBuilt()} is false.
+     * @return true if the change was recorded for the build in progress, or no build has started and it can be skipped,
+     * false if the index was built meanwhile and the change has to be applied
+     */
+    boolean defer(@NotNull Runnable change) {
+        synchronized(PENDING) {
+            if(building) {
+                PENDING.add(change);
+                return true;
+            }
+            return !built;
+        }
+    }
+
+    /**
+     * Scans every Calendar Day, unless the index is built, and scans again if it is invalidated during the scan.
+     * @param put Adds an event to the index, called while holding the write lock
+     * @return true if this call built the index
+     */
+    boolean ensureBuilt(@NotNull Consumer<CalendarEvent> put) {
+        if(built)
+            return false;
+
+        BUILD_LOCK.lock();
+        try {
+            if(built)
+                return false;
+            while(!built) {
+                synchronized(PENDING) {
+                    building = true;
+                }
+                final List<CalendarEvent> events;
+                try(Stream<CalendarDay> calendarDays = MSGCalendar.PARTITIONS.streamAllCalendarDays()) {
+                    events = calendarDays.flatMap(calendarDay -> calendarDay.copyEvents().stream()).collect(Collectors.toList());
+                } catch(RuntimeException e) {
+                    synchronized(PENDING) {
+                        building = false;
+                        PENDING.clear();
+                    }
+                    throw e;
+                }
+
+                LOCK.writeLock().lock();
+                try {
+                    synchronized(PENDING) {
+                        if(building) {
+                            events.forEach(put);
+                            PENDING.forEach(Runnable::run);
+                            PENDING.clear();
+                            building = false;
+                            built = true;
+                        }
+                    }
+                } finally {
+                    LOCK.writeLock().unlock();
+                }
+            }
+            return true;
+        } finally {
+            BUILD_LOCK.unlock();
+        }
+    }
+
+    /**
+     * Call while holding the write lock, a build in progress discards its scan and scans again.
+     */
+    void invalidate() {
+        synchronized(PENDING) {
+            built = false;
+            building = false;
+            PENDING.clear();
+        }
+    }
+
+}
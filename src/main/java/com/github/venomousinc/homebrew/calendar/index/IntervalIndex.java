@@ -0,0 +1,435 @@
+package com.github.venomousinc.homebrew.calendar.index;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarOccurrence;
+import com.github.venomousinc.homebrew.calendar.data.Recurrence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * An in-memory interval tree over {@link CalendarEvent#getStart()} and {@link CalendarEvent#getEnd()},
+ * independent of which {@link CalendarDay} an event is saved in.
+ * <p>
+ * The tree is a treap ordered by start, every node also knows the latest end of its subtree,
+ * so overlap queries only visit subtrees which can contain a match: O(log n + k) for k results.
+ * Events without a start (-1) are not indexed.
+ * <p>
+ * A recurring event is one node spanning from its first start to the end of its last occurrence,
+ * its occurrences are only expanded for the nodes a query visits.
+ * <p>
+ * The index is built by reading every Calendar Day on the first query, afterwards it is maintained by
+ * {@link CalendarEvent#save()} and {@link CalendarDay#removeEvent(String)}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class IntervalIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( IntervalIndex.class );
+
+    private final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private final HashMap<String, Node> NODES = new HashMap<>();
+    private final HashMap<String, Node> RECURRING = new HashMap<>();
+
+    private final IndexBuild BUILD = new IndexBuild(LOCK);
+
+    private Node root = null;
+
+    /**
+     * @return Every event whose [start, end] overlaps [from, to], ordered by start
+     */
+    public List<CalendarEvent> getOverlapping(long from, long to) {
+        ensureBuilt();
+        final ArrayList<CalendarEvent> events = new ArrayList<>();
+        LOCK.readLock().lock();
+        try {
+            collectOverlapping(root, from, to, events);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        return events;
+    }
+
+    /**
+     * Expands recurring events, only within the window.
+     * @return Every occurrence whose [start, end] overlaps [from, to], ordered by start
+     */
+    public List<CalendarOccurrence> getOccurrences(long from, long to) {
+        final List<CalendarEvent> events = getOverlapping(from, to);
+        final ArrayList<CalendarOccurrence> occurrences = new ArrayList<>(events.size());
+        for(CalendarEvent calendarEvent : events)
+            occurrences.addAll(calendarEvent.getOccurrences(from, to));
+        occurrences.sort(null);
+        return occurrences;
+    }
+
+    /**
+     * Merges the upcoming plain events with the next occurrences of every recurring event,
+     * each series is only expanded as far as the merge takes occurrences from it.
+     * @return Up to limit occurrences starting at or after from, ordered by start
+     */
+    public List<CalendarOccurrence> getUpcomingOccurrences(long from, int limit) {
+        ensureBuilt();
+        final ArrayList<CalendarEvent> events = new ArrayList<>(Math.min(limit, 64));
+        final ArrayList<CalendarEvent> recurring;
+        LOCK.readLock().lock();
+        try {
+            collectUpcoming(root, from, limit, events, true);
+            recurring = new ArrayList<>(RECURRING.size());
+            RECURRING.values().forEach(node -> recurring.add(node.EVENT));
+        } finally {
+            LOCK.readLock().unlock();
+        }
+
+        events.addAll(recurring);
+        final PriorityQueue<PendingOccurrence> queue = new PriorityQueue<>();
+        for(CalendarEvent calendarEvent : events) {
+            final PendingOccurrence pending = new PendingOccurrence(CalendarOccurrence.iterate(calendarEvent, from), from);
+            if(pending.next != null)
+                queue.add(pending);
+        }
+
+        final ArrayList<CalendarOccurrence> occurrences = new ArrayList<>(Math.min(limit, 64));
+        while(occurrences.size() < limit && !queue.isEmpty()) {
+            final PendingOccurrence pending = queue.poll();
+            occurrences.add(pending.next);
+            if(pending.advance())
+                queue.add(pending);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Recurring events are included by their first start, use {@link #getUpcomingOccurrences(long, int)} to include their repeats.
+     * @return Up to limit events starting at or after from, ordered by start
+     */
+    public List<CalendarEvent> getUpcoming(long from, int limit) {
+        ensureBuilt();
+        final ArrayList<CalendarEvent> events = new ArrayList<>(Math.min(limit, 64));
+        LOCK.readLock().lock();
+        try {
+            collectUpcoming(root, from, limit, events, false);
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        return events;
+    }
+
+    /**
+     * Adds the event, or moves it if its start or end changed. Does nothing until the index is built,
+     * while it is being built the change is applied after the build's scan.
+     */
+    public void put(@NotNull CalendarEvent calendarEvent) {
+        if(!BUILD.isBuilt() && BUILD.defer(() -> putInternal(calendarEvent)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            putInternal(calendarEvent);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    public void putAll(@NotNull CalendarDay calendarDay) {
+        final ArrayList<CalendarEvent> events = calendarDay.copyEvents();
+        if(!BUILD.isBuilt() && BUILD.defer(() -> events.forEach(this::putInternal)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            events.forEach(this::putInternal);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    public void remove(@NotNull String uniqueId) {
+        if(!BUILD.isBuilt() && BUILD.defer(() -> removeInternal(uniqueId)))
+            return;
+
+        LOCK.writeLock().lock();
+        try {
+            removeInternal(uniqueId);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every matching event, without building the index.
+     */
+    public void removeIf(@NotNull Predicate<CalendarEvent> filter) {
+        LOCK.writeLock().lock();
+        try {
+            final ArrayList<String> removed = new ArrayList<>();
+            for(Node node : NODES.values()) {
+                if(filter.test(node.EVENT))
+                    removed.add(node.EVENT.getUniqueID());
+            }
+            removed.forEach(this::removeInternal);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The indexed instance of the event, or null if it is not indexed or the index is not built
+     */
+    @Nullable
+    public CalendarEvent get(@NotNull String uniqueId) {
+        LOCK.readLock().lock();
+        try {
+            final Node node = NODES.get(uniqueId);
+            return node != null ? node.EVENT : null;
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        LOCK.readLock().lock();
+        try {
+            return NODES.size();
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index, it is rebuilt by the next query.
+     */
+    public void invalidate() {
+        LOCK.writeLock().lock();
+        try {
+            BUILD.invalidate();
+            NODES.clear();
+            RECURRING.clear();
+            root = null;
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if(BUILD.ensureBuilt(this::putInternal))
+            LOGGER.debug("Built Interval Index with {} events", size());
+    }
+
+    private void putInternal(CalendarEvent calendarEvent) {
+        removeInternal(calendarEvent.getUniqueID());
+        if(calendarEvent.getStart() == -1)
+            return;
+
+        final long start = Math.min(calendarEvent.getStart(), calendarEvent.getEnd() == -1 ? calendarEvent.getStart() : calendarEvent.getEnd());
+        long end = Math.max(calendarEvent.getStart(), calendarEvent.getEnd());
+        final Recurrence recurrence = calendarEvent.getRecurrence();
+        if(recurrence != null) {
+            final long lastStart = recurrence.getLastStart(calendarEvent.getStart());
+            if(lastStart < calendarEvent.getStart())
+                return;
+            final long duration = end - calendarEvent.getStart();
+            end = lastStart > Long.MAX_VALUE - duration ? Long.MAX_VALUE : lastStart + duration;
+        }
+
+        final Node node = new Node(calendarEvent, start, end, recurrence != null, ThreadLocalRandom.current().nextInt());
+        NODES.put(calendarEvent.getUniqueID(), node);
+        if(node.RECURRING)
+            RECURRING.put(calendarEvent.getUniqueID(), node);
+        root = insert(root, node);
+    }
+
+    private void removeInternal(String uniqueId) {
+        final Node node = NODES.remove(uniqueId);
+        if(node != null) {
+            RECURRING.remove(uniqueId);
+            root = delete(root, node);
+        }
+    }
+
+    private static Node insert(@Nullable Node parent, Node node) {
+        if(parent == null)
+            return node;
+
+        if(node.compareTo(parent) < 0) {
+            parent.left = insert(parent.left, node);
+            if(parent.left.PRIORITY > parent.PRIORITY)
+                parent = rotateRight(parent);
+        } else {
+            parent.right = insert(parent.right, node);
+            if(parent.right.PRIORITY > parent.PRIORITY)
+                parent = rotateLeft(parent);
+        }
+        parent.update();
+        return parent;
+    }
+
+    @Nullable
+    private static Node delete(@Nullable Node parent, Node node) {
+        if(parent == null)
+            return null;
+
+        if(parent == node) {
+            if(parent.left == null)
+                return parent.right;
+            if(parent.right == null)
+                return parent.left;
+
+            if(parent.left.PRIORITY > parent.right.PRIORITY) {
+                parent = rotateRight(parent);
+                parent.right = delete(parent.right, node);
+            } else {
+                parent = rotateLeft(parent);
+                parent.left = delete(parent.left, node);
+            }
+        } else if(node.compareTo(parent) < 0) {
+            parent.left = delete(parent.left, node);
+        } else {
+            parent.right = delete(parent.right, node);
+        }
+        parent.update();
+        return parent;
+    }
+
+    private static Node rotateRight(Node node) {
+        final Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        final Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static void collectOverlapping(@Nullable Node node, long from, long to, List<CalendarEvent> events) {
+        if(node == null || node.maxEnd < from)
+            return;
+
+        collectOverlapping(node.left, from, to, events);
+        if(node.START > to)
+            return;
+        if(node.END >= from && (!node.RECURRING || !node.EVENT.getOccurrences(from, to).isEmpty()))
+            events.add(node.EVENT);
+        collectOverlapping(node.right, from, to, events);
+    }
+
+    /**
+     * @param skipRecurring Leaves recurring events out, for callers which expand them separately
+     */
+    private static void collectUpcoming(@Nullable Node node, long from, int limit, List<CalendarEvent> events, boolean skipRecurring) {
+        if(node == null || events.size() >= limit)
+            return;
+
+        if(node.START >= from) {
+            collectUpcoming(node.left, from, limit, events, skipRecurring);
+            if(events.size() >= limit)
+                return;
+            if(!skipRecurring || !node.RECURRING)
+                events.add(node.EVENT);
+        }
+        collectUpcoming(node.right, from, limit, events, skipRecurring);
+    }
+
+    /**
+     * The next occurrence of one event, ordered for the upcoming merge.
+     */
+    private static class PendingOccurrence implements Comparable<PendingOccurrence> {
+        private final Iterator<CalendarOccurrence> ITERATOR;
+        private final long FROM;
+        private CalendarOccurrence next = null;
+
+        private PendingOccurrence(Iterator<CalendarOccurrence> iterator, long from) {
+            ITERATOR = iterator;
+            FROM = from;
+            advance();
+        }
+
+        /**
+         * @return false once the event has no more occurrences starting at or after from
+         */
+        private boolean advance() {
+            next = null;
+            while(ITERATOR.hasNext()) {
+                final CalendarOccurrence occurrence = ITERATOR.next();
+                if(occurrence.getStart() >= FROM) {
+                    next = occurrence;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int compareTo(@NotNull PendingOccurrence other) {
+            return next.compareTo(other.next);
+        }
+    }
+
+    private static class Node implements Comparable<Node> {
+        private final CalendarEvent EVENT;
+        /**
+         * Copied on insert, the event itself may be changed before it is saved again.
+         */
+        private final long START;
+        private final long END;
+        private final int PRIORITY;
+        private final boolean RECURRING;
+
+        private long maxEnd;
+        private Node left = null;
+        private Node right = null;
+
+        private Node(CalendarEvent event, long start, long end, boolean recurring, int priority) {
+            EVENT = event;
+            START = start;
+            END = end;
+            RECURRING = recurring;
+            PRIORITY = priority;
+            maxEnd = end;
+        }
+
+        private void update() {
+            maxEnd = END;
+            if(left != null && left.maxEnd > maxEnd)
+                maxEnd = left.maxEnd;
+            if(right != null && right.maxEnd > maxEnd)
+                maxEnd = right.maxEnd;
+        }
+
+        /**
+         * Ordered by start, ties broken by UNIQUE_ID so every node has a distinct position.
+         */
+        @Override
+        public int compareTo(@NotNull Node other) {
+            final int compare = Long.compare(START, other.START);
+            if(compare != 0)
+                return compare;
+            final String uniqueId = EVENT.getUniqueID();
+            final String otherUniqueId = other.EVENT.getUniqueID();
+            if(uniqueId == null || otherUniqueId == null)
+                return Integer.compare(System.identityHashCode(this), System.identityHashCode(other));
+            return uniqueId.compareTo(otherUniqueId);
+        }
+    }
+
+}
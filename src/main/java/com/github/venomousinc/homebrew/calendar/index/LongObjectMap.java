@@ -0,0 +1,158 @@
+package com.github.venomousinc.homebrew.calendar.index;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to objects, so snowflake IDs are never boxed.
+ * <p>
+ * Open addressing with linear probing, removals shift the following entries back instead of leaving tombstones.
+ * The key 0 is reserved for empty slots and can not be stored. Not thread safe.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size = 0;
+
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if(key == 0)
+            return null;
+
+        for(int slot = slot(key); ; slot = (slot + 1) & mask) {
+            final long current = keys[slot];
+            if(current == key)
+                return (V) values[slot];
+            if(current == 0)
+                return null;
+        }
+    }
+
+    /**
+     * @return The previous value of the key, or null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if(key == 0)
+            throw new IllegalArgumentException("The key 0 can not be stored");
+
+        int slot = slot(key);
+        for(; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if(keys[slot] == key) {
+                final V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if(++size > keys.length * LOAD_FACTOR)
+            rehash(keys.length << 1);
+        return null;
+    }
+
+    /**
+     * @return The removed value, or null if the key was not stored
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if(key == 0)
+            return null;
+
+        int slot = slot(key);
+        while(keys[slot] != key) {
+            if(keys[slot] == 0)
+                return null;
+            slot = (slot + 1) & mask;
+        }
+
+        final V removed = (V) values[slot];
+        // Shift back every following entry of the cluster which would no longer be reachable from its home slot
+        int gap = slot;
+        for(int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            final int home = slot(keys[next]);
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(long key) {
+        // Snowflakes share their low bits within a millisecond, mix every bit into the slot
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= (hash >>> 32);
+        return (int) hash & mask;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] == 0)
+                continue;
+            int slot = slot(oldKeys[i]);
+            while(keys[slot] != 0)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final int minimum = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(minimum - 1) << 1);
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.venomousinc.homebrew.calendar.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.Recurrence;
+import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link CalendarEvent} field by field, in any order. Missing times default like the setters,
+ * so an event with only an alert starts and ends at it.
+ * <p>
+ * Event Data whose type ID comes first, as it is always written, is read straight from the parser,
+ * any other Event Data and the recurrence are left to Jackson.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarEventDeserializer extends StdDeserializer<CalendarEvent> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final EventDataDeserializer<DiscordEventData> DISCORD_DATA = new EventDataDeserializer<>(DiscordEventData.class);
+    private final EventDataDeserializer<DefaultEventData> DEFAULT_DATA = new EventDataDeserializer<>(DefaultEventData.class);
+
+    public CalendarEventDeserializer() {
+        super(CalendarEvent.class);
+    }
+
+    @Override
+    public CalendarEvent deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.START_OBJECT)
+            token = parser.nextToken();
+        else if(token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT)
+            return (CalendarEvent) context.handleUnexpectedToken(CalendarEvent.class, parser);
+
+        String uniqueId = null;
+        long createdOn = 0;
+        boolean active = true;
+        long alert = -1, start = -1, end = -1;
+        String name = null, description = null;
+        EventData data = null;
+        Recurrence recurrence = null;
+
+        for(; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final String field = parser.getCurrentName();
+            final JsonToken value = parser.nextToken();
+            switch (field) {
+                case "UNIQUE_ID":
+                    uniqueId = EventDataDeserializer.readString(parser, context);
+                    break;
+                case "active":
+                    active = _parseBooleanPrimitive(parser, context);
+                    break;
+                case "CREATED_ON":
+                    createdOn = _parseLongPrimitive(parser, context);
+                    break;
+                case "alert":
+                    alert = _parseLongPrimitive(parser, context);
+                    break;
+                case "start":
+                    start = _parseLongPrimitive(parser, context);
+                    break;
+                case "end":
+                    end = _parseLongPrimitive(parser, context);
+                    break;
+                case "name":
+                    name = EventDataDeserializer.readString(parser, context);
+                    break;
+                case "description":
+                    description = EventDataDeserializer.readString(parser, context);
+                    break;
+                case "data":
+                    data = value == JsonToken.VALUE_NULL ? null : readData(parser, context);
+                    break;
+                case "recurrence":
+                    recurrence = value == JsonToken.VALUE_NULL ? null : context.readValue(parser, Recurrence.class);
+                    break;
+                default:
+                    context.handleUnknownProperty(parser, this, CalendarEvent.class, field);
+            }
+        }
+
+        // End before start before alert, so each only defaults the ones missing from the file
+        return new CalendarEvent(createdOn, uniqueId)
+                .setActive(active)
+                .setEnd(end)
+                .setStart(start)
+                .setAlert(alert)
+                .setName(name)
+                .setDescription(description)
+                .setData(data)
+                .setRecurrence(recurrence);
+    }
+
+    /**
+     * @param parser At the start of the data
+     */
+    private EventData readData(JsonParser parser, DeserializationContext context) throws IOException {
+        if(parser.getCurrentToken() != JsonToken.START_OBJECT)
+            return context.readValue(parser, EventData.class);
+
+        boolean typeRead = false;
+        if(parser.nextToken() == JsonToken.FIELD_NAME && CalendarJsonModule.TYPE_PROPERTY.equals(parser.getCurrentName())) {
+            typeRead = true;
+            if(parser.nextToken() == JsonToken.VALUE_STRING) {
+                final String type = parser.getText();
+                if(CalendarJsonModule.DISCORD_TYPE.equals(type)) {
+                    parser.nextToken();
+                    return DISCORD_DATA.deserialize(parser, context);
+                }
+                if(CalendarJsonModule.DEFAULT_TYPE.equals(type)) {
+                    parser.nextToken();
+                    return DEFAULT_DATA.deserialize(parser, context);
+                }
+            }
+        }
+        return readBuffered(parser, context, typeRead);
+    }
+
+    /**
+     * Replays the part of the data already read, so Jackson can resolve its type.
+     * @param parser At the first field of the data, or at the value of the type ID
+     * @param typeRead true if the type ID was the first field and its value has been reached
+     */
+    private EventData readBuffered(JsonParser parser, DeserializationContext context, boolean typeRead) throws IOException {
+        final TokenBuffer buffer = new TokenBuffer(parser, context);
+        buffer.writeStartObject();
+        if(typeRead) {
+            buffer.writeFieldName(CalendarJsonModule.TYPE_PROPERTY);
+            buffer.copyCurrentStructure(parser);
+            parser.nextToken();
+        }
+        for(JsonToken token = parser.getCurrentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken())
+            buffer.copyCurrentStructure(parser);
+        buffer.writeEndObject();
+
+        final JsonParser bufferParser = buffer.asParser(parser);
+        bufferParser.nextToken();
+        return context.readValue(bufferParser, EventData.class);
+    }
+
+}
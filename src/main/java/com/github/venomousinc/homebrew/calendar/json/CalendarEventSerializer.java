@@ -0,0 +1,52 @@
+package com.github.venomousinc.homebrew.calendar.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link CalendarEvent} field by field, in the order of its {@code @JsonPropertyOrder}.
+ * The recurrence is only written when set and, like unknown Event Data types, is left to Jackson.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarEventSerializer extends StdSerializer<CalendarEvent> {
+
+    private static final long serialVersionUID = 1L;
+
+    public CalendarEventSerializer() {
+        super(CalendarEvent.class);
+    }
+
+    @Override
+    public void serialize(CalendarEvent calendarEvent, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("UNIQUE_ID", calendarEvent.getUniqueID());
+        generator.writeBooleanField("active", calendarEvent.isActive());
+        generator.writeNumberField("CREATED_ON", calendarEvent.CREATED_ON);
+        generator.writeNumberField("alert", calendarEvent.getAlert());
+        generator.writeNumberField("start", calendarEvent.getStart());
+        generator.writeNumberField("end", calendarEvent.getEnd());
+        generator.writeStringField("name", calendarEvent.getName());
+        generator.writeStringField("description", calendarEvent.getDescription());
+
+        final EventData data = calendarEvent.getData();
+        generator.writeFieldName("data");
+        if(data == null)
+            generator.writeNull();
+        else if(EventDataSerializer.isSupported(data))
+            EventDataSerializer.writeTyped(data, generator);
+        else
+            provider.findTypedValueSerializer(data.getClass(), true, null).serialize(data, generator, provider);
+
+        if(calendarEvent.getRecurrence() != null)
+            provider.defaultSerializeField("recurrence", calendarEvent.getRecurrence(), generator);
+        generator.writeEndObject();
+    }
+
+}
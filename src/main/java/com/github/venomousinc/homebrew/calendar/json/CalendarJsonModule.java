@@ -0,0 +1,43 @@
+package com.github.venomousinc.homebrew.calendar.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+
+/**
+ * Streams {@link CalendarEvent}s, {@link DiscordEventData} and {@link DefaultEventData} field by field
+ * instead of binding them through reflection, producing the same JSON as their annotations.
+ * <p>
+ * Registered with {@link MSGCalendar#OBJECT_MAPPER}, register it with any other ObjectMapper that reads or writes day files.
+ * Other {@link com.github.venomousinc.homebrew.calendar.data.extra.EventData} types are still bound by Jackson.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The type IDs Jackson gives the Event Data classes, their simple names
+     */
+    public static final String DISCORD_TYPE = "DiscordEventData";
+    public static final String DEFAULT_TYPE = "DefaultEventData";
+    /**
+     * The property holding the type ID of an Event Data
+     */
+    public static final String TYPE_PROPERTY = "type";
+
+    public CalendarJsonModule() {
+        super("MSGCalendar");
+        addSerializer(CalendarEvent.class, new CalendarEventSerializer());
+        addDeserializer(CalendarEvent.class, new CalendarEventDeserializer());
+        addSerializer(DiscordEventData.class, new EventDataSerializer<>(DiscordEventData.class));
+        addSerializer(DefaultEventData.class, new EventDataSerializer<>(DefaultEventData.class));
+        addDeserializer(DiscordEventData.class, new EventDataDeserializer<>(DiscordEventData.class));
+        addDeserializer(DefaultEventData.class, new EventDataDeserializer<>(DefaultEventData.class));
+    }
+
+}
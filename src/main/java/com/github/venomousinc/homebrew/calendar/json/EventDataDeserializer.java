@@ -0,0 +1,115 @@
+package com.github.venomousinc.homebrew.calendar.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link DiscordEventData} and {@link DefaultEventData}, Jackson has already read the type ID by the time it calls it.
+ * Missing fields keep their defaults, unknown fields are handled as the ObjectMapper is configured to.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class EventDataDeserializer<T extends EventData> extends StdDeserializer<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public EventDataDeserializer(@NotNull Class<T> type) {
+        super(type);
+    }
+
+    /**
+     * @param parser At the start of the object, or at its first field after the type ID
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.START_OBJECT)
+            token = parser.nextToken();
+        else if(token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT)
+            return (T) context.handleUnexpectedToken(handledType(), parser);
+
+        if(handledType() == DiscordEventData.class)
+            return (T) readDiscordData(parser, context, token);
+        return (T) readDefaultData(parser, context, token);
+    }
+
+    private DiscordEventData readDiscordData(JsonParser parser, DeserializationContext context, JsonToken token) throws IOException {
+        final DiscordEventData data = new DiscordEventData();
+        for(; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "guildId":
+                    data.setGuildId(_parseLongPrimitive(parser, context));
+                    break;
+                case "channelId":
+                    data.setChannelId(_parseLongPrimitive(parser, context));
+                    break;
+                case "originMessageId":
+                    data.setOriginMessageId(_parseLongPrimitive(parser, context));
+                    break;
+                case "authorId":
+                    data.setAuthorId(_parseLongPrimitive(parser, context));
+                    break;
+                case "providedLink":
+                    data.setProvidedLink(readString(parser, context));
+                    break;
+                case "mentionEveryone":
+                    data.setMentionEveryone(_parseBooleanPrimitive(parser, context));
+                    break;
+                default:
+                    handleField(parser, context, data, field);
+            }
+        }
+        return data;
+    }
+
+    private DefaultEventData readDefaultData(JsonParser parser, DeserializationContext context, JsonToken token) throws IOException {
+        final DefaultEventData data = new DefaultEventData();
+        for(; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            final String field = parser.getCurrentName();
+            parser.nextToken();
+            if(field.equals("providedLink"))
+                data.setProvidedLink(readString(parser, context));
+            else
+                handleField(parser, context, data, field);
+        }
+        return data;
+    }
+
+    /**
+     * Skips a type ID which was not the first field, Jackson has already used it to pick this deserializer.
+     */
+    private void handleField(JsonParser parser, DeserializationContext context, Object data, String field) throws IOException {
+        if(field.equals(CalendarJsonModule.TYPE_PROPERTY))
+            parser.skipChildren();
+        else
+            context.handleUnknownProperty(parser, this, data, field);
+    }
+
+    /**
+     * Unlike {@link #_parseString(JsonParser, DeserializationContext)}, null stays null.
+     */
+    @Nullable
+    static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if(token == JsonToken.VALUE_STRING)
+            return parser.getText();
+        if(token == JsonToken.VALUE_NULL)
+            return null;
+        final String value = parser.getValueAsString();
+        return value != null ? value : (String) context.handleUnexpectedToken(String.class, parser);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.venomousinc.homebrew.calendar.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.venomousinc.homebrew.calendar.data.extra.DefaultEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link DiscordEventData} and {@link DefaultEventData} in the order of their {@code @JsonPropertyOrder}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class EventDataSerializer<T extends EventData> extends StdSerializer<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public EventDataSerializer(@NotNull Class<T> type) {
+        super(type);
+    }
+
+    @Override
+    public void serialize(T value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        writeFields(value, generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Called whenever the data is written as an {@link EventData}, as it carries its type.
+     */
+    @Override
+    public void serializeWithType(T value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        typeSerializer.writeTypePrefixForObject(value, generator);
+        writeFields(value, generator);
+        typeSerializer.writeTypeSuffixForObject(value, generator);
+    }
+
+    /**
+     * @return true if the data is of exactly one of the supported classes, subclasses may add fields
+     */
+    static boolean isSupported(@NotNull EventData data) {
+        return data.getClass() == DiscordEventData.class || data.getClass() == DefaultEventData.class;
+    }
+
+    /**
+     * Writes the whole object, type first, for data that {@link #isSupported(EventData)}.
+     */
+    static void writeTyped(@NotNull EventData data, @NotNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(CalendarJsonModule.TYPE_PROPERTY,
+                data instanceof DiscordEventData ? CalendarJsonModule.DISCORD_TYPE : CalendarJsonModule.DEFAULT_TYPE);
+        writeFields(data, generator);
+        generator.writeEndObject();
+    }
+
+    private static void writeFields(@NotNull EventData data, @NotNull JsonGenerator generator) throws IOException {
+        if(data instanceof DiscordEventData) {
+            final DiscordEventData discordData = (DiscordEventData) data;
+            generator.writeNumberField("guildId", discordData.getGuildId());
+            generator.writeNumberField("channelId", discordData.getChannelId());
+            generator.writeNumberField("originMessageId", discordData.getOriginMessageId());
+            generator.writeNumberField("authorId", discordData.getAuthorId());
+            generator.writeStringField("providedLink", discordData.getProvidedLink());
+            generator.writeBooleanField("mentionEveryone", discordData.isMentionEveryone());
+        } else if(data instanceof DefaultEventData) {
+            generator.writeStringField("providedLink", ((DefaultEventData) data).getProvidedLink());
+        }
+    }
+
+}
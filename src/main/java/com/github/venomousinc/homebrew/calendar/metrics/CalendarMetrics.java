@@ -0,0 +1,254 @@
+package com.github.venomousinc.homebrew.calendar.metrics;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.store.CalendarStore;
+import com.github.venomousinc.homebrew.calendar.store.FileCalendarStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Counts and times every Calendar Day load and save, and every event lookup, without any metrics library.
+ * <p>
+ * The counters can be read directly, or a {@link Listener} can forward every measurement to a metrics registry.
+ * Loads and saves are also recorded as the Flight Recorder events <b>com.github.venomousinc.calendar.DayLoad</b>
+ * and <b>com.github.venomousinc.calendar.DaySave</b>, so slow disks and large days show up in JFR recordings.
+ * <p>
+ * Cache hits and misses are counted by {@link MSGCalendar#DAY_CACHE} itself.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarMetrics.class );
+
+    /**
+     * Receives every measurement, register it with {@link #addListener(Listener)}.
+     * Called on the thread that did the work, so it should be quick and must not block.
+     */
+    public interface Listener {
+        /**
+         * @param events The amount of events in the day, or -1 if the day is not stored
+         */
+        default void onDayLoad(@NotNull LocalDate date, long nanos, int events) {}
+
+        default void onDaySave(@NotNull LocalDate date, long nanos, int events, boolean saved) {}
+
+        default void onBytesWritten(long bytes) {}
+
+        /**
+         * @param hit true if the event was found
+         */
+        default void onLookup(boolean hit) {}
+    }
+
+    private final LongAdder DAY_LOADS = new LongAdder();
+    private final LongAdder DAY_SAVES = new LongAdder();
+    private final LongAdder FAILED_SAVES = new LongAdder();
+    private final LongAdder BYTES_WRITTEN = new LongAdder();
+    private final LongAdder LOOKUP_HITS = new LongAdder();
+    private final LongAdder LOOKUP_MISSES = new LongAdder();
+    /**
+     * Nanoseconds
+     */
+    private final Histogram LOAD_LATENCY = new Histogram();
+    /**
+     * Nanoseconds
+     */
+    private final Histogram SAVE_LATENCY = new Histogram();
+    /**
+     * The amount of events of every saved day
+     */
+    private final Histogram EVENTS_PER_DAY = new Histogram();
+    private final CopyOnWriteArrayList<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    public CalendarMetrics addListener(@NotNull Listener listener) {
+        LISTENERS.add(listener);
+        return this;
+    }
+
+    public CalendarMetrics removeListener(@NotNull Listener listener) {
+        LISTENERS.remove(listener);
+        return this;
+    }
+
+    /**
+     * Loads the day with the loader and records how long it took.
+     * @return The loaded day, or null if the loader returned null
+     */
+    @Nullable
+    public CalendarDay recordLoad(@NotNull LocalDate date, @NotNull Function<LocalDate, CalendarDay> loader) {
+        final DayLoadEvent event = new DayLoadEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final CalendarDay calendarDay = loader.apply(date);
+        final long nanos = System.nanoTime() - start;
+        event.end();
+
+        final int events = calendarDay != null ? calendarDay.getEventCount() : -1;
+        if(event.shouldCommit()) {
+            event.date = date.toString();
+            event.events = events;
+            event.commit();
+        }
+
+        DAY_LOADS.increment();
+        LOAD_LATENCY.record(nanos);
+        for(Listener listener : LISTENERS) {
+            try {
+                listener.onDayLoad(date, nanos, events);
+            } catch (RuntimeException e) {
+                LOGGER.error("Metrics Listener failed", e);
+            }
+        }
+        return calendarDay;
+    }
+
+    /**
+     * Saves the day with the writer and records how long it took.
+     * @return The result of the writer
+     */
+    public boolean recordSave(@NotNull CalendarDay calendarDay, @NotNull Predicate<CalendarDay> writer) {
+        final DaySaveEvent event = new DaySaveEvent();
+        event.begin();
+        final long start = System.nanoTime();
+        final boolean saved = writer.test(calendarDay);
+        final long nanos = System.nanoTime() - start;
+        event.end();
+
+        final int events = calendarDay.getEventCount();
+        if(event.shouldCommit()) {
+            event.date = calendarDay.getDate().toString();
+            event.events = events;
+            event.saved = saved;
+            event.commit();
+        }
+
+        DAY_SAVES.increment();
+        if(!saved)
+            FAILED_SAVES.increment();
+        SAVE_LATENCY.record(nanos);
+        EVENTS_PER_DAY.record(events);
+        for(Listener listener : LISTENERS) {
+            try {
+                listener.onDaySave(calendarDay.getDate(), nanos, events, saved);
+            } catch (RuntimeException e) {
+                LOGGER.error("Metrics Listener failed", e);
+            }
+        }
+        return saved;
+    }
+
+    public void recordBytesWritten(long bytes) {
+        BYTES_WRITTEN.add(bytes);
+        for(Listener listener : LISTENERS) {
+            try {
+                listener.onBytesWritten(bytes);
+            } catch (RuntimeException e) {
+                LOGGER.error("Metrics Listener failed", e);
+            }
+        }
+    }
+
+    public void recordLookup(boolean hit) {
+        (hit ? LOOKUP_HITS : LOOKUP_MISSES).increment();
+        for(Listener listener : LISTENERS) {
+            try {
+                listener.onLookup(hit);
+            } catch (RuntimeException e) {
+                LOGGER.error("Metrics Listener failed", e);
+            }
+        }
+    }
+
+    public long getDayLoadCount() {
+        return DAY_LOADS.sum();
+    }
+
+    public long getDaySaveCount() {
+        return DAY_SAVES.sum();
+    }
+
+    public long getFailedSaveCount() {
+        return FAILED_SAVES.sum();
+    }
+
+    public long getBytesWritten() {
+        return BYTES_WRITTEN.sum();
+    }
+
+    public long getLookupHitCount() {
+        return LOOKUP_HITS.sum();
+    }
+
+    public long getLookupMissCount() {
+        return LOOKUP_MISSES.sum();
+    }
+
+    /**
+     * @return Load latency in nanoseconds
+     */
+    public Histogram getLoadLatency() {
+        return LOAD_LATENCY;
+    }
+
+    /**
+     * @return Save latency in nanoseconds
+     */
+    public Histogram getSaveLatency() {
+        return SAVE_LATENCY;
+    }
+
+    public Histogram getEventsPerDay() {
+        return EVENTS_PER_DAY;
+    }
+
+    /**
+     * Walks the whole folder, so it should be polled rather than called per operation.
+     * @return The size in bytes of the {@link MSGCalendar#getStore()} folder, including the partitions inside it, or -1 if it does not store files
+     */
+    public long getFolderSize() {
+        final CalendarStore store = MSGCalendar.getStore();
+        return store instanceof FileCalendarStore ? ((FileCalendarStore) store).getSize() : -1;
+    }
+
+    /**
+     * Not atomic, measurements recorded while resetting may be lost.
+     */
+    public void reset() {
+        DAY_LOADS.reset();
+        DAY_SAVES.reset();
+        FAILED_SAVES.reset();
+        BYTES_WRITTEN.reset();
+        LOOKUP_HITS.reset();
+        LOOKUP_MISSES.reset();
+        LOAD_LATENCY.reset();
+        SAVE_LATENCY.reset();
+        EVENTS_PER_DAY.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarMetrics{" +
+                "dayLoads=" + getDayLoadCount() +
+                ", daySaves=" + getDaySaveCount() +
+                ", failedSaves=" + getFailedSaveCount() +
+                ", bytesWritten=" + getBytesWritten() +
+                ", lookupHits=" + getLookupHitCount() +
+                ", lookupMisses=" + getLookupMissCount() +
+                ", loadLatency=" + LOAD_LATENCY +
+                ", saveLatency=" + SAVE_LATENCY +
+                ", eventsPerDay=" + EVENTS_PER_DAY +
+                '}';
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.venomousinc.homebrew.calendar.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a Calendar Day read from the Calendar Store, days served from the cache are not recorded.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@Name("com.github.venomousinc.calendar.DayLoad")
+@Label("Calendar Day Load")
+@Category("MSGCalendar")
+@Description("A Calendar Day read from the Calendar Store")
+@StackTrace(false)
+class DayLoadEvent extends jdk.jfr.Event {
+
+    @Label("Date")
+    String date;
+
+    @Label("Events")
+    @Description("The amount of events in the day, -1 if the day is not stored")
+    int events;
+
+}
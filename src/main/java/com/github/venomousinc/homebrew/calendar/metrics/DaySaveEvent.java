@@ -0,0 +1,31 @@
+package com.github.venomousinc.homebrew.calendar.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a Calendar Day written to the Calendar Store.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@Name("com.github.venomousinc.calendar.DaySave")
+@Label("Calendar Day Save")
+@Category("MSGCalendar")
+@Description("A Calendar Day written to the Calendar Store")
+@StackTrace(false)
+class DaySaveEvent extends jdk.jfr.Event {
+
+    @Label("Date")
+    String date;
+
+    @Label("Events")
+    int events;
+
+    @Label("Saved")
+    boolean saved;
+
+}
@@ -0,0 +1,120 @@
+package com.github.venomousinc.homebrew.calendar.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, bucketed by powers of two.
+ * Recording never allocates, percentiles are the upper bound of their bucket so they are at most twice the real value.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class Histogram {
+
+    /**
+     * Bucket 0 holds 0, bucket n holds [2^(n-1), 2^n - 1].
+     */
+    private static final int BUCKETS = 65;
+
+    private final AtomicLongArray COUNTS = new AtomicLongArray(BUCKETS);
+    private final LongAdder COUNT = new LongAdder();
+    private final LongAdder SUM = new LongAdder();
+    private final LongAccumulator MAX = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value Negative values are recorded as 0
+     */
+    public void record(long value) {
+        if(value < 0)
+            value = 0;
+        COUNTS.incrementAndGet(bucket(value));
+        COUNT.increment();
+        SUM.add(value);
+        MAX.accumulate(value);
+    }
+
+    public long getCount() {
+        return COUNT.sum();
+    }
+
+    public long getSum() {
+        return SUM.sum();
+    }
+
+    public long getMax() {
+        return MAX.get();
+    }
+
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100, such as 99.9
+     * @return The upper bound of the bucket holding the percentile, capped at {@link #getMax()}, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if(percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+
+        long total = 0;
+        final long[] counts = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++)
+            total += counts[i] = COUNTS.get(i);
+        if(total == 0)
+            return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= rank)
+                return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * @return The count of every bucket, index n holds values up to 2^n - 1
+     */
+    public long[] getBuckets() {
+        final long[] counts = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++)
+            counts[i] = COUNTS.get(i);
+        return counts;
+    }
+
+    /**
+     * Not atomic, values recorded while resetting may be lost.
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++)
+            COUNTS.set(i, 0);
+        COUNT.reset();
+        SUM.reset();
+        MAX.reset();
+    }
+
+    private static int bucket(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 64 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{" +
+                "count=" + getCount() +
+                ", mean=" + getMean() +
+                ", p50=" + getPercentile(50) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.github.venomousinc.homebrew.calendar.schedule;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarOccurrence;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPair;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Fires a {@link AlertListener} when an active {@link CalendarEvent} reaches its {@link CalendarEvent#getAnnouncementTime()},
+ * then flips the saved event inactive, unless it was deleted or its announcement time changed meanwhile.
+ * A recurring event stays active, only its next occurrence is queued and the one after it is queued once it fires.
+ * Occurrences of a recurring event which were due while the scheduler was stopped are skipped.
+ * <p>
+ * Only active, pending events are kept, in a priority queue ordered by announcement time.
+ * The dispatcher thread sleeps until the earliest alert is due, so there is no polling and no per-tick cost;
+ * scheduling is O(log n) and rescheduling or cancelling an event is O(1) (stale queue entries are skipped lazily).
+ * <p>
+ * While started, {@link CalendarEvent#save()} and {@link CalendarDay#removeEvent(String)} keep the schedule up to date.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class AlertScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( AlertScheduler.class );
+
+    @FunctionalInterface
+    public interface AlertListener {
+        /**
+         * Called once the event's announcement time is reached. The event is flipped inactive afterwards, unless it recurs.
+         */
+        void onAlert(@NotNull CalendarEvent calendarEvent);
+
+        /**
+         * Called once an occurrence's announcement time is reached, override it to know which occurrence fired.
+         */
+        default void onAlert(@NotNull CalendarOccurrence occurrence) {
+            onAlert(occurrence.getEvent());
+        }
+    }
+
+    private final ReentrantLock LOCK = new ReentrantLock();
+    private final Condition CHANGED = LOCK.newCondition();
+    private final PriorityQueue<Alert> QUEUE = new PriorityQueue<>();
+    /**
+     * The current alert of every scheduled event, queue entries which are not in here are stale.
+     */
+    private final HashMap<String, Alert> ALERTS = new HashMap<>();
+
+    private volatile boolean running = false;
+    private AlertListener listener = null;
+    private Executor executor = null;
+    private Thread dispatcher = null;
+    private long sequence = 0;
+
+    /**
+     * Dispatches on the scheduler thread.
+     * @see #start(AlertListener, Executor)
+     */
+    public void start(@NotNull AlertListener listener) {
+        start(listener, Runnable::run);
+    }
+
+    /**
+     * Loads every active event of every Calendar Day and starts dispatching.
+     * Alerts which are already due fire straight away.
+     *
+     * @param listener Called for every alert
+     * @param executor Runs the listener, so slow listeners do not delay other alerts
+     */
+    public void start(@NotNull AlertListener listener, @NotNull Executor executor) {
+        LOCK.lock();
+        try {
+            if(running)
+                throw new IllegalStateException("Alert Scheduler is already running");
+            this.listener = listener;
+            this.executor = executor;
+            running = true;
+        } finally {
+            LOCK.unlock();
+        }
+
+        try(Stream<CalendarDay> calendarDays = MSGCalendar.PARTITIONS.streamAllCalendarDays()) {
+            calendarDays.forEach(calendarDay -> calendarDay.copyEvents().forEach(this::schedule));
+        }
+
+        dispatcher = new Thread(this::dispatchLoop, "MSGCalendar-AlertScheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        LOGGER.info("Alert Scheduler started with {} pending alerts", getPendingCount());
+    }
+
+    public void stop() {
+        final Thread thread;
+        LOCK.lock();
+        try {
+            running = false;
+            QUEUE.clear();
+            ALERTS.clear();
+            thread = dispatcher;
+            dispatcher = null;
+            CHANGED.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+
+        if(thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        LOGGER.info("Alert Scheduler stopped");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Adds or reschedules the event. Inactive events, or events without an announcement time, are cancelled instead.
+     * Does nothing while the scheduler is stopped.
+     */
+    public void schedule(@NotNull CalendarEvent calendarEvent) {
+        if(!running)
+            return;
+
+        final CalendarOccurrence occurrence;
+        if(calendarEvent.isInactive() || calendarEvent.getAnnouncementTime() == -1)
+            occurrence = null;
+        else if(calendarEvent.isRecurring())
+            occurrence = calendarEvent.getNextOccurrence(System.currentTimeMillis());
+        else
+            occurrence = CalendarOccurrence.first(calendarEvent);
+
+        if(occurrence == null) {
+            cancel(calendarEvent.getUniqueID());
+            return;
+        }
+        schedule(occurrence, true);
+    }
+
+    public void cancel(@NotNull String uniqueId) {
+        if(!running)
+            return;
+
+        LOCK.lock();
+        try {
+            ALERTS.remove(uniqueId);
+            compactIfStale();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * Cancels the alerts of every matching event.
+     */
+    public void cancelIf(@NotNull Predicate<CalendarEvent> filter) {
+        if(!running)
+            return;
+
+        LOCK.lock();
+        try {
+            ALERTS.values().removeIf(alert -> filter.test(alert.OCCURRENCE.getEvent()));
+            compactIfStale();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * @param replace false to keep an alert scheduled for the event in the meantime
+     */
+    private void schedule(CalendarOccurrence occurrence, boolean replace) {
+        final String uniqueId = occurrence.getEvent().getUniqueID();
+        LOCK.lock();
+        try {
+            if(!running || (!replace && ALERTS.containsKey(uniqueId)))
+                return;
+
+            final Alert alert = new Alert(occurrence, occurrence.getAnnouncementTime(), sequence++);
+            ALERTS.put(uniqueId, alert);
+            QUEUE.add(alert);
+            compactIfStale();
+            if(QUEUE.peek() == alert)
+                CHANGED.signal();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        LOCK.lock();
+        try {
+            return ALERTS.size();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        LOCK.lock();
+        try {
+            while(running) {
+                final Alert alert = QUEUE.peek();
+                if(alert == null) {
+                    CHANGED.await();
+                    continue;
+                }
+                if(ALERTS.get(alert.OCCURRENCE.getEvent().getUniqueID()) != alert) {
+                    QUEUE.poll();
+                    continue;
+                }
+
+                final long delay = alert.TIME - System.currentTimeMillis();
+                if(delay > 0) {
+                    CHANGED.await(delay, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+
+                QUEUE.poll();
+                ALERTS.remove(alert.OCCURRENCE.getEvent().getUniqueID());
+                LOCK.unlock();
+                try {
+                    dispatch(alert.OCCURRENCE);
+                } finally {
+                    LOCK.lock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private void dispatch(CalendarOccurrence occurrence) {
+        final CalendarEvent calendarEvent = occurrence.getEvent();
+        if(calendarEvent.isRecurring()) {
+            final CalendarOccurrence next = calendarEvent.getNextOccurrence(occurrence.getAnnouncementTime() + 1);
+            if(next != null)
+                schedule(next, false);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    listener.onAlert(occurrence);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Alert Listener failed for Calendar Event: {}", calendarEvent.getUniqueID(), e);
+                }
+                if(!calendarEvent.isRecurring())
+                    deactivate(occurrence);
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not dispatch alert for Calendar Event: {}", calendarEvent.getUniqueID(), e);
+        }
+    }
+
+    /**
+     * Flips the saved event inactive, not the instance which was scheduled: it may have been edited or deleted since.
+     * Under its day lock the saved event is only saved if it still exists, is active and is still announced when the alert fired,
+     * the update is published once the lock is released.
+     */
+    private void deactivate(CalendarOccurrence occurrence) {
+        final String uniqueId = occurrence.getEvent().getUniqueID();
+        final CalendarPartition partition = MSGCalendar.PARTITIONS.findPartition(uniqueId);
+        final LocalDate date = partition != null ? partition.getEventIndex().get(uniqueId) : null;
+        if(date == null) {
+            LOGGER.debug("Not deactivating deleted Calendar Event: {}", uniqueId);
+            return;
+        }
+
+        final CalendarPair deactivated = partition.updateEvent(date, uniqueId,
+                calendarEvent -> calendarEvent.isActive() && calendarEvent.getAnnouncementTime() == occurrence.getAnnouncementTime(),
+                calendarEvent -> calendarEvent.setActive(false));
+        if(deactivated == null)
+            LOGGER.debug("Not deactivating changed Calendar Event: {}", uniqueId);
+    }
+
+    /**
+     * Cancelled alerts stay queued until they reach the head, rebuild the queue once they are the majority.
+     */
+    private void compactIfStale() {
+        if(QUEUE.size() > 1024 && QUEUE.size() > ALERTS.size() * 2) {
+            QUEUE.clear();
+            QUEUE.addAll(ALERTS.values());
+        }
+    }
+
+    private static class Alert implements Comparable<Alert> {
+        private final CalendarOccurrence OCCURRENCE;
+        private final long TIME;
+        /**
+         * Keeps alerts due at the same millisecond in scheduling order.
+         */
+        private final long SEQUENCE;
+
+        private Alert(CalendarOccurrence occurrence, long time, long sequence) {
+            OCCURRENCE = occurrence;
+            TIME = time;
+            SEQUENCE = sequence;
+        }
+
+        @Override
+        public int compareTo(@NotNull Alert other) {
+            final int compare = Long.compare(TIME, other.TIME);
+            return compare != 0 ? compare : Long.compare(SEQUENCE, other.SEQUENCE);
+        }
+    }
+
+}
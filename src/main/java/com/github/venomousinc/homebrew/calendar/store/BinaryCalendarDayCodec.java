@@ -0,0 +1,276 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.Recurrence;
+import com.github.venomousinc.homebrew.calendar.data.extra.DiscordEventData;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * A compact binary day file. The fixed long fields of {@link CalendarEvent} and the snowflakes of
+ * {@link DiscordEventData} are written as raw 8 byte longs instead of JSON text.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * "MSGB" version:byte DAY_OF_YEAR:int YEAR:int eventCount:int
+ * per event: UNIQUE_ID:string active:boolean CREATED_ON:long alert:long start:long end:long name:string description:string data recurrence
+ * data: type:byte, then nothing ({@link #DATA_NONE}), the Discord fields ({@link #DATA_DISCORD}) or JSON bytes ({@link #DATA_JSON})
+ * recurrence: present:boolean, then frequency:byte interval:int count:int until:long exceptionCount:int exceptions:long...
+ * string: length:int (-1 for null) followed by UTF-8 bytes
+ * </pre>
+ * {@link EventData} types without a binary layout are embedded as their polymorphic JSON, so registered subtypes keep working.
+ * The JSON is written with {@link MSGCalendar#OBJECT_MAPPER}, or the ObjectMapper the codec was created with.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class BinaryCalendarDayCodec implements CalendarDayCodec {
+
+    private static final byte[] MAGIC = { 'M', 'S', 'G', 'B' };
+    private static final byte VERSION = 2;
+    /**
+     * Version 1 files have no recurrence, they are still read.
+     */
+    private static final byte VERSION_WITHOUT_RECURRENCE = 1;
+
+    private static final byte DATA_NONE = 0;
+    private static final byte DATA_DISCORD = 1;
+    private static final byte DATA_JSON = 2;
+
+    /**
+     * Null until set, so the codec can be created while {@link MSGCalendar} is still initializing.
+     */
+    @Nullable
+    private final ObjectMapper OBJECT_MAPPER;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER}
+     */
+    public BinaryCalendarDayCodec() {
+        this(null);
+    }
+
+    public BinaryCalendarDayCodec(@Nullable ObjectMapper objectMapper) {
+        OBJECT_MAPPER = objectMapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER != null ? OBJECT_MAPPER : MSGCalendar.OBJECT_MAPPER;
+    }
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public boolean isFormatOf(@NotNull byte[] bytes) {
+        if(bytes.length < MAGIC.length)
+            return false;
+        for(int i = 0; i < MAGIC.length; i++) {
+            if(bytes[i] != MAGIC[i])
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(@NotNull CalendarDay calendarDay) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + calendarDay.getEventCount() * 128);
+        try(DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(calendarDay.DAY_OF_YEAR);
+            out.writeInt(calendarDay.YEAR);
+
+            synchronized (calendarDay) {
+                out.writeInt(calendarDay.getEventCount());
+                for(CalendarEvent calendarEvent : calendarDay.getEvents())
+                    writeEvent(out, calendarEvent);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public CalendarDay decode(@NotNull byte[] bytes) throws IOException {
+        if(!isFormatOf(bytes))
+            throw new IOException("Not a binary Calendar Day");
+
+        try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, MAGIC.length, bytes.length - MAGIC.length))) {
+            return readDay(in);
+        }
+    }
+
+    @Override
+    public CalendarDay decode(@NotNull ByteBuffer buffer) throws IOException {
+        final ByteBuffer view = buffer.duplicate();
+        if(view.remaining() < MAGIC.length)
+            throw new IOException("Not a binary Calendar Day");
+        for(byte magic : MAGIC) {
+            if(view.get() != magic)
+                throw new IOException("Not a binary Calendar Day");
+        }
+
+        try(DataInputStream in = new DataInputStream(new ByteBufferBackedInputStream(view))) {
+            return readDay(in);
+        }
+    }
+
+    /**
+     * @param in Positioned after the magic
+     */
+    private CalendarDay readDay(DataInputStream in) throws IOException {
+        final byte version = in.readByte();
+        if(version != VERSION && version != VERSION_WITHOUT_RECURRENCE)
+            throw new IOException("Unsupported binary Calendar Day version: " + version);
+
+        final int dayOfYear = in.readInt();
+        final int year = in.readInt();
+        final int eventCount = in.readInt();
+        final ArrayList<CalendarEvent> events = new ArrayList<>(eventCount);
+        for(int i = 0; i < eventCount; i++)
+            events.add(readEvent(in, version));
+
+        return new CalendarDay(dayOfYear, year, events);
+    }
+
+    private void writeEvent(DataOutputStream out, CalendarEvent calendarEvent) throws IOException {
+        writeString(out, calendarEvent.getUniqueID());
+        out.writeBoolean(calendarEvent.isActive());
+        out.writeLong(calendarEvent.CREATED_ON);
+        out.writeLong(calendarEvent.getAlert());
+        out.writeLong(calendarEvent.getStart());
+        out.writeLong(calendarEvent.getEnd());
+        writeString(out, calendarEvent.getName());
+        writeString(out, calendarEvent.getDescription());
+
+        final EventData data = calendarEvent.getData();
+        if(data == null) {
+            out.writeByte(DATA_NONE);
+        } else if(data.getClass() == DiscordEventData.class) {
+            final DiscordEventData discordEventData = (DiscordEventData) data;
+            out.writeByte(DATA_DISCORD);
+            out.writeLong(discordEventData.getGuildId());
+            out.writeLong(discordEventData.getChannelId());
+            out.writeLong(discordEventData.getOriginMessageId());
+            out.writeLong(discordEventData.getAuthorId());
+            writeString(out, discordEventData.getProvidedLink());
+            out.writeBoolean(discordEventData.isMentionEveryone());
+        } else {
+            final byte[] json = getObjectMapper().writerFor(EventData.class).writeValueAsBytes(data);
+            out.writeByte(DATA_JSON);
+            out.writeInt(json.length);
+            out.write(json);
+        }
+
+        final Recurrence recurrence = calendarEvent.getRecurrence();
+        out.writeBoolean(recurrence != null);
+        if(recurrence != null)
+            writeRecurrence(out, recurrence);
+    }
+
+    private static void writeRecurrence(DataOutputStream out, Recurrence recurrence) throws IOException {
+        out.writeByte(recurrence.getFrequency().ordinal());
+        out.writeInt(recurrence.getInterval());
+        out.writeInt(recurrence.getCount());
+        out.writeLong(recurrence.getUntil());
+        out.writeInt(recurrence.getExceptions().size());
+        for(long exception : recurrence.getExceptions())
+            out.writeLong(exception);
+    }
+
+    private static Recurrence readRecurrence(DataInputStream in) throws IOException {
+        final int frequency = in.readByte();
+        if(frequency < 0 || frequency >= Recurrence.Frequency.values().length)
+            throw new IOException("Unknown binary Recurrence frequency: " + frequency);
+
+        final Recurrence recurrence = new Recurrence(Recurrence.Frequency.values()[frequency])
+                .setInterval(in.readInt())
+                .setCount(in.readInt())
+                .setUntil(in.readLong());
+        final int exceptions = in.readInt();
+        for(int i = 0; i < exceptions; i++)
+            recurrence.addException(in.readLong());
+        return recurrence;
+    }
+
+    private CalendarEvent readEvent(DataInputStream in, byte version) throws IOException {
+        final String uniqueId = readString(in);
+        final boolean active = in.readBoolean();
+        final long createdOn = in.readLong();
+        final long alert = in.readLong();
+        final long start = in.readLong();
+        final long end = in.readLong();
+
+        // Same order as the JSON properties, so the setter side effects end up with the stored values
+        final CalendarEvent calendarEvent = new CalendarEvent(createdOn, uniqueId)
+                .setActive(active)
+                .setAlert(alert)
+                .setStart(start)
+                .setEnd(end)
+                .setName(readString(in))
+                .setDescription(readString(in));
+
+        final byte dataType = in.readByte();
+        switch(dataType) {
+            case DATA_NONE:
+                break;
+            case DATA_DISCORD:
+                calendarEvent.setData(new DiscordEventData()
+                        .setGuildId(in.readLong())
+                        .setChannelId(in.readLong())
+                        .setOriginMessageId(in.readLong())
+                        .setAuthorId(in.readLong())
+                        .setProvidedLink(readString(in))
+                        .setMentionEveryone(in.readBoolean()));
+                break;
+            case DATA_JSON:
+                final byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+                calendarEvent.setData(getObjectMapper().readerFor(EventData.class).readValue(json));
+                break;
+            default:
+                throw new IOException("Unknown binary EventData type: " + dataType);
+        }
+
+        if(version != VERSION_WITHOUT_RECURRENCE && in.readBoolean())
+            calendarEvent.setRecurrence(readRecurrence(in));
+        return calendarEvent;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String string) throws IOException {
+        if(string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if(length < 0)
+            return null;
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
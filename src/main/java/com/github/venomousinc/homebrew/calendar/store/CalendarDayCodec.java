@@ -0,0 +1,78 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes a {@link CalendarDay} to and from the bytes of its day file.
+ * <p>
+ * The format is detected per file with {@link #detect(byte[])}, so day files written by different codecs can be mixed in one folder.
+ *
+ * @see JsonCalendarDayCodec
+ * @see BinaryCalendarDayCodec
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public interface CalendarDayCodec {
+
+    CalendarDayCodec JSON = new JsonCalendarDayCodec();
+    CalendarDayCodec COMPACT_JSON = new JsonCalendarDayCodec(null, false);
+    CalendarDayCodec BINARY = new BinaryCalendarDayCodec();
+
+    /**
+     * @return The name used to select this codec, such as <b>json</b>
+     */
+    String getName();
+
+    /**
+     * @param bytes The start of a day file
+     * @return true if the bytes were written by this codec
+     */
+    boolean isFormatOf(@NotNull byte[] bytes);
+
+    /**
+     * Unlike {@link #isFormatOf(byte[])}, tells apart the variants of a format which decode alike, such as pretty and compact JSON.
+     * @param bytes The start of a day file
+     * @return true if encoding the day again with this codec would write it in the same variant
+     */
+    default boolean isVariantOf(@NotNull byte[] bytes) {
+        return isFormatOf(bytes);
+    }
+
+    byte[] encode(@NotNull CalendarDay calendarDay) throws IOException;
+
+    CalendarDay decode(@NotNull byte[] bytes) throws IOException;
+
+    /**
+     * Decodes a day packed in a {@link YearPack}, codecs override it to read the buffer without copying it.
+     * @param buffer The bytes of the day file, from its position to its limit, left untouched
+     */
+    default CalendarDay decode(@NotNull ByteBuffer buffer) throws IOException {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return decode(bytes);
+    }
+
+    /**
+     * Day files are JSON unless they carry the binary header.
+     */
+    static CalendarDayCodec detect(@NotNull byte[] bytes) {
+        return BINARY.isFormatOf(bytes) ? BINARY : JSON;
+    }
+
+    @Nullable
+    static CalendarDayCodec byName(@NotNull String name) {
+        if(JSON.getName().equalsIgnoreCase(name))
+            return JSON;
+        if(COMPACT_JSON.getName().equalsIgnoreCase(name))
+            return COMPACT_JSON;
+        if(BINARY.getName().equalsIgnoreCase(name))
+            return BINARY;
+        return null;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts every day file of a calendar folder to another {@link CalendarDayCodec}.
+ * Days in a {@link YearPack} keep their format until they are saved again.
+ * <p>
+ * Usage: <b>CalendarDayMigrator &lt;folder&gt; &lt;json|json-compact|binary&gt;</b>
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarDayMigrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarDayMigrator.class );
+
+    public static void main(String[] args) {
+        if(args.length != 2) {
+            System.err.println("Usage: CalendarDayMigrator <folder> <json|json-compact|binary>");
+            System.exit(1);
+            return;
+        }
+
+        final CalendarDayCodec codec = CalendarDayCodec.byName(args[1]);
+        if(codec == null) {
+            System.err.println("Unknown codec: " + args[1]);
+            System.exit(1);
+            return;
+        }
+
+        System.out.println("Migrated " + migrate(new File(args[0]), codec) + " Calendar Days to " + codec.getName());
+    }
+
+    /**
+     * Rewrites every day file in the folder which is not already in the codecs format, or in its variant of it.
+     * Day files still in the flat layout are moved to the {@link DayFileLayout} first.
+     * Each file is replaced atomically, a failed file is logged and left as it was.
+     * Should not run while a calendar is using the folder.
+     *
+     * @return The amount of day files converted
+     */
+    public static int migrate(@NotNull File folder, @NotNull CalendarDayCodec codec) {
+        if(!folder.isDirectory()) {
+            LOGGER.error("Not a Calendar Folder: `{}`", folder.getAbsolutePath());
+            return 0;
+        }
+
+        DayFileLayout.migrateFlat(folder);
+        final List<File> files;
+        try(Stream<Path> paths = DayFileLayout.list(folder, null, null)) {
+            files = paths.map(Path::toFile).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", folder.getAbsolutePath(), e);
+            return 0;
+        }
+
+        int migrated = 0;
+        for(File file : files) {
+            try {
+                final byte[] bytes = Files.readAllBytes(file.toPath());
+                // Tombstones of packed days stay empty
+                if(bytes.length == 0 || codec.isVariantOf(bytes))
+                    continue;
+
+                final CalendarDay calendarDay = CalendarDayCodec.detect(bytes).decode(bytes);
+                final Path tempPath = file.toPath().resolveSibling(file.getName() + ".tmp");
+                Files.write(tempPath, codec.encode(calendarDay));
+                Files.move(tempPath, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                migrated++;
+            } catch (IOException e) {
+                LOGGER.error("Could not migrate Calendar Day: `{}`", file.toString(), e);
+            }
+        }
+
+        LOGGER.info("Migrated {}/{} Calendar Days to {}", migrated, files.size(), codec.getName());
+        return migrated;
+    }
+
+}
@@ -0,0 +1,361 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only journal of {@link JournalRecord}s, the durable write path of {@link WriteBehind}.
+ * <p>
+ * Every mutation costs one small append instead of rewriting the whole Calendar Day.
+ * Appends are group committed: a single committer thread writes every queued record and fsyncs once per batch,
+ * {@link #append(JournalRecord)} returns once its record is on disk.
+ * <p>
+ * The journal is split into segments (<b>journal-1.msgjnl</b>). A flush {@link #rotate()}s to a new segment,
+ * writes the dirty days as snapshots and then {@link #deleteSegments(long)} the folded segments.
+ * Segments left behind by a crash are replayed by {@link #recover()}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarJournal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarJournal.class );
+
+    public static final String JOURNAL_FILE_EXTENSION = "msgjnl";
+    /**
+     * <b>journal-1.msgjnl</b>
+     * @see #JOURNAL_FILE_EXTENSION
+     */
+    public static final String JOURNAL_FILE_FORMAT = "journal-%d.%s";
+
+    private static final String JOURNAL_FILE_PREFIX = "journal-";
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final File FOLDER;
+    private final LinkedBlockingQueue<PendingRecord> QUEUE = new LinkedBlockingQueue<>();
+    /**
+     * Held while writing a batch, so a rotation never splits one.
+     */
+    private final Object SEGMENT_LOCK = new Object();
+
+    private FileChannel channel = null;
+    private long segment = 0;
+    private Thread committer = null;
+    private volatile boolean closed = false;
+
+    public CalendarJournal(@NotNull File folder) {
+        FOLDER = folder;
+    }
+
+    /**
+     * Appends the record and blocks until it is fsynced, together with every other record queued meanwhile.
+     * @throws IOException if the record could not be written
+     */
+    public void append(@NotNull JournalRecord record) throws IOException {
+        final byte[] bytes = encode(record);
+        final PendingRecord pendingRecord = new PendingRecord(bytes);
+
+        synchronized (this) {
+            if(closed)
+                throw new IOException("Calendar Journal is closed");
+            startCommitter();
+            QUEUE.add(pendingRecord);
+        }
+
+        try {
+            pendingRecord.FUTURE.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the Calendar Journal", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not append to the Calendar Journal", e.getCause());
+        }
+    }
+
+    /**
+     * Closes the current segment, following appends go to a new one.
+     * @return The closed segment, every segment up to and including it can be deleted once the dirty days are written
+     */
+    public long rotate() throws IOException {
+        synchronized (SEGMENT_LOCK) {
+            final long closedSegment = openSegment();
+            if(channel != null) {
+                channel.close();
+                channel = null;
+            }
+            segment = closedSegment + 1;
+            return closedSegment;
+        }
+    }
+
+    /**
+     * Deletes every segment up to and including the given one.
+     */
+    public void deleteSegments(long upTo) {
+        for(File file : listSegments()) {
+            if(getSegment(file) <= upTo && !file.delete() && file.exists())
+                LOGGER.error("Could not delete Calendar Journal segment: `{}`", file.toString());
+        }
+    }
+
+    /**
+     * Replays every segment left behind, in order, onto the Calendar Days and writes them as snapshots.
+     * The segments are only deleted once every snapshot was written.
+     * @return The amount of records replayed
+     */
+    public int recover() {
+        final File[] segments = listSegments();
+        if(segments.length == 0)
+            return 0;
+
+        final LinkedHashMap<LocalDate, LinkedHashMap<String, CalendarEvent>> days = new LinkedHashMap<>();
+        final HashMap<LocalDate, HashSet<String>> removed = new HashMap<>();
+        int replayed = 0;
+        long lastSegment = 0;
+
+        for(File file : segments) {
+            lastSegment = Math.max(lastSegment, getSegment(file));
+            try(BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while((line = reader.readLine()) != null) {
+                    if(line.isEmpty())
+                        continue;
+
+                    final JournalRecord record;
+                    try {
+                        record = MSGCalendar.OBJECT_MAPPER.readValue(line, JournalRecord.class);
+                    } catch (JsonProcessingException e) {
+                        LOGGER.warn("Skipping the torn tail of Calendar Journal segment: `{}`", file.toString());
+                        break;
+                    }
+
+                    final LocalDate date = record.getDate();
+                    final LinkedHashMap<String, CalendarEvent> events = days.computeIfAbsent(date, this::loadEvents);
+                    switch(record.OPERATION) {
+                        case PUT:
+                            if(record.EVENT != null)
+                                events.put(record.EVENT.getUniqueID(), record.EVENT);
+                            break;
+                        case REMOVE:
+                            events.remove(record.UNIQUE_ID);
+                            removed.computeIfAbsent(date, ignored -> new HashSet<>()).add(record.UNIQUE_ID);
+                            break;
+                        case DAY:
+                            events.clear();
+                            if(record.DAY != null)
+                                record.DAY.getEvents().forEach(calendarEvent -> events.put(calendarEvent.getUniqueID(), calendarEvent));
+                            break;
+                    }
+                    replayed++;
+                }
+            } catch (IOException e) {
+                LOGGER.error("Could not read Calendar Journal segment: `{}`", file.toString(), e);
+                return replayed;
+            }
+        }
+
+        boolean saved = true;
+        for(Map.Entry<LocalDate, LinkedHashMap<String, CalendarEvent>> entry : days.entrySet()) {
+            final LocalDate date = entry.getKey();
+            final CalendarDay calendarDay = new CalendarDay(date.getDayOfYear(), date.getYear(), entry.getValue().values());
+
+            for(String uniqueId : removed.getOrDefault(date, new HashSet<>())) {
+                if(calendarDay.getEvent(uniqueId) == null) {
+                    MSGCalendar.EVENT_INDEX.remove(uniqueId, date);
+                    MSGCalendar.INTERVAL_INDEX.remove(uniqueId);
+                    MSGCalendar.DISCORD_INDEX.remove(uniqueId);
+                }
+            }
+            MSGCalendar.DAY_CACHE.put(calendarDay);
+            MSGCalendar.EVENT_INDEX.putAll(calendarDay);
+            MSGCalendar.INTERVAL_INDEX.putAll(calendarDay);
+            MSGCalendar.DISCORD_INDEX.putAll(calendarDay);
+            saved &= calendarDay.saveNow() != null;
+        }
+
+        if(saved) {
+            deleteSegments(lastSegment);
+        } else {
+            LOGGER.error("Calendar Journal recovery could not write every day, keeping its segments");
+        }
+        segment = Math.max(segment, lastSegment + 1);
+        LOGGER.info("Recovered {} Calendar Journal records into {} Calendar Days", replayed, days.size());
+        return replayed;
+    }
+
+    /**
+     * Commits every queued record and closes the journal.
+     */
+    @Override
+    public void close() {
+        final Thread thread;
+        synchronized (this) {
+            closed = true;
+            thread = committer;
+            committer = null;
+        }
+
+        if(thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (SEGMENT_LOCK) {
+            if(channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOGGER.error("Could not close Calendar Journal segment", e);
+                }
+                channel = null;
+            }
+        }
+    }
+
+    public File getFolder() {
+        return FOLDER;
+    }
+
+    private byte[] encode(JournalRecord record) throws JsonProcessingException {
+        final byte[] json;
+        if(record.DAY != null) {
+            synchronized (record.DAY) {
+                json = MSGCalendar.OBJECT_MAPPER.writeValueAsBytes(record);
+            }
+        } else {
+            json = MSGCalendar.OBJECT_MAPPER.writeValueAsBytes(record);
+        }
+
+        final byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private LinkedHashMap<String, CalendarEvent> loadEvents(LocalDate date) {
+        final LinkedHashMap<String, CalendarEvent> events = new LinkedHashMap<>();
+        final CalendarDay calendarDay = CalendarDay.of(date);
+        if(calendarDay != null)
+            calendarDay.copyEvents().forEach(calendarEvent -> events.put(calendarEvent.getUniqueID(), calendarEvent));
+        return events;
+    }
+
+    private void startCommitter() {
+        if(committer == null) {
+            committer = new Thread(this::commitLoop, "MSGCalendar-Journal");
+            committer.setDaemon(true);
+            committer.start();
+        }
+    }
+
+    private void commitLoop() {
+        final ArrayList<PendingRecord> batch = new ArrayList<>();
+        while(!closed || !QUEUE.isEmpty()) {
+            try {
+                final PendingRecord first = QUEUE.poll(100, TimeUnit.MILLISECONDS);
+                if(first == null)
+                    continue;
+                batch.add(first);
+                QUEUE.drainTo(batch, MAX_BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                if(batch.isEmpty())
+                    continue;
+            }
+
+            try {
+                synchronized (SEGMENT_LOCK) {
+                    final FileChannel fileChannel = getChannel();
+                    for(PendingRecord pendingRecord : batch) {
+                        final ByteBuffer buffer = ByteBuffer.wrap(pendingRecord.BYTES);
+                        while(buffer.hasRemaining())
+                            fileChannel.write(buffer);
+                    }
+                    fileChannel.force(false);
+                }
+                batch.forEach(pendingRecord -> pendingRecord.FUTURE.complete(null));
+            } catch (IOException e) {
+                LOGGER.error("Could not commit {} Calendar Journal records", batch.size(), e);
+                batch.forEach(pendingRecord -> pendingRecord.FUTURE.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private FileChannel getChannel() throws IOException {
+        if(channel == null) {
+            if(!FOLDER.exists() && !FOLDER.mkdirs())
+                throw new IOException("Could not create Calendar Journal folder: " + FOLDER);
+            final File file = new File(FOLDER, String.format(JOURNAL_FILE_FORMAT, openSegment(), JOURNAL_FILE_EXTENSION));
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * @return The segment appends go to, after any segment already on disk
+     */
+    private long openSegment() {
+        if(segment == 0) {
+            long last = 0;
+            for(File file : listSegments())
+                last = Math.max(last, getSegment(file));
+            segment = last + 1;
+        }
+        return segment;
+    }
+
+    private File[] listSegments() {
+        final File[] files = FOLDER.listFiles((dir, name) -> name.startsWith(JOURNAL_FILE_PREFIX) && name.endsWith("." + JOURNAL_FILE_EXTENSION));
+        if(files == null)
+            return new File[0];
+        Arrays.sort(files, (a, b) -> Long.compare(getSegment(a), getSegment(b)));
+        return files;
+    }
+
+    private static long getSegment(File file) {
+        final String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(JOURNAL_FILE_PREFIX.length(), name.length() - JOURNAL_FILE_EXTENSION.length() - 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static class PendingRecord {
+        private final byte[] BYTES;
+        private final CompletableFuture<Void> FUTURE = new CompletableFuture<>();
+
+        private PendingRecord(byte[] bytes) {
+            BYTES = bytes;
+        }
+    }
+
+}
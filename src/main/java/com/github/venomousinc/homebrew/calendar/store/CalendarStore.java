@@ -0,0 +1,64 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Where Calendar Days are persisted. {@link MSGCalendar} reads and writes days through {@link MSGCalendar#getStore()},
+ * caching, indexing and locking stay in front of the store.
+ * <p>
+ * Implementations must be thread safe, different days are read and written concurrently.
+ *
+ * @see FileCalendarStore
+ * @see MemoryCalendarStore
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public interface CalendarStore {
+
+    /**
+     * @return The stored Calendar Day, or null if nothing is stored for the date or it could not be read
+     */
+    @Nullable
+    CalendarDay read(@NotNull LocalDate date);
+
+    /**
+     * Replaces the stored Calendar Day, a day without events is removed instead.
+     * @return false if the day could not be written
+     */
+    boolean write(@NotNull CalendarDay calendarDay);
+
+    boolean contains(@NotNull LocalDate date);
+
+    /**
+     * The dates with a stored Calendar Day between two dates (inclusive), in date order.
+     * Must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     */
+    Stream<LocalDate> getDates(@Nullable LocalDate from, @Nullable LocalDate to);
+
+    /**
+     * @return Where {@link MSGCalendar#EVENT_INDEX} persists itself, or null to keep it in memory and rebuild it on start
+     */
+    @Nullable
+    default File getIndexFile() {
+        return null;
+    }
+
+    /**
+     * @return Where {@link com.github.venomousinc.homebrew.calendar.archive.CalendarArchive} keeps archived events, or null if this store cannot archive
+     */
+    @Nullable
+    default File getArchiveFolder() {
+        return null;
+    }
+
+}
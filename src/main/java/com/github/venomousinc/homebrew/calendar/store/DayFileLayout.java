@@ -0,0 +1,226 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Where the day files of a calendar folder live: one folder per year, one folder per month,
+ * such as <b>calendar/2026/10/17.msgcal</b>.
+ * <p>
+ * Range scans only list the year and month folders which can hold a day in the range.
+ * A year folder may also hold the {@link YearPack} of the year, such as <b>calendar/2026/2026.msgpack</b>.
+ * Folders created by older versions, with every day directly in the calendar folder (<b>calendar/2026-10-17.msgcal</b>),
+ * are moved to this layout by {@link #migrateFlat(File)}.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class DayFileLayout {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( DayFileLayout.class );
+
+    private static final String EXTENSION = "." + CalendarDay.CALENDAR_FILE_EXTENSION;
+
+    private DayFileLayout() {
+    }
+
+    public static File getFile(@NotNull File root, @NotNull LocalDate date) {
+        return new File(getMonthFolder(root, date.getYear(), date.getMonthValue()),
+                String.format(CalendarDay.CALENDAR_FILE_FORMAT, twoDigits(date.getDayOfMonth()), CalendarDay.CALENDAR_FILE_EXTENSION));
+    }
+
+    public static File getPackFile(@NotNull File root, int year) {
+        return new File(new File(root, Integer.toString(year)),
+                String.format(CalendarDay.CALENDAR_FILE_FORMAT, year, YearPack.PACK_FILE_EXTENSION));
+    }
+
+    /**
+     * @return The years with a year folder, in order
+     */
+    public static TreeSet<Integer> getYears(@NotNull File root) {
+        final TreeSet<Integer> years = new TreeSet<>();
+        try(Stream<Numbered> folders = listNumbered(root.toPath(), true)) {
+            folders.forEach(year -> years.add(year.NUMBER));
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", root.getAbsolutePath(), e);
+        }
+        return years;
+    }
+
+    /**
+     * @param file A day file, such as <b>calendar/2026/10/17.msgcal</b>
+     * @return The date of the file, or null if it is not a day file inside of the root
+     */
+    @Nullable
+    public static LocalDate getDate(@NotNull File root, @NotNull File file) {
+        final File monthFolder = file.getAbsoluteFile().getParentFile();
+        final File yearFolder = monthFolder != null ? monthFolder.getParentFile() : null;
+        if(yearFolder == null || !root.getAbsoluteFile().equals(yearFolder.getParentFile()))
+            return null;
+
+        final String fileName = file.getName();
+        if(!fileName.endsWith(EXTENSION))
+            return null;
+
+        try {
+            return LocalDate.of(Integer.parseInt(yearFolder.getName()), Integer.parseInt(monthFolder.getName()),
+                    Integer.parseInt(fileName.substring(0, fileName.length() - EXTENSION.length())));
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists the day files between two dates (inclusive) in date order. Year and month folders outside of the range are not listed.
+     * Must be closed, use try-with-resources.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     */
+    public static Stream<Path> list(@NotNull File root, @Nullable LocalDate from, @Nullable LocalDate to) {
+        final YearMonth fromMonth = from != null ? YearMonth.from(from) : null;
+        final YearMonth toMonth = to != null ? YearMonth.from(to) : null;
+
+        return listNumbered(root.toPath(), true)
+                .filter(year -> (fromMonth == null || year.NUMBER >= fromMonth.getYear()) && (toMonth == null || year.NUMBER <= toMonth.getYear()))
+                .flatMap(year -> listNumbered(year.PATH, true)
+                        .filter(month -> month.NUMBER >= 1 && month.NUMBER <= 12)
+                        .filter(month -> {
+                            final YearMonth yearMonth = YearMonth.of(year.NUMBER, month.NUMBER);
+                            return (fromMonth == null || !yearMonth.isBefore(fromMonth)) && (toMonth == null || !yearMonth.isAfter(toMonth));
+                        })
+                        .flatMap(month -> listNumbered(month.PATH, false)
+                                .filter(day -> {
+                                    final LocalDate date = toDate(year.NUMBER, month.NUMBER, day.NUMBER);
+                                    return date != null && (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+                                })
+                                .map(day -> day.PATH)));
+    }
+
+    /**
+     * Moves every day file directly inside of the root, named <b>1970-01-01.msgcal</b>, into the year/month layout.
+     * A file whose new location already exists is left where it is.
+     *
+     * @return The amount of day files moved
+     */
+    public static int migrateFlat(@NotNull File root) {
+        if(!root.isDirectory())
+            return 0;
+
+        int migrated = 0;
+        try(DirectoryStream<Path> paths = Files.newDirectoryStream(root.toPath(), "*" + EXTENSION)) {
+            for(Path path : paths) {
+                final String fileName = path.getFileName().toString();
+                final LocalDate date;
+                try {
+                    date = LocalDate.parse(fileName.substring(0, fileName.length() - EXTENSION.length()));
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+
+                final File target = getFile(root, date);
+                if(target.exists()) {
+                    LOGGER.warn("Not migrating Calendar Day `{}`, `{}` already exists", path, target);
+                    continue;
+                }
+                try {
+                    Files.createDirectories(target.getParentFile().toPath());
+                    Files.move(path, target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    migrated++;
+                } catch (IOException e) {
+                    LOGGER.error("Could not migrate Calendar Day: `{}`", path, e);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", root.getAbsolutePath(), e);
+        }
+
+        if(migrated > 0)
+            LOGGER.info("Migrated {} Calendar Days to the year/month layout", migrated);
+        return migrated;
+    }
+
+    private static File getMonthFolder(File root, int year, int month) {
+        return new File(new File(root, Integer.toString(year)), twoDigits(month));
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : Integer.toString(value);
+    }
+
+    @Nullable
+    private static LocalDate toDate(int year, int month, int day) {
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists the folders (or day files) of a folder whose name is a number, ordered by that number.
+     */
+    private static Stream<Numbered> listNumbered(Path folder, boolean directories) {
+        if(!Files.isDirectory(folder))
+            return Stream.empty();
+
+        final Stream<Path> paths;
+        try {
+            paths = Files.list(folder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return paths.map(path -> Numbered.of(path, directories))
+                .filter(numbered -> numbered != null)
+                .sorted(Comparator.comparingInt(numbered -> numbered.NUMBER))
+                .onClose(paths::close);
+    }
+
+    private static class Numbered {
+        private final Path PATH;
+        private final int NUMBER;
+
+        private Numbered(Path path, int number) {
+            PATH = path;
+            NUMBER = number;
+        }
+
+        @Nullable
+        private static Numbered of(Path path, boolean directory) {
+            String name = path.getFileName().toString();
+            if(directory) {
+                if(!Files.isDirectory(path))
+                    return null;
+            } else {
+                if(!name.endsWith(EXTENSION) || !Files.isRegularFile(path))
+                    return null;
+                name = name.substring(0, name.length() - EXTENSION.length());
+            }
+
+            try {
+                return new Numbered(path, Integer.parseInt(name));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+}
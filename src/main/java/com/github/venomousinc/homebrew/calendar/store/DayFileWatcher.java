@@ -0,0 +1,349 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartitions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Notices day files created, modified or deleted by another process, such as an admin tool or a second bot sharing the
+ * <b>calendar</b> folder, and reloads only those days with {@link CalendarPartition#reload(LocalDate)},
+ * so the Calendar Day caches and indexes can stay enabled.
+ * <p>
+ * Uses a {@link WatchService} on every year and month folder of the {@link MSGCalendar#FILE_STORE} root and,
+ * once partitioning is enabled, of {@link CalendarPartitions#getRoot()}. Where no WatchService is available, or when forced
+ * because the folder is on a network share which does not report changes made by other hosts, it polls instead,
+ * comparing the modified time and size of every day file.
+ * <p>
+ * Changes are collected until the folder has been quiet for the settle delay, so a day written several times is reloaded once.
+ * This process's own writes are noticed too, a day file still as this process last wrote it is not reloaded.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class DayFileWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( DayFileWatcher.class );
+
+    public static final Duration DEFAULT_SETTLE_DELAY = Duration.ofMillis(200);
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(5);
+    private static final String EXTENSION = "." + CalendarDay.CALENDAR_FILE_EXTENSION;
+
+    /**
+     * Wakes the polling thread when stopped
+     */
+    private final Object SLEEP = new Object();
+
+    private volatile boolean running = false;
+    private Thread thread = null;
+    private WatchService watchService = null;
+    private boolean polling = false;
+    private long settleMs = DEFAULT_SETTLE_DELAY.toMillis();
+    private long pollMs = DEFAULT_POLL_INTERVAL.toMillis();
+
+    /**
+     * Watches the folders, falling back to polling where the file system cannot be watched.
+     * @see #start(Duration, Duration, boolean)
+     */
+    public void start() {
+        start(DEFAULT_SETTLE_DELAY, DEFAULT_POLL_INTERVAL, false);
+    }
+
+    /**
+     * @param settleDelay How long the folder must be quiet before the changed days are reloaded
+     * @param pollInterval How often to scan the day files when polling
+     * @param forcePolling true to poll even where a WatchService is available
+     */
+    public synchronized void start(@NotNull Duration settleDelay, @NotNull Duration pollInterval, boolean forcePolling) {
+        if(running)
+            throw new IllegalStateException("Day File Watcher is already running");
+        if(settleDelay.isNegative())
+            throw new IllegalArgumentException("Settle delay cannot be negative: " + settleDelay);
+        if(pollInterval.isNegative() || pollInterval.isZero())
+            throw new IllegalArgumentException("Poll interval must be positive: " + pollInterval);
+        if(!(MSGCalendar.getStore() instanceof FileCalendarStore))
+            throw new IllegalStateException("Only a FileCalendarStore can be watched: " + MSGCalendar.getStore());
+
+        settleMs = settleDelay.toMillis();
+        pollMs = pollInterval.toMillis();
+        polling = forcePolling;
+        if(!polling) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                for(Path root : getRoots())
+                    register(watchService, root, null);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.warn("Could not watch the calendar folder, polling every {}ms instead", pollMs, e);
+                closeWatchService();
+                polling = true;
+            }
+        }
+
+        running = true;
+        thread = new Thread(polling ? this::pollLoop : this::watchLoop, "MSGCalendar-DayFileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        LOGGER.info("Day File Watcher started, {}", polling ? "polling every " + pollMs + "ms" : "watching " + getRoots());
+    }
+
+    public synchronized void stop() {
+        if(!running)
+            return;
+
+        running = false;
+        closeWatchService();
+        synchronized (SLEEP) {
+            SLEEP.notifyAll();
+        }
+        if(thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+        LOGGER.info("Day File Watcher stopped");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return true if it polls rather than uses a WatchService
+     */
+    public synchronized boolean isPolling() {
+        return running && polling;
+    }
+
+    private void watchLoop() {
+        final WatchService service = watchService;
+        final LinkedHashSet<Path> changed = new LinkedHashSet<>();
+        try {
+            while(running) {
+                final WatchKey key = changed.isEmpty() ? service.take() : service.poll(settleMs, TimeUnit.MILLISECONDS);
+                if(key == null) {
+                    // Quiet for the settle delay
+                    reload(changed);
+                    changed.clear();
+                    continue;
+                }
+
+                final Path folder = (Path) key.watchable();
+                for(WatchEvent<?> event : key.pollEvents()) {
+                    if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        LOGGER.warn("Day File Watcher missed changes in `{}`, reloading every cached day", folder);
+                        changed.clear();
+                        reloadAll();
+                        continue;
+                    }
+
+                    final Path path = folder.resolve((Path) event.context());
+                    if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+                        register(service, path, changed);
+                    else if(path.getFileName().toString().endsWith(EXTENSION))
+                        changed.add(path);
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.error("Day File Watcher failed, it is no longer running", e);
+            running = false;
+        }
+    }
+
+    private void pollLoop() {
+        Map<Path, Long> stamps = scan();
+        try {
+            while(running) {
+                synchronized (SLEEP) {
+                    if(running)
+                        SLEEP.wait(pollMs);
+                }
+                if(!running)
+                    return;
+                final Map<Path, Long> current = scan();
+                final LinkedHashSet<Path> changed = new LinkedHashSet<>();
+                for(Map.Entry<Path, Long> entry : current.entrySet())
+                    if(!entry.getValue().equals(stamps.get(entry.getKey())))
+                        changed.add(entry.getKey());
+                for(Path path : stamps.keySet())
+                    if(!current.containsKey(path))
+                        changed.add(path);
+                stamps = current;
+                reload(changed);
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Registers the folder and every folder inside of it. Day files already inside are added to changed,
+     * as they may have been written before the folder was watched.
+     * @param changed null while starting, when nothing needs reloading
+     */
+    private static void register(WatchService service, Path folder, @Nullable LinkedHashSet<Path> changed) throws IOException {
+        if(!Files.isDirectory(folder))
+            return;
+        try(Stream<Path> paths = Files.walk(folder)) {
+            for(Path path : (Iterable<Path>) paths::iterator) {
+                if(Files.isDirectory(path))
+                    path.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                else if(changed != null && path.getFileName().toString().endsWith(EXTENSION))
+                    changed.add(path);
+            }
+        }
+    }
+
+    /**
+     * @return The modified time and size of every day file
+     */
+    private Map<Path, Long> scan() {
+        final HashMap<Path, Long> stamps = new HashMap<>();
+        for(Path root : getRoots()) {
+            if(!Files.isDirectory(root))
+                continue;
+            try(Stream<Path> paths = Files.walk(root)) {
+                for(Path path : (Iterable<Path>) paths::iterator) {
+                    if(!path.getFileName().toString().endsWith(EXTENSION) || stamps.containsKey(path))
+                        continue;
+                    try {
+                        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        stamps.put(path, attributes.lastModifiedTime().toMillis() * 31 + attributes.size());
+                    } catch (IOException e) {
+                        // Deleted while scanning
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.error("Could not scan Calendar folder: `{}`", root, e);
+            }
+        }
+        return stamps;
+    }
+
+    private void reload(LinkedHashSet<Path> changed) {
+        final LinkedHashMap<CalendarPartition, TreeSet<LocalDate>> days = new LinkedHashMap<>();
+        for(Path path : changed) {
+            final File file = path.toFile();
+            final CalendarPartition partition = getPartition(file);
+            if(partition == null || !(partition.getStore() instanceof FileCalendarStore))
+                continue;
+            final LocalDate date = ((FileCalendarStore) partition.getStore()).getDate(file);
+            if(date != null)
+                days.computeIfAbsent(partition, key -> new TreeSet<>()).add(date);
+        }
+
+        for(Map.Entry<CalendarPartition, TreeSet<LocalDate>> entry : days.entrySet()) {
+            for(LocalDate date : entry.getValue()) {
+                try {
+                    entry.getKey().reload(date);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Could not reload Calendar Day {} of {}", date, entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * After missed changes, nothing is known about which days changed, so every cache and index is rebuilt.
+     */
+    private void reloadAll() {
+        final CalendarPartition shared = MSGCalendar.PARTITIONS.getShared();
+        shared.getDayCache().invalidateAll();
+        shared.getEventIndex().rebuild();
+        for(Long tenantId : MSGCalendar.PARTITIONS.getTenantIds()) {
+            final CalendarPartition partition = MSGCalendar.PARTITIONS.getIfOpen(tenantId);
+            if(partition != null) {
+                partition.getDayCache().invalidateAll();
+                partition.getEventIndex().rebuild();
+            }
+        }
+        MSGCalendar.INTERVAL_INDEX.invalidate();
+        MSGCalendar.DISCORD_INDEX.invalidate();
+    }
+
+    /**
+     * @return The partition the day file belongs to, opening it, or null if it is not a day file of a partition
+     */
+    @Nullable
+    private static CalendarPartition getPartition(File file) {
+        final Path path = file.toPath().toAbsolutePath();
+        final Path partitionsRoot = MSGCalendar.PARTITIONS.getRoot().toPath().toAbsolutePath();
+        if(path.startsWith(partitionsRoot)) {
+            final Path relative = partitionsRoot.relativize(path);
+            try {
+                final long tenantId = Long.parseLong(relative.getName(0).toString());
+                return tenantId != 0 ? MSGCalendar.PARTITIONS.get(tenantId) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        final CalendarPartition shared = MSGCalendar.PARTITIONS.getShared();
+        return shared.getStore() instanceof FileCalendarStore ? shared : null;
+    }
+
+    private static LinkedHashSet<Path> getRoots() {
+        final LinkedHashSet<Path> roots = new LinkedHashSet<>();
+        final CalendarStore store = MSGCalendar.getStore();
+        if(store instanceof FileCalendarStore)
+            roots.add(((FileCalendarStore) store).getRoot().toPath().toAbsolutePath());
+        final Path partitionsRoot = MSGCalendar.PARTITIONS.getRoot().toPath().toAbsolutePath();
+        if(MSGCalendar.PARTITIONS.isEnabled() && roots.stream().noneMatch(partitionsRoot::startsWith))
+            roots.add(partitionsRoot);
+        return roots;
+    }
+
+    private void closeWatchService() {
+        if(watchService == null)
+            return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.debug("Could not close WatchService", e);
+        }
+        watchService = null;
+    }
+
+    @Override
+    public String toString() {
+        return "DayFileWatcher{" +
+                "running=" + running +
+                ", polling=" + polling +
+                ", settleMs=" + settleMs +
+                ", pollMs=" + pollMs +
+                '}';
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks guarding the load, modify and save of a Calendar Day, so two threads saving into the same day
+ * never overwrite each other's events. Each date maps to one of a fixed amount of stripes,
+ * operations on different days only contend when their dates share a stripe.
+ * <p>
+ * Never hold the locks of two dates at once, two dates can share a stripe in either order.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class DayLocks {
+
+    public static final int DEFAULT_STRIPES = 256;
+
+    private final ReentrantLock[] LOCKS;
+    private final int MASK;
+
+    public DayLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes The amount of locks, rounded up to a power of two
+     */
+    public DayLocks(int stripes) {
+        if(stripes < 1)
+            throw new IllegalArgumentException("Stripes must be positive: " + stripes);
+
+        final int size = Integer.highestOneBit(stripes - 1) << 1;
+        LOCKS = new ReentrantLock[Math.max(1, size)];
+        for(int i = 0; i < LOCKS.length; i++)
+            LOCKS[i] = new ReentrantLock();
+        MASK = LOCKS.length - 1;
+    }
+
+    public ReentrantLock get(@NotNull LocalDate date) {
+        // Consecutive days have consecutive epoch days, spread them so neighbouring days land on different stripes
+        final long epochDay = date.toEpochDay();
+        int hash = (int) (epochDay ^ (epochDay >>> 32));
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return LOCKS[hash & MASK];
+    }
+
+    public int getStripes() {
+        return LOCKS.length;
+    }
+
+}
@@ -0,0 +1,539 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.archive.CalendarArchive;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.index.EventIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores every Calendar Day as a day file under a root folder, laid out by {@link DayFileLayout}.
+ * <p>
+ * Day files are written with {@link #getCodec()} and read with whichever codec wrote them,
+ * both using the ObjectMapper the store was created with.
+ * <p>
+ * A year can be packed into a memory mapped {@link YearPack} with {@link #pack(int)}, so its days are read without opening a file each.
+ * Day files written afterwards take precedence over the pack until the year is packed again, an emptied packed day
+ * is kept as an empty day file, a tombstone, as deleting its file would bring back the packed day.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class FileCalendarStore implements CalendarStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( FileCalendarStore.class );
+
+    /**
+     * The content of a tombstone, an emptied day of a packed year
+     */
+    private static final byte[] TOMBSTONE = new byte[0];
+
+    private final File ROOT;
+    private final ObjectMapper OBJECT_MAPPER;
+    private final CalendarDayCodec JSON;
+    private final CalendarDayCodec COMPACT_JSON;
+    private final CalendarDayCodec BINARY;
+
+    private volatile CalendarDayCodec codec;
+
+    /**
+     * The mapped Year Pack of every year read so far, mapped again once its file is replaced
+     */
+    private final ConcurrentHashMap<Integer, YearPack> PACKS = new ConcurrentHashMap<>();
+    /**
+     * Years being packed, their emptied days always get a tombstone so the new pack cannot bring them back
+     */
+    private final Set<Integer> PACKING = ConcurrentHashMap.newKeySet();
+    /**
+     * What every day file was left as by this store's last write or delete of it,
+     * so {@link #isLastWrite(LocalDate)} can tell this process's writes from those of other processes.
+     */
+    private final ConcurrentHashMap<LocalDate, FileStamp> WRITTEN = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the root folder and moves day files still in the flat layout into the {@link DayFileLayout}.
+     */
+    public FileCalendarStore(@NotNull File root, @NotNull ObjectMapper objectMapper) {
+        ROOT = root;
+        OBJECT_MAPPER = objectMapper;
+        JSON = new JsonCalendarDayCodec(objectMapper);
+        COMPACT_JSON = new JsonCalendarDayCodec(objectMapper, false);
+        BINARY = new BinaryCalendarDayCodec(objectMapper);
+        codec = JSON;
+
+        LOGGER.debug("Calendar - Created: {} Exists: {}", ROOT.mkdirs(), ROOT.exists());
+        DayFileLayout.migrateFlat(ROOT);
+    }
+
+    public File getRoot() {
+        return ROOT;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    public CalendarDayCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Only affects new writes, existing day files are read in whichever format they are in.
+     * The {@link CalendarDayCodec#JSON}, {@link CalendarDayCodec#COMPACT_JSON} and {@link CalendarDayCodec#BINARY} formats are written with this store's ObjectMapper.
+     */
+    public FileCalendarStore setCodec(@NotNull CalendarDayCodec codec) {
+        if(codec.getName().equals(JSON.getName()))
+            this.codec = JSON;
+        else if(codec.getName().equals(COMPACT_JSON.getName()))
+            this.codec = COMPACT_JSON;
+        else if(codec.getName().equals(BINARY.getName()))
+            this.codec = BINARY;
+        else
+            this.codec = codec;
+        return this;
+    }
+
+    public File getFile(@NotNull LocalDate date) {
+        return DayFileLayout.getFile(ROOT, date);
+    }
+
+    /**
+     * @return The date of a day file of this store, or null if the file is not inside of its root
+     */
+    @Nullable
+    public LocalDate getDate(@NotNull File file) {
+        return DayFileLayout.getDate(ROOT, file);
+    }
+
+    /**
+     * Reads the day file, or the day from its Year Pack if there is no day file.
+     */
+    @Nullable
+    @Override
+    public CalendarDay read(@NotNull LocalDate date) {
+        final File file = getFile(date);
+        LOGGER.debug("FileCalendarStore#read({})", file.toString());
+        if(file.isFile()) {
+            try {
+                return decode(Files.readAllBytes(file.toPath()));
+            } catch (NoSuchFileException e) {
+                // Packed since it was checked
+            } catch (IOException e) {
+                LOGGER.error("Unable to process Calendar Day!", e);
+                return null;
+            }
+        }
+        return readPacked(date);
+    }
+
+    /**
+     * The format of the file is detected, so JSON and binary day files can be mixed.
+     */
+    @Nullable
+    public CalendarDay read(@NotNull File file) {
+        LOGGER.debug("FileCalendarStore#read({})", file.toString());
+        if(file.exists() && file.canRead() && file.isFile()) {
+            try {
+                return decode(Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                LOGGER.error("Unable to process Calendar Day!", e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The day is written to a temporary file first and then renamed over the old file, so a crash never leaves half a day behind.
+     */
+    @Override
+    public boolean write(@NotNull CalendarDay calendarDay) {
+        final File file = getFile(calendarDay.getDate());
+        final boolean written = calendarDay.getEventCount() == 0 ? delete(calendarDay.getDate(), file) : write(calendarDay, file);
+        if(written)
+            WRITTEN.put(calendarDay.getDate(), FileStamp.of(file.toPath()));
+        return written;
+    }
+
+    /**
+     * The caller holds the day's lock, so the day file cannot be written again between the write and this check.
+     * @return true if the day file is still exactly as this store last wrote or deleted it, false if it was never written here
+     * or another process changed it since
+     */
+    public boolean isLastWrite(@NotNull LocalDate date) {
+        final FileStamp written = WRITTEN.get(date);
+        return written != null && written.equals(FileStamp.of(getFile(date).toPath()));
+    }
+
+    private boolean write(CalendarDay calendarDay, File file) {
+        final String dateStr = calendarDay.getDate().toString();
+        if(file.getParentFile().isDirectory() || file.getParentFile().mkdirs()) {
+            final File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+            try {
+                final byte[] bytes = codec.encode(calendarDay);
+                Files.write(tempFile.toPath(), bytes);
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                MSGCalendar.METRICS.recordBytesWritten(bytes.length);
+                LOGGER.debug("Saving Calendar Day: `{}`", dateStr);
+                return true;
+            } catch (IOException e) {
+                LOGGER.error("Could not save Calendar Day: `{}`", dateStr);
+                LOGGER.error("Exception occurred while saving!", e);
+                return false;
+            }
+        }
+        LOGGER.error("Calendar Day could not save: `{}` Calendar Folder: {}", dateStr, file.getParent());
+        return false;
+    }
+
+    @Override
+    public boolean contains(@NotNull LocalDate date) {
+        final File file = getFile(date);
+        if(file.isFile())
+            return file.length() > 0;
+        final YearPack pack = getPack(date.getYear());
+        return pack != null && pack.contains(date);
+    }
+
+    /**
+     * The dates of packed years are collected up front, merged with their day files, other years are listed lazily.
+     */
+    @Override
+    public Stream<LocalDate> getDates(@Nullable LocalDate from, @Nullable LocalDate to) {
+        final Stream<Path> paths;
+        try {
+            paths = DayFileLayout.list(ROOT, from, to);
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", ROOT.getAbsolutePath(), e);
+            return Stream.empty();
+        }
+
+        final TreeSet<LocalDate> dates = new TreeSet<>();
+        for(int year : DayFileLayout.getYears(ROOT)) {
+            if((from != null && year < from.getYear()) || (to != null && year > to.getYear()))
+                continue;
+            final YearPack pack = getPack(year);
+            if(pack == null)
+                continue;
+            for(LocalDate date : pack.getDates()) {
+                if((from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to)))
+                    dates.add(date);
+            }
+        }
+        if(dates.isEmpty())
+            return paths.map(path -> getDate(path.toFile()));
+
+        try(Stream<Path> dayFiles = paths) {
+            dayFiles.forEach(path -> {
+                final LocalDate date = getDate(path.toFile());
+                if(path.toFile().length() > 0)
+                    dates.add(date);
+                else
+                    dates.remove(date);
+            });
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", ROOT.getAbsolutePath(), e);
+        }
+        return dates.stream();
+    }
+
+    /**
+     * @return The Year Pack of the year, mapped again if its file was replaced since, or null if the year is not packed
+     */
+    @Nullable
+    public YearPack getPack(int year) {
+        final File file = DayFileLayout.getPackFile(ROOT, year);
+        final YearPack pack = PACKS.get(year);
+        // Most years have no pack, checking for it is cheaper than failing to read it
+        if(pack == null && !file.isFile())
+            return null;
+
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            PACKS.remove(year);
+            return null;
+        } catch (IOException e) {
+            LOGGER.error("Could not read Year Pack: `{}`", file, e);
+            return null;
+        }
+
+        if(pack != null && pack.isMappingOf(attributes))
+            return pack;
+        try {
+            final YearPack opened = YearPack.open(file);
+            PACKS.put(year, opened);
+            return opened;
+        } catch (IOException e) {
+            LOGGER.error("Could not open Year Pack: `{}`", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return The amount of day files of the year, outside of its Year Pack
+     */
+    public long getDayFileCount(int year) {
+        final LocalDate first = LocalDate.ofYearDay(year, 1);
+        try(Stream<Path> paths = DayFileLayout.list(ROOT, first, first.withDayOfYear(first.lengthOfYear()))) {
+            return paths.count();
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Could not list Calendar Folder: `{}`", ROOT.getAbsolutePath(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Packs the day files of the year into its {@link YearPack}, over the days packed before, and then removes the day files
+     * which were packed. Days can be read and written meanwhile, a day file written again while the year is packed is kept.
+     * The whole year is held in memory while it is packed.
+     * @return The amount of day files packed, or -1 if the pack could not be written
+     */
+    public int pack(int year) {
+        if(!PACKING.add(year))
+            return 0;
+
+        try {
+            final LocalDate first = LocalDate.ofYearDay(year, 1);
+            final byte[][] days = new byte[first.lengthOfYear()][];
+            final YearPack previous = getPack(year);
+            if(previous != null) {
+                for(LocalDate date : previous.getDates()) {
+                    final ByteBuffer buffer = previous.get(date);
+                    days[date.getDayOfYear() - 1] = new byte[buffer.remaining()];
+                    buffer.get(days[date.getDayOfYear() - 1]);
+                }
+            }
+
+            // Day files override the pack, a tombstone removes the day from it
+            final LinkedHashMap<Path, byte[]> dayFiles = new LinkedHashMap<>();
+            try(Stream<Path> paths = DayFileLayout.list(ROOT, first, first.withDayOfYear(first.lengthOfYear()))) {
+                for(Path path : paths.collect(Collectors.toList())) {
+                    final byte[] bytes;
+                    try {
+                        bytes = Files.readAllBytes(path);
+                    } catch (NoSuchFileException e) {
+                        continue;
+                    }
+                    dayFiles.put(path, bytes);
+                    days[getDate(path.toFile()).getDayOfYear() - 1] = bytes.length > 0 ? bytes : null;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.error("Could not read the Calendar Days of {}", year, e);
+                return -1;
+            }
+            if(dayFiles.isEmpty())
+                return 0;
+
+            final File packFile = DayFileLayout.getPackFile(ROOT, year);
+            try {
+                if(Arrays.stream(days).allMatch(day -> day == null))
+                    Files.deleteIfExists(packFile.toPath());
+                else
+                    MSGCalendar.METRICS.recordBytesWritten(YearPack.write(packFile, year, days));
+            } catch (IOException e) {
+                LOGGER.error("Could not write Year Pack: `{}`", packFile, e);
+                return -1;
+            }
+            getPack(year);
+
+            for(Map.Entry<Path, byte[]> dayFile : dayFiles.entrySet())
+                removePacked(dayFile.getKey(), dayFile.getValue());
+            LOGGER.info("Packed {} Calendar Days into `{}`", dayFiles.size(), packFile);
+            return dayFiles.size();
+        } finally {
+            PACKING.remove(year);
+        }
+    }
+
+    /**
+     * Removes a packed day file unless it was written again since it was packed. The file is renamed away first,
+     * so a write racing the removal either lands in the renamed file, which is then put back, or after the removal.
+     */
+    private void removePacked(Path path, byte[] packed) {
+        final Path removed = path.resolveSibling(path.getFileName() + ".packed");
+        try {
+            Files.move(path, removed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            LOGGER.error("Could not remove packed Calendar Day: `{}`", path, e);
+            return;
+        }
+
+        try {
+            if(!Arrays.equals(Files.readAllBytes(removed), packed)) {
+                // Written again while packing, put it back unless it has been written yet again since it was renamed
+                try {
+                    Files.createLink(path, removed);
+                } catch (FileAlreadyExistsException ignored) {
+                    // The newer day file stays
+                }
+            }
+            Files.delete(removed);
+            final LocalDate date = getDate(path.toFile());
+            if(date != null && Files.notExists(path))
+                WRITTEN.put(date, FileStamp.MISSING);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.error("Could not remove packed Calendar Day, it is kept as `{}`", removed, e);
+        }
+    }
+
+    @Nullable
+    private CalendarDay readPacked(LocalDate date) {
+        final YearPack pack = getPack(date.getYear());
+        final ByteBuffer buffer = pack != null ? pack.get(date) : null;
+        if(buffer == null)
+            return null;
+
+        final byte[] head = new byte[Math.min(buffer.remaining(), 8)];
+        buffer.duplicate().get(head);
+        try {
+            return (BINARY.isFormatOf(head) ? BINARY : JSON).decode(buffer);
+        } catch (IOException e) {
+            LOGGER.error("Unable to process packed Calendar Day: `{}`", date, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return The day, or null for a tombstone
+     */
+    @Nullable
+    private CalendarDay decode(byte[] bytes) throws IOException {
+        if(bytes.length == 0)
+            return null;
+        return (BINARY.isFormatOf(bytes) ? BINARY : JSON).decode(bytes);
+    }
+
+    /**
+     * Deletes the day file of an emptied day, or replaces it with a tombstone if the day is packed or its year is being packed.
+     */
+    private boolean delete(LocalDate date, File file) {
+        try {
+            if(!needsTombstone(date)) {
+                if(Files.deleteIfExists(file.toPath()))
+                    LOGGER.debug("Deleted empty Calendar Day: `{}`", date);
+                // Packing may have started and read the file before it was deleted
+                if(!PACKING.contains(date.getYear()))
+                    return true;
+            }
+
+            Files.createDirectories(file.getParentFile().toPath());
+            final Path tempPath = file.toPath().resolveSibling(file.getName() + ".tmp");
+            Files.write(tempPath, TOMBSTONE);
+            Files.move(tempPath, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Deleted packed Calendar Day: `{}`", date);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Could not delete empty Calendar Day: `{}`", date, e);
+            return false;
+        }
+    }
+
+    private boolean needsTombstone(LocalDate date) {
+        if(PACKING.contains(date.getYear()))
+            return true;
+        final YearPack pack = getPack(date.getYear());
+        return pack != null && pack.contains(date);
+    }
+
+    /**
+     * @return The size in bytes of every file under the root folder, including the Event Index and the archive
+     */
+    public long getSize() {
+        try(Stream<Path> paths = Files.walk(ROOT.toPath())) {
+            return paths.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.error("Could not measure Calendar Folder: `{}`", ROOT.getAbsolutePath(), e);
+            return -1;
+        }
+    }
+
+    @Override
+    public File getIndexFile() {
+        return new File(ROOT, EventIndex.INDEX_FILE_NAME);
+    }
+
+    @Override
+    public File getArchiveFolder() {
+        return new File(ROOT, CalendarArchive.ARCHIVE_FOLDER);
+    }
+
+    /**
+     * The key, modified time and size of a file, like {@link YearPack} keeps to notice its file being replaced.
+     */
+    private static final class FileStamp {
+        private static final FileStamp MISSING = new FileStamp(null, -1, -1);
+
+        @Nullable
+        private final Object FILE_KEY;
+        private final long LAST_MODIFIED;
+        private final long SIZE;
+
+        private FileStamp(@Nullable Object fileKey, long lastModified, long size) {
+            FILE_KEY = fileKey;
+            LAST_MODIFIED = lastModified;
+            SIZE = size;
+        }
+
+        private static FileStamp of(Path path) {
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.fileKey(), attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if(this == other)
+                return true;
+            if(!(other instanceof FileStamp))
+                return false;
+            final FileStamp fileStamp = (FileStamp) other;
+            return LAST_MODIFIED == fileStamp.LAST_MODIFIED && SIZE == fileStamp.SIZE && Objects.equals(FILE_KEY, fileStamp.FILE_KEY);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(FILE_KEY, LAST_MODIFIED, SIZE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileCalendarStore{" +
+                "ROOT=" + ROOT +
+                ", codec=" + codec.getName() +
+                '}';
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.fasterxml.jackson.annotation.*;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * A single mutation in the {@link CalendarJournal}, written as one JSON line.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "op",
+        "date",
+        "id",
+        "event",
+        "day"
+})
+public class JournalRecord {
+
+    public enum Operation {
+        /**
+         * An event was added to or updated in the day, carries the whole event.
+         */
+        PUT,
+        /**
+         * An event was removed from the day, carries only its UNIQUE_ID.
+         */
+        REMOVE,
+        /**
+         * The whole day was saved, carries the whole day.
+         */
+        DAY
+    }
+
+    @JsonProperty("op") public final Operation OPERATION;
+    /**
+     * {@link LocalDate#toString()} of the day the mutation happened in
+     */
+    @JsonProperty("date") public final String DATE;
+    @Nullable @JsonProperty("id") public final String UNIQUE_ID;
+    @Nullable @JsonProperty("event") public final CalendarEvent EVENT;
+    @Nullable @JsonProperty("day") public final CalendarDay DAY;
+
+    @JsonCreator
+    public JournalRecord(@JsonProperty("op") final Operation operation, @JsonProperty("date") final String date,
+                         @JsonProperty("id") @Nullable final String uniqueId,
+                         @JsonProperty("event") @Nullable final CalendarEvent event,
+                         @JsonProperty("day") @Nullable final CalendarDay day) {
+        OPERATION = operation;
+        DATE = date;
+        UNIQUE_ID = uniqueId;
+        EVENT = event;
+        DAY = day;
+    }
+
+    public static JournalRecord put(@NotNull LocalDate date, @NotNull CalendarEvent calendarEvent) {
+        return new JournalRecord(Operation.PUT, date.toString(), calendarEvent.getUniqueID(), calendarEvent, null);
+    }
+
+    public static JournalRecord remove(@NotNull LocalDate date, @NotNull String uniqueId) {
+        return new JournalRecord(Operation.REMOVE, date.toString(), uniqueId, null, null);
+    }
+
+    public static JournalRecord day(@NotNull CalendarDay calendarDay) {
+        return new JournalRecord(Operation.DAY, calendarDay.getDate().toString(), null, null, calendarDay);
+    }
+
+    @JsonIgnore
+    public LocalDate getDate() {
+        return LocalDate.parse(DATE);
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "OPERATION=" + OPERATION +
+                ", DATE='" + DATE + '\'' +
+                ", UNIQUE_ID='" + UNIQUE_ID + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The original, pretty printed JSON day file written with {@link MSGCalendar#OBJECT_MAPPER}, or the ObjectMapper it was created with.
+ * <p>
+ * The compact variant, {@link CalendarDayCodec#COMPACT_JSON}, writes the same JSON without whitespace, both read either.
+ * The ObjectReader and ObjectWriter are immutable, so they are built once and shared by every thread.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class JsonCalendarDayCodec implements CalendarDayCodec {
+
+    /**
+     * Null until set, so the codec can be created while {@link MSGCalendar} is still initializing.
+     */
+    @Nullable
+    private final ObjectMapper OBJECT_MAPPER;
+    private final boolean PRETTY;
+
+    /**
+     * Built on first use, from the ObjectMapper as configured by then
+     */
+    private volatile ObjectWriter writer = null;
+    private volatile ObjectReader reader = null;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER}
+     */
+    public JsonCalendarDayCodec() {
+        this(null);
+    }
+
+    public JsonCalendarDayCodec(@Nullable ObjectMapper objectMapper) {
+        this(objectMapper, true);
+    }
+
+    /**
+     * @param pretty false to write compact JSON
+     */
+    public JsonCalendarDayCodec(@Nullable ObjectMapper objectMapper, boolean pretty) {
+        OBJECT_MAPPER = objectMapper;
+        PRETTY = pretty;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER != null ? OBJECT_MAPPER : MSGCalendar.OBJECT_MAPPER;
+    }
+
+    @Override
+    public String getName() {
+        return PRETTY ? "json" : "json-compact";
+    }
+
+    public boolean isPretty() {
+        return PRETTY;
+    }
+
+    @Override
+    public boolean isFormatOf(@NotNull byte[] bytes) {
+        for(byte b : bytes) {
+            if(!Character.isWhitespace(b))
+                return b == '{';
+        }
+        return false;
+    }
+
+    /**
+     * The pretty printer breaks the line after the opening brace, compact JSON follows it with the first field.
+     */
+    @Override
+    public boolean isVariantOf(@NotNull byte[] bytes) {
+        int index = 0;
+        while(index < bytes.length && Character.isWhitespace(bytes[index]))
+            index++;
+        if(index + 1 >= bytes.length || bytes[index] != '{')
+            return false;
+        return Character.isWhitespace(bytes[index + 1]) == PRETTY;
+    }
+
+    @Override
+    public byte[] encode(@NotNull CalendarDay calendarDay) throws IOException {
+        return getWriter().writeValueAsBytes(calendarDay);
+    }
+
+    @Override
+    public CalendarDay decode(@NotNull byte[] bytes) throws IOException {
+        return getReader().readValue(bytes);
+    }
+
+    @Override
+    public CalendarDay decode(@NotNull ByteBuffer buffer) throws IOException {
+        return getReader().readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+    }
+
+    private ObjectWriter getWriter() {
+        ObjectWriter objectWriter = writer;
+        if(objectWriter == null) {
+            final ObjectWriter calendarDayWriter = getObjectMapper().writerFor(CalendarDay.class);
+            writer = objectWriter = PRETTY ? calendarDayWriter.withDefaultPrettyPrinter() : calendarDayWriter;
+        }
+        return objectWriter;
+    }
+
+    private ObjectReader getReader() {
+        ObjectReader objectReader = reader;
+        if(objectReader == null)
+            reader = objectReader = getObjectMapper().readerFor(CalendarDay.class);
+        return objectReader;
+    }
+
+}
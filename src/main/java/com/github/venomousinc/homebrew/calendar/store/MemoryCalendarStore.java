@@ -0,0 +1,68 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every Calendar Day in memory, for tests, benchmarks and calendars which do not need to outlive the JVM.
+ * <p>
+ * Days are copied on write and on read, so like a file a stored day only changes when it is written again.
+ * The events themselves are shared, not copied.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class MemoryCalendarStore implements CalendarStore {
+
+    private final ConcurrentSkipListMap<LocalDate, CalendarDay> DAYS = new ConcurrentSkipListMap<>();
+
+    @Nullable
+    @Override
+    public CalendarDay read(@NotNull LocalDate date) {
+        final CalendarDay calendarDay = DAYS.get(date);
+        return calendarDay != null ? copy(calendarDay) : null;
+    }
+
+    @Override
+    public boolean write(@NotNull CalendarDay calendarDay) {
+        if(calendarDay.getEventCount() == 0)
+            DAYS.remove(calendarDay.getDate());
+        else
+            DAYS.put(calendarDay.getDate(), copy(calendarDay));
+        return true;
+    }
+
+    @Override
+    public boolean contains(@NotNull LocalDate date) {
+        return DAYS.containsKey(date);
+    }
+
+    @Override
+    public Stream<LocalDate> getDates(@Nullable LocalDate from, @Nullable LocalDate to) {
+        NavigableMap<LocalDate, CalendarDay> days = DAYS;
+        if(from != null)
+            days = days.tailMap(from, true);
+        if(to != null)
+            days = days.headMap(to, true);
+        return days.keySet().stream();
+    }
+
+    public int size() {
+        return DAYS.size();
+    }
+
+    public void clear() {
+        DAYS.clear();
+    }
+
+    private static CalendarDay copy(CalendarDay calendarDay) {
+        return new CalendarDay(calendarDay.DAY_OF_YEAR, calendarDay.YEAR, calendarDay.copyEvents());
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily loads a stream of dates into their Calendar Days.
+ * <p>
+ * Days are loaded in parallel on a bounded pool, at most {@link #getReadAhead()} days ahead of the consumer,
+ * and returned in the order of their dates.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class ParallelDayLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ParallelDayLoader.class );
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "MSGCalendar-DayLoader-" + THREAD_ID.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile int readAhead = THREADS * 4;
+
+    private ParallelDayLoader() {
+    }
+
+    /**
+     * Must be closed, which also closes the stream of dates.
+     *
+     * @param dates The dates to load, such as {@link CalendarStore#getDates(LocalDate, LocalDate)}
+     * @param loader Loads the day of a date, may return null to skip it
+     */
+    public static Stream<CalendarDay> stream(@NotNull Stream<LocalDate> dates, @NotNull Function<LocalDate, CalendarDay> loader) {
+        final ReadAheadIterator iterator = new ReadAheadIterator(dates.iterator(), loader, readAhead);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .onClose(() -> {
+                    iterator.cancel();
+                    dates.close();
+                });
+    }
+
+    public static boolean isWithin(@NotNull LocalDate date, @Nullable LocalDate from, @Nullable LocalDate to) {
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    public static int getReadAhead() {
+        return readAhead;
+    }
+
+    /**
+     * @param readAhead How many days a stream loads ahead of its consumer, bounding its memory
+     */
+    public static void setReadAhead(int readAhead) {
+        if(readAhead < 1)
+            throw new IllegalArgumentException("Read ahead must be positive: " + readAhead);
+        ParallelDayLoader.readAhead = readAhead;
+    }
+
+    private static class ReadAheadIterator implements Iterator<CalendarDay> {
+
+        private final Iterator<LocalDate> DATES;
+        private final Function<LocalDate, CalendarDay> LOADER;
+        private final int READ_AHEAD;
+        private final ArrayDeque<Future<CalendarDay>> AHEAD = new ArrayDeque<>();
+
+        private CalendarDay next = null;
+
+        private ReadAheadIterator(Iterator<LocalDate> dates, Function<LocalDate, CalendarDay> loader, int readAhead) {
+            DATES = dates;
+            LOADER = loader;
+            READ_AHEAD = readAhead;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while(next == null) {
+                fill();
+                final Future<CalendarDay> future = AHEAD.poll();
+                if(future == null)
+                    return false;
+
+                try {
+                    next = future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    return false;
+                } catch (ExecutionException e) {
+                    LOGGER.error("Could not load Calendar Day", e.getCause());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public CalendarDay next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            final CalendarDay calendarDay = next;
+            next = null;
+            return calendarDay;
+        }
+
+        private void fill() {
+            try {
+                while(AHEAD.size() < READ_AHEAD && DATES.hasNext()) {
+                    final LocalDate date = DATES.next();
+                    AHEAD.add(EXECUTOR.submit(() -> LOADER.apply(date)));
+                }
+            } catch (UncheckedIOException e) {
+                LOGGER.error("Could not list Calendar Days", e);
+            }
+        }
+
+        private void cancel() {
+            Future<CalendarDay> future;
+            while((future = AHEAD.poll()) != null)
+                future.cancel(false);
+        }
+    }
+
+}
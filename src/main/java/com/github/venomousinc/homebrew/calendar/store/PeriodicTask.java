@@ -0,0 +1,81 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a task on its own daemon thread every interval, starting one interval from now.
+ * A run which throws is logged and does not cancel the following runs.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class PeriodicTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( PeriodicTask.class );
+
+    private final String NAME;
+    private final Duration AWAIT;
+
+    private ScheduledExecutorService executor = null;
+
+    /**
+     * @param name The name of the thread, prefixed with MSGCalendar-
+     * @param await How long {@link #stop()} waits for a running run to finish
+     */
+    public PeriodicTask(@NotNull String name, @NotNull Duration await) {
+        NAME = "MSGCalendar-" + name;
+        AWAIT = await;
+    }
+
+    /**
+     * Stops the task if it is running, then runs the new one every interval.
+     * @param interval Must be positive
+     * @param failure Logged with the exception when a run throws
+     */
+    public synchronized void start(@NotNull Duration interval, @NotNull Runnable task, @NotNull String failure) {
+        stop();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long intervalMs = interval.toMillis();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.error(failure, e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the following runs and waits for a running run to finish.
+     * @return false if the task was not running
+     */
+    public synchronized boolean stop() {
+        if(executor == null)
+            return false;
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(AWAIT.toMillis(), TimeUnit.MILLISECONDS))
+                LOGGER.warn("{} did not stop in time", NAME);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        return true;
+    }
+
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * Optional write-behind persistence for {@link CalendarDay}s.
+ * <p>
+ * While enabled, {@link CalendarDay#save()} only marks the day dirty and a background flusher writes every dirty day
+ * at most once per flush interval, so a burst of saves into the same day costs a single write.
+ * Once more than the maximum amount of dirty days build up, the saving thread flushes them itself.
+ * <p>
+ * Dirty days are pinned in memory until they are written, call {@link #flush()} to write them immediately.
+ * A shutdown hook flushes whatever is left when the JVM exits.
+ * <p>
+ * With a {@link CalendarJournal} set, every mutation is also appended to the journal before the save returns,
+ * so dirty days survive a crash, and each flush compacts the journal into the day files.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class WriteBehind {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( WriteBehind.class );
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_MAX_DIRTY_DAYS = 256;
+
+    private final LinkedHashMap<LocalDate, CalendarDay> DIRTY = new LinkedHashMap<>();
+    /**
+     * Days taken out of {@link #DIRTY} by a flush, still pinned until their write finishes.
+     */
+    private final LinkedHashMap<LocalDate, CalendarDay> FLUSHING = new LinkedHashMap<>();
+
+    /**
+     * Serializes flushes, so a day is never written by two threads at once.
+     */
+    private final Object FLUSH_LOCK = new Object();
+
+    private volatile boolean enabled = false;
+    private int maxDirtyDays = DEFAULT_MAX_DIRTY_DAYS;
+    private volatile CalendarJournal journal = null;
+    private final PeriodicTask FLUSHER = new PeriodicTask("WriteBehind", Duration.ofSeconds(10));
+    private Thread shutdownHook = null;
+
+    public WriteBehind enable() {
+        return enable(DEFAULT_FLUSH_INTERVAL, DEFAULT_MAX_DIRTY_DAYS);
+    }
+
+    /**
+     * @param flushInterval How often the background flusher writes dirty days
+     * @param maxDirtyDays How many dirty days may build up before the saving thread flushes them
+     */
+    public synchronized WriteBehind enable(@NotNull Duration flushInterval, int maxDirtyDays) {
+        if(flushInterval.isNegative() || flushInterval.isZero())
+            throw new IllegalArgumentException("Flush interval must be positive: " + flushInterval);
+        if(maxDirtyDays < 1)
+            throw new IllegalArgumentException("Max dirty days must be positive: " + maxDirtyDays);
+
+        FLUSHER.stop();
+        this.maxDirtyDays = maxDirtyDays;
+
+        FLUSHER.start(flushInterval, this::flush, "Write-behind flush failed!");
+
+        if(shutdownHook == null) {
+            shutdownHook = new Thread(this::flush, "MSGCalendar-WriteBehind-Shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+
+        enabled = true;
+        LOGGER.info("Write-behind enabled, flushing every {}ms, max {} dirty days", flushInterval.toMillis(), maxDirtyDays);
+        return this;
+    }
+
+    /**
+     * Flushes every dirty day and goes back to writing on every save.
+     */
+    public synchronized void disable() {
+        enabled = false;
+        FLUSHER.stop();
+        flush();
+
+        if(shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // Already shutting down, the hook flushes anyway
+            }
+            shutdownHook = null;
+        }
+        LOGGER.info("Write-behind disabled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replays whatever the journal holds from a previous run, then journals every following mutation.
+     * Days which are dirty at this point are flushed first, as they have no journal records.
+     *
+     * @param journal The journal, or null to stop journaling
+     */
+    public synchronized WriteBehind setJournal(@Nullable CalendarJournal journal) {
+        flush();
+        final CalendarJournal previous = this.journal;
+        this.journal = null;
+        if(previous != null)
+            previous.close();
+
+        if(journal != null)
+            journal.recover();
+        this.journal = journal;
+        return this;
+    }
+
+    @Nullable
+    public CalendarJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Queues the day to be written by the next flush.
+     */
+    public void markDirty(@NotNull CalendarDay calendarDay) {
+        markDirty(calendarDay, JournalRecord.day(calendarDay));
+    }
+
+    /**
+     * Queues the day to be written by the next flush, and appends the mutation to the journal if there is one.
+     * The day is marked before the record is appended, so a flush which folds the record always writes the day.
+     */
+    public void markDirty(@NotNull CalendarDay calendarDay, @NotNull JournalRecord record) {
+        final boolean overflow;
+        synchronized (DIRTY) {
+            DIRTY.put(calendarDay.getDate(), calendarDay);
+            overflow = DIRTY.size() > maxDirtyDays;
+        }
+
+        final CalendarJournal calendarJournal = journal;
+        if(calendarJournal != null) {
+            try {
+                calendarJournal.append(record);
+            } catch (IOException e) {
+                LOGGER.error("Could not journal {}, it is only durable after the next flush", record, e);
+            }
+        }
+
+        if(overflow) {
+            LOGGER.debug("Write-behind exceeded {} dirty days, flushing on the calling thread", maxDirtyDays);
+            flush();
+        }
+    }
+
+    /**
+     * @return The unwritten day for the date, which is newer than its file, or null if it is not dirty
+     */
+    @Nullable
+    public CalendarDay getPending(@NotNull LocalDate date) {
+        synchronized (DIRTY) {
+            final CalendarDay calendarDay = DIRTY.get(date);
+            return calendarDay != null ? calendarDay : FLUSHING.get(date);
+        }
+    }
+
+    /**
+     * @return A copy of every dirty day
+     */
+    public ArrayList<CalendarDay> getPendingDays() {
+        synchronized (DIRTY) {
+            return new ArrayList<>(DIRTY.values());
+        }
+    }
+
+    public int getDirtyCount() {
+        synchronized (DIRTY) {
+            return DIRTY.size();
+        }
+    }
+
+    /**
+     * Writes every dirty day. Days which fail to write stay dirty and are retried by the next flush.
+     * When journaled, the journal is rotated first and the folded segments are deleted once every day was written.
+     * @return The amount of days written
+     */
+    public int flush() {
+        synchronized (FLUSH_LOCK) {
+            return flushDirty();
+        }
+    }
+
+    private int flushDirty() {
+        final CalendarJournal calendarJournal = journal;
+        long rotatedSegment = -1;
+        if(calendarJournal != null && getDirtyCount() > 0) {
+            try {
+                rotatedSegment = calendarJournal.rotate();
+            } catch (IOException e) {
+                LOGGER.error("Could not rotate the Calendar Journal, keeping its segments", e);
+            }
+        }
+
+        final ArrayList<CalendarDay> calendarDays;
+        synchronized (DIRTY) {
+            if(DIRTY.isEmpty())
+                return 0;
+            calendarDays = new ArrayList<>(DIRTY.values());
+            FLUSHING.putAll(DIRTY);
+            DIRTY.clear();
+        }
+
+        int written = 0;
+        for(CalendarDay calendarDay : calendarDays) {
+            final boolean saved = calendarDay.saveNow() != null;
+            synchronized (DIRTY) {
+                FLUSHING.remove(calendarDay.getDate());
+                if(!saved)
+                    DIRTY.putIfAbsent(calendarDay.getDate(), calendarDay);
+            }
+            if(saved)
+                written++;
+        }
+
+        if(calendarJournal != null && rotatedSegment != -1 && written == calendarDays.size())
+            calendarJournal.deleteSegments(rotatedSegment);
+        LOGGER.debug("Write-behind flushed {}/{} Calendar Days", written, calendarDays.size());
+        return written;
+    }
+
+}
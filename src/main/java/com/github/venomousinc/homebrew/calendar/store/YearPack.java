@@ -0,0 +1,204 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A year of day files packed into one file, memory mapped so loading a day is a table lookup and a slice of the mapping.
+ * <p>
+ * Layout, big endian:
+ * <pre>
+ * "MSGY" version:byte year:int
+ * per day of year 1 to 366: offset:long length:int (0 if the day is not packed)
+ * the bytes of every packed day file, as written by its {@link CalendarDayCodec}
+ * </pre>
+ * A pack is never modified, {@link FileCalendarStore#pack(int)} writes a new one and renames it over the old.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class YearPack {
+
+    public static final String PACK_FILE_EXTENSION = "msgpack";
+
+    private static final byte[] MAGIC = { 'M', 'S', 'G', 'Y' };
+    private static final byte VERSION = 1;
+    private static final int DAYS = 366;
+    private static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int TABLE_OFFSET = MAGIC.length + 1 + Integer.BYTES;
+    private static final int HEADER_SIZE = TABLE_OFFSET + DAYS * ENTRY_SIZE;
+
+    private final int YEAR;
+    /**
+     * Only read with absolute gets and through duplicates, so it is shared by every thread.
+     */
+    private final MappedByteBuffer BUFFER;
+    /**
+     * The file's key, modified time and size when it was mapped, to notice it being replaced
+     */
+    @Nullable
+    private final Object FILE_KEY;
+    private final long LAST_MODIFIED;
+    private final long SIZE;
+
+    private YearPack(int year, MappedByteBuffer buffer, BasicFileAttributes attributes) {
+        YEAR = year;
+        BUFFER = buffer;
+        FILE_KEY = attributes.fileKey();
+        LAST_MODIFIED = attributes.lastModifiedTime().toMillis();
+        SIZE = attributes.size();
+    }
+
+    /**
+     * Maps the whole pack, the mapping stays valid after the pack is replaced or deleted.
+     */
+    public static YearPack open(@NotNull File file) throws IOException {
+        final Path path = file.toPath();
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        final MappedByteBuffer buffer;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(buffer.capacity() < HEADER_SIZE)
+            throw new IOException("Year Pack too short: " + file);
+        for(int i = 0; i < MAGIC.length; i++) {
+            if(buffer.get(i) != MAGIC[i])
+                throw new IOException("Not a Year Pack: " + file);
+        }
+        final byte version = buffer.get(MAGIC.length);
+        if(version != VERSION)
+            throw new IOException("Unsupported Year Pack version " + version + ": " + file);
+        for(int dayOfYear = 1; dayOfYear <= DAYS; dayOfYear++) {
+            final long offset = buffer.getLong(getEntry(dayOfYear));
+            final int length = buffer.getInt(getEntry(dayOfYear) + Long.BYTES);
+            if(length < 0 || (length > 0 && (offset < HEADER_SIZE || offset + length > buffer.capacity())))
+                throw new IOException("Corrupt Year Pack, day " + dayOfYear + " lies outside of it: " + file);
+        }
+
+        return new YearPack(buffer.getInt(MAGIC.length + 1), buffer, attributes);
+    }
+
+    /**
+     * Writes the pack to a temporary file first and then renames it over the old pack.
+     * @param days The bytes of every day file by day of year, index 0 for the first day, null for a day without events
+     * @return The size of the pack in bytes
+     */
+    public static long write(@NotNull File file, int year, @NotNull byte[][] days) throws IOException {
+        if(days.length > DAYS)
+            throw new IllegalArgumentException("A year has at most " + DAYS + " days: " + days.length);
+
+        long size = HEADER_SIZE;
+        for(byte[] day : days)
+            size += day != null ? day.length : 0;
+        if(size > Integer.MAX_VALUE)
+            throw new IOException("Year Pack of " + year + " would exceed 2GB: " + size + " bytes");
+
+        final Path tempPath = file.toPath().resolveSibling(file.getName() + ".tmp");
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(year);
+
+            long offset = HEADER_SIZE;
+            for(int i = 0; i < DAYS; i++) {
+                final byte[] day = i < days.length ? days[i] : null;
+                final int length = day != null ? day.length : 0;
+                out.writeLong(length > 0 ? offset : 0);
+                out.writeInt(length);
+                offset += length;
+            }
+            for(byte[] day : days) {
+                if(day != null)
+                    out.write(day);
+            }
+        }
+        Files.move(tempPath, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file.length();
+    }
+
+    public int getYear() {
+        return YEAR;
+    }
+
+    public boolean contains(@NotNull LocalDate date) {
+        return date.getYear() == YEAR && getLength(date.getDayOfYear()) > 0;
+    }
+
+    /**
+     * @return A read-only slice of the mapping holding the day file, or null if the day is not packed
+     */
+    @Nullable
+    public ByteBuffer get(@NotNull LocalDate date) {
+        if(date.getYear() != YEAR)
+            return null;
+        final int length = getLength(date.getDayOfYear());
+        if(length <= 0)
+            return null;
+
+        final long offset = BUFFER.getLong(getEntry(date.getDayOfYear()));
+        final ByteBuffer slice = BUFFER.asReadOnlyBuffer();
+        slice.position((int) offset).limit((int) offset + length);
+        return slice.slice();
+    }
+
+    /**
+     * @return The packed days, in date order
+     */
+    public List<LocalDate> getDates() {
+        final ArrayList<LocalDate> dates = new ArrayList<>();
+        final int dayCount = LocalDate.ofYearDay(YEAR, 1).lengthOfYear();
+        for(int dayOfYear = 1; dayOfYear <= dayCount; dayOfYear++) {
+            if(getLength(dayOfYear) > 0)
+                dates.add(LocalDate.ofYearDay(YEAR, dayOfYear));
+        }
+        return dates;
+    }
+
+    public long getSize() {
+        return SIZE;
+    }
+
+    /**
+     * @return true if the file is still the one which was mapped
+     */
+    boolean isMappingOf(@NotNull BasicFileAttributes attributes) {
+        return Objects.equals(FILE_KEY, attributes.fileKey())
+                && LAST_MODIFIED == attributes.lastModifiedTime().toMillis()
+                && SIZE == attributes.size();
+    }
+
+    private int getLength(int dayOfYear) {
+        return BUFFER.getInt(getEntry(dayOfYear) + Long.BYTES);
+    }
+
+    private static int getEntry(int dayOfYear) {
+        return TABLE_OFFSET + (dayOfYear - 1) * ENTRY_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return "YearPack{" +
+                "YEAR=" + YEAR +
+                ", SIZE=" + SIZE +
+                '}';
+    }
+
+}
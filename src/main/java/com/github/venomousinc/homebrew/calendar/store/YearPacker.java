@@ -0,0 +1,100 @@
+package com.github.venomousinc.homebrew.calendar.store;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Packs years with many day files into their {@link YearPack}s, so a cold start maps one file per year
+ * instead of opening a file per day.
+ * <p>
+ * Days stay writable as day files while their year is packed, they are folded into the pack the next time it is repacked.
+ * Only partitions stored in a {@link FileCalendarStore} are packed.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class YearPacker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( YearPacker.class );
+
+    public static final int DEFAULT_MIN_DAY_FILES = 32;
+
+    private volatile int minDayFiles = DEFAULT_MIN_DAY_FILES;
+    private final PeriodicTask TASK = new PeriodicTask("YearPacker", Duration.ofMinutes(1));
+
+    public int getMinDayFiles() {
+        return minDayFiles;
+    }
+
+    /**
+     * @param minDayFiles The amount of day files outside of its pack a year needs before it is packed again
+     */
+    public YearPacker setMinDayFiles(int minDayFiles) {
+        if(minDayFiles < 1)
+            throw new IllegalArgumentException("Min day files must be positive: " + minDayFiles);
+        this.minDayFiles = minDayFiles;
+        return this;
+    }
+
+    /**
+     * Packs the years of the shared partition and of every tenant partition with at least {@link #getMinDayFiles()} day files.
+     * @return The amount of day files packed
+     */
+    public long pack() {
+        long packed = pack(MSGCalendar.PARTITIONS.getShared());
+        for(Long tenantId : MSGCalendar.PARTITIONS.getTenantIds())
+            packed += pack(MSGCalendar.PARTITIONS.get(tenantId));
+        return packed;
+    }
+
+    /**
+     * @return The amount of day files of the partition packed
+     */
+    public long pack(@NotNull CalendarPartition partition) {
+        if(!(partition.getStore() instanceof FileCalendarStore))
+            return 0;
+
+        final FileCalendarStore store = (FileCalendarStore) partition.getStore();
+        long packed = 0;
+        for(int year : DayFileLayout.getYears(store.getRoot())) {
+            if(store.getDayFileCount(year) >= minDayFiles)
+                packed += Math.max(0, store.pack(year));
+        }
+        return packed;
+    }
+
+    /**
+     * Packs on a background thread every interval, starting one interval from now.
+     */
+    public synchronized YearPacker start(@NotNull Duration interval) {
+        if(interval.isNegative() || interval.isZero())
+            throw new IllegalArgumentException("Pack interval must be positive: " + interval);
+
+        TASK.start(interval, this::pack, "Could not pack Calendar Days");
+        LOGGER.info("Year Packer started, packing every {}ms years with {} day files", interval.toMillis(), minDayFiles);
+        return this;
+    }
+
+    public synchronized void stop() {
+        if(TASK.stop())
+            LOGGER.info("Year Packer stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return TASK.isRunning();
+    }
+
+    @Override
+    public String toString() {
+        return "YearPacker{" +
+                "minDayFiles=" + minDayFiles +
+                ", running=" + isRunning() +
+                '}';
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports every Calendar Event of every partition, streaming the Calendar Days in,
+ * so only the days being read ahead are held in memory however large the calendar is.
+ *
+ * @see CalendarImporter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarExporter.class );
+
+    private CalendarExporter() {
+    }
+
+    /**
+     * @see #exportEvents(EventWriter, LocalDate, LocalDate)
+     */
+    public static long exportEvents(@NotNull EventWriter writer) throws IOException {
+        return exportEvents(writer, null, null);
+    }
+
+    /**
+     * Writes the events of the days between two dates (inclusive), in order of their days. The writer is not closed.
+     *
+     * @param from The first date, or null for no lower bound
+     * @param to The last date, or null for no upper bound
+     * @return The amount of events written
+     */
+    public static long exportEvents(@NotNull EventWriter writer, @Nullable LocalDate from, @Nullable LocalDate to) throws IOException {
+        final long start = System.nanoTime();
+        long events = 0;
+        try(Stream<CalendarDay> calendarDays = MSGCalendar.PARTITIONS.streamAllCalendarDays(from, to)) {
+            final Iterator<CalendarDay> iterator = calendarDays.iterator();
+            while(iterator.hasNext()) {
+                for(CalendarEvent calendarEvent : iterator.next().copyEvents()) {
+                    writer.write(calendarEvent);
+                    events++;
+                }
+            }
+        }
+
+        LOGGER.info("Exported {} Calendar Events in {}ms", events, (System.nanoTime() - start) / 1_000_000);
+        return events;
+    }
+
+}
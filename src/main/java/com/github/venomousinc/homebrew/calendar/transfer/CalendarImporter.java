@@ -0,0 +1,429 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.change.CalendarChange;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.CalendarPartition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Imports any amount of Calendar Events, writing every Calendar Day they land in once,
+ * instead of reloading and rewriting the day for each {@link CalendarEvent#save()}.
+ * <p>
+ * Events are read in batches of {@link #getBatchSize()}, sorted by partition and day, and spilled to temporary JSON lines files,
+ * which are then merged so the events of each day arrive together. Memory is bounded by the batch size however large the import is,
+ * and an import which fits in a single batch never touches the temporary folder.
+ * <p>
+ * If the same event is read more than once, only its last copy is imported, even if the copies land on different days.
+ * An import larger than a batch first sorts and merges its events by unique ID to drop the earlier copies, spilling them twice.
+ * <p>
+ * Like {@link CalendarEvent#save()}, an event replaces the saved event with the same unique ID and is moved out of the day it was in,
+ * and the indexes and {@link MSGCalendar#ALERT_SCHEDULER} are kept up to date.
+ *
+ * @see CalendarExporter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CalendarImporter.class );
+
+    public static final int DEFAULT_BATCH_SIZE = 100_000;
+
+    /**
+     * By partition, then day.
+     */
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingLong(entry -> entry.TENANT_ID)
+            .thenComparing(entry -> entry.DATE);
+    /**
+     * By unique ID. The sort is stable and runs are merged in the order they were read, so copies of an event stay in input order.
+     */
+    private static final Comparator<Entry> BY_ID = Comparator.comparing(entry -> entry.EVENT.getUniqueID());
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    @Nullable
+    private File tempFolder = null;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The amount of events held in memory at once
+     */
+    public CalendarImporter setBatchSize(int batchSize) {
+        if(batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param tempFolder Where sorted batches are spilled, or null for the system temporary folder
+     */
+    public CalendarImporter setTempFolder(@Nullable File tempFolder) {
+        this.tempFolder = tempFolder;
+        return this;
+    }
+
+    /**
+     * Reads every event of the reader and saves them, the reader is not closed.
+     * @return What was imported
+     * @throws IOException If the reader or a temporary file failed, events of days already written stay imported
+     */
+    public ImportResult importEvents(@NotNull EventReader reader) throws IOException {
+        final long start = System.nanoTime();
+        final ImportResult result = new ImportResult();
+        final Runs runs = new Runs();
+
+        try {
+            final ArrayList<Entry> batch = new ArrayList<>(Math.min(batchSize, 1 << 16));
+            final ArrayList<Path> idRuns = new ArrayList<>();
+            CalendarEvent calendarEvent;
+            while((calendarEvent = reader.read()) != null) {
+                batch.add(new Entry(calendarEvent));
+                if(batch.size() == batchSize) {
+                    idRuns.add(runs.write(batch, BY_ID));
+                    batch.clear();
+                }
+            }
+
+            if(idRuns.isEmpty()) {
+                batch.sort(BY_ID);
+                final ArrayList<Entry> lastCopies = new ArrayList<>(batch.size());
+                new LastCopyIterator(batch.iterator()).forEachRemaining(lastCopies::add);
+                batch.clear();
+                lastCopies.sort(ORDER);
+                writeDays(lastCopies.iterator(), result);
+            } else {
+                if(!batch.isEmpty())
+                    idRuns.add(runs.write(batch, BY_ID));
+                batch.clear();
+
+                final ArrayList<Path> dayRuns = new ArrayList<>();
+                try(MergeIterator merged = new MergeIterator(idRuns, BY_ID)) {
+                    final LastCopyIterator lastCopies = new LastCopyIterator(merged);
+                    while(lastCopies.hasNext()) {
+                        batch.add(lastCopies.next());
+                        if(batch.size() == batchSize) {
+                            dayRuns.add(runs.write(batch, ORDER));
+                            batch.clear();
+                        }
+                    }
+                    if(!batch.isEmpty())
+                        dayRuns.add(runs.write(batch, ORDER));
+                    batch.clear();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                try(MergeIterator merged = new MergeIterator(dayRuns, ORDER)) {
+                    writeDays(merged, result);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        } finally {
+            runs.delete();
+        }
+
+        LOGGER.info("Imported {} Calendar Events into {} Calendar Days in {}ms", result.events, result.days,
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * @param sorted The events in {@link #ORDER}
+     */
+    private static void writeDays(Iterator<Entry> sorted, ImportResult result) {
+        final ArrayList<CalendarEvent> events = new ArrayList<>();
+        Entry first = null;
+        while(sorted.hasNext()) {
+            final Entry entry = sorted.next();
+            if(first != null && ORDER.compare(first, entry) != 0) {
+                writeDay(first, events, result);
+                events.clear();
+            }
+            if(events.isEmpty())
+                first = entry;
+            events.add(entry.EVENT);
+        }
+        if(first != null)
+            writeDay(first, events, result);
+    }
+
+    /**
+     * Loads the day, puts every event and saves it once, while holding the day's lock.
+     */
+    private static void writeDay(Entry first, List<CalendarEvent> events, ImportResult result) {
+        final CalendarPartition partition = MSGCalendar.PARTITIONS.get(first.TENANT_ID);
+        final CalendarPartition shared = MSGCalendar.PARTITIONS.getShared();
+        final LinkedHashMap<String, LocalDate> moved = new LinkedHashMap<>();
+        final HashSet<String> updated = new HashSet<>();
+        final CalendarDay calendarDay;
+        final boolean saved;
+
+        final ReentrantLock lock = partition.getDayLocks().get(first.DATE);
+        lock.lock();
+        try {
+            calendarDay = partition.getCalendarDay(first.DATE);
+            for(CalendarEvent calendarEvent : events) {
+                final LocalDate previousDate = partition.getEventIndex().get(calendarEvent.getUniqueID());
+                if(previousDate != null && !previousDate.equals(first.DATE))
+                    moved.put(calendarEvent.getUniqueID(), previousDate);
+                if(calendarDay.putEvent(calendarEvent) != null)
+                    updated.add(calendarEvent.getUniqueID());
+            }
+            saved = calendarDay.save() != null;
+        } finally {
+            lock.unlock();
+        }
+
+        for(Map.Entry<String, LocalDate> entry : moved.entrySet())
+            if(partition.removeEvent(entry.getValue(), entry.getKey(), false) != null)
+                updated.add(entry.getKey());
+        for(CalendarEvent calendarEvent : events) {
+            if(!partition.isShared()) {
+                // Saved in the shared partition before partitioning was enabled
+                final LocalDate sharedDate = shared.getEventIndex().get(calendarEvent.getUniqueID());
+                if(sharedDate != null && shared.removeEvent(sharedDate, calendarEvent.getUniqueID(), false) != null)
+                    updated.add(calendarEvent.getUniqueID());
+            }
+            // Removing the old copies dropped the moved events from the query indexes
+            MSGCalendar.INTERVAL_INDEX.put(calendarEvent);
+            MSGCalendar.DISCORD_INDEX.put(calendarEvent);
+            MSGCalendar.ALERT_SCHEDULER.schedule(calendarEvent);
+        }
+
+        if(saved && MSGCalendar.EVENT_BUS.hasListeners()) {
+            final ArrayList<CalendarChange> changes = new ArrayList<>(events.size());
+            for(CalendarEvent calendarEvent : events)
+                changes.add(new CalendarChange(updated.contains(calendarEvent.getUniqueID())
+                        ? CalendarChange.Type.UPDATED : CalendarChange.Type.ADDED, calendarDay, calendarEvent));
+            MSGCalendar.EVENT_BUS.publish(changes);
+        }
+
+        if(saved) {
+            result.events += events.size();
+            result.days++;
+        } else {
+            LOGGER.error("Could not import {} Calendar Events into Calendar Day {}", events.size(), first.DATE);
+            result.failedEvents += events.size();
+            result.failedDays++;
+        }
+    }
+
+    /**
+     * The sorted batches spilled by one import, in a temporary folder created on the first spill.
+     */
+    private class Runs {
+        @Nullable
+        private Path folder = null;
+        private int count = 0;
+
+        private Path write(ArrayList<Entry> batch, Comparator<Entry> order) throws IOException {
+            if(folder == null)
+                folder = tempFolder != null ? Files.createTempDirectory(tempFolder.toPath(), "msgcal-import")
+                        : Files.createTempDirectory("msgcal-import");
+
+            batch.sort(order);
+            final Path path = folder.resolve(count++ + ".jsonl");
+            try(JsonLinesEventWriter writer = new JsonLinesEventWriter(Files.newOutputStream(path))) {
+                for(Entry entry : batch)
+                    writer.write(entry.EVENT);
+            }
+            LOGGER.debug("Spilled {} Calendar Events to `{}`", batch.size(), path);
+            return path;
+        }
+
+        private void delete() {
+            if(folder == null)
+                return;
+            try(Stream<Path> paths = Files.list(folder)) {
+                for(Path path : (Iterable<Path>) paths::iterator)
+                    Files.deleteIfExists(path);
+                Files.deleteIfExists(folder);
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.warn("Could not delete temporary import folder: `{}`", folder, e);
+            }
+        }
+    }
+
+    /**
+     * Skips every copy of an event but the last, the events must be sorted {@link #BY_ID} in input order.
+     */
+    private static class LastCopyIterator implements Iterator<Entry> {
+        private final Iterator<Entry> SORTED;
+        @Nullable
+        private Entry next;
+
+        private LastCopyIterator(Iterator<Entry> sorted) {
+            SORTED = sorted;
+            next = sorted.hasNext() ? sorted.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry next() {
+            Entry last = next;
+            if(last == null)
+                throw new NoSuchElementException();
+            next = null;
+            while(SORTED.hasNext()) {
+                final Entry entry = SORTED.next();
+                if(!entry.EVENT.getUniqueID().equals(last.EVENT.getUniqueID())) {
+                    next = entry;
+                    break;
+                }
+                last = entry;
+            }
+            return last;
+        }
+    }
+
+    /**
+     * An event with the partition and day it is saved in.
+     */
+    private static class Entry {
+        private final CalendarEvent EVENT;
+        private final long TENANT_ID;
+        private final LocalDate DATE;
+
+        private Entry(CalendarEvent event) {
+            EVENT = event;
+            TENANT_ID = MSGCalendar.PARTITIONS.getTenantId(event);
+            DATE = MSGCalendar.getLocalDate(event.getAnnouncementTime());
+        }
+    }
+
+    /**
+     * Merges the sorted runs, holding only the next event of each. Equal events come from the earlier run first.
+     */
+    private static class MergeIterator implements Iterator<Entry>, AutoCloseable {
+
+        private final ArrayList<JsonLinesEventReader> READERS = new ArrayList<>();
+        private final PriorityQueue<Head> HEADS;
+
+        private MergeIterator(List<Path> runs, Comparator<Entry> order) throws IOException {
+            HEADS = new PriorityQueue<>(Comparator.<Head, Entry>comparing(head -> head.ENTRY, order).thenComparingInt(head -> head.RUN));
+            try {
+                for(Path run : runs) {
+                    final JsonLinesEventReader reader = new JsonLinesEventReader(Files.newInputStream(run));
+                    READERS.add(reader);
+                    advance(READERS.size() - 1);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !HEADS.isEmpty();
+        }
+
+        @Override
+        public Entry next() {
+            final Head head = HEADS.poll();
+            if(head == null)
+                throw new NoSuchElementException();
+            try {
+                advance(head.RUN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return head.ENTRY;
+        }
+
+        private void advance(int run) throws IOException {
+            final CalendarEvent calendarEvent = READERS.get(run).read();
+            if(calendarEvent != null)
+                HEADS.add(new Head(new Entry(calendarEvent), run));
+        }
+
+        @Override
+        public void close() {
+            for(JsonLinesEventReader reader : READERS) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Could not close import run", e);
+                }
+            }
+        }
+
+        private static class Head {
+            private final Entry ENTRY;
+            private final int RUN;
+
+            private Head(Entry entry, int run) {
+                ENTRY = entry;
+                RUN = run;
+            }
+        }
+    }
+
+    public static class ImportResult {
+        private long events = 0;
+        private long days = 0;
+        private long failedEvents = 0;
+        private long failedDays = 0;
+
+        public long getEventCount() {
+            return events;
+        }
+
+        /**
+         * @return The amount of Calendar Days written, each day is written once
+         */
+        public long getDayCount() {
+            return days;
+        }
+
+        public long getFailedEventCount() {
+            return failedEvents;
+        }
+
+        public long getFailedDayCount() {
+            return failedDays;
+        }
+
+        @Override
+        public String toString() {
+            return "ImportResult{" +
+                    "events=" + events +
+                    ", days=" + days +
+                    ", failedEvents=" + failedEvents +
+                    ", failedDays=" + failedDays +
+                    '}';
+        }
+    }
+
+}
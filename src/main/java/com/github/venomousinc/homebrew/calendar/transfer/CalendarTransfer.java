@@ -0,0 +1,71 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Imports or exports the calendar as a file, <b>.ics</b> files are iCalendar and any other file is JSON lines.
+ * <p>
+ * Usage: <b>CalendarTransfer &lt;import|export&gt; &lt;file&gt;</b>
+ *
+ * @see CalendarImporter
+ * @see CalendarExporter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class CalendarTransfer {
+
+    public static final String ICALENDAR_EXTENSION = ".ics";
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 2 || !(args[0].equalsIgnoreCase("import") || args[0].equalsIgnoreCase("export"))) {
+            System.err.println("Usage: CalendarTransfer <import|export> <file>");
+            System.exit(1);
+            return;
+        }
+
+        final File file = new File(args[1]);
+        if(args[0].equalsIgnoreCase("import")) {
+            final CalendarImporter.ImportResult result;
+            try(EventReader reader = openReader(file)) {
+                result = new CalendarImporter().importEvents(reader);
+            }
+            MSGCalendar.WRITE_BEHIND.flush();
+            System.out.println("Imported " + result.getEventCount() + " Calendar Events into " + result.getDayCount() + " Calendar Days");
+        } else {
+            final long events;
+            try(EventWriter writer = openWriter(file)) {
+                events = CalendarExporter.exportEvents(writer);
+            }
+            System.out.println("Exported " + events + " Calendar Events to " + file);
+        }
+    }
+
+    public static boolean isICalendar(@NotNull File file) {
+        return file.getName().toLowerCase().endsWith(ICALENDAR_EXTENSION);
+    }
+
+    /**
+     * @return An {@link ICalendarReader} for <b>.ics</b> files, a {@link JsonLinesEventReader} otherwise
+     */
+    public static EventReader openReader(@NotNull File file) throws IOException {
+        if(isICalendar(file))
+            return new ICalendarReader(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8));
+        return new JsonLinesEventReader(Files.newInputStream(file.toPath()));
+    }
+
+    /**
+     * @return An {@link ICalendarWriter} for <b>.ics</b> files, a {@link JsonLinesEventWriter} otherwise
+     */
+    public static EventWriter openWriter(@NotNull File file) throws IOException {
+        if(isICalendar(file))
+            return new ICalendarWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8));
+        return new JsonLinesEventWriter(Files.newOutputStream(file.toPath()));
+    }
+
+}
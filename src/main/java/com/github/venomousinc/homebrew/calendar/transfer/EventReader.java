@@ -0,0 +1,26 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads Calendar Events one at a time from a stream, so any amount of events can be read in constant memory.
+ *
+ * @see JsonLinesEventReader
+ * @see ICalendarReader
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public interface EventReader extends Closeable {
+
+    /**
+     * @return The next event, or null once the stream is exhausted
+     * @throws IOException If the stream could not be read or is malformed
+     */
+    @Nullable
+    CalendarEvent read() throws IOException;
+
+}
@@ -0,0 +1,22 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes Calendar Events one at a time to a stream, so any amount of events can be written in constant memory.
+ * Closing the writer finishes the document and closes the stream.
+ *
+ * @see JsonLinesEventWriter
+ * @see ICalendarWriter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public interface EventWriter extends Closeable {
+
+    void write(@NotNull CalendarEvent calendarEvent) throws IOException;
+
+}
@@ -0,0 +1,411 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.Recurrence;
+import com.github.venomousinc.homebrew.calendar.data.extra.EventData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads the VEVENTs of an iCalendar (RFC 5545) <b>.ics</b> document as Calendar Events, one event at a time.
+ * <p>
+ * Reads UID, DTSTART, DTEND or DURATION, SUMMARY, DESCRIPTION, CREATED or DTSTAMP, the first VALARM TRIGGER,
+ * and the FREQ, INTERVAL, COUNT and UNTIL of an RRULE along with its EXDATEs, plus the properties {@link ICalendarWriter} adds.
+ * Times in UTC, with a TZID, floating or all day are supported; floating times and unknown TZIDs use the default zone.
+ * Other properties and components are ignored, as are the other parts of an RRULE.
+ * Events without a DTSTART, or with a value which cannot be parsed, are skipped and counted in {@link #getSkippedCount()}.
+ *
+ * @see ICalendarWriter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class ICalendarReader implements EventReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ICalendarReader.class );
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+    private static final Set<String> RRULE_PARTS = new HashSet<>(Arrays.asList("FREQ", "INTERVAL", "COUNT", "UNTIL"));
+
+    private final BufferedReader IN;
+    private final ObjectMapper OBJECT_MAPPER;
+    private final ZoneId DEFAULT_ZONE;
+
+    /**
+     * The line after the last unfolded line
+     */
+    private String lookahead = null;
+    private boolean started = false;
+    private long skipped = 0;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER} and UTC for floating times.
+     */
+    public ICalendarReader(@NotNull Reader in) {
+        this(in, MSGCalendar.OBJECT_MAPPER, ZoneOffset.UTC);
+    }
+
+    /**
+     * @param in Should read UTF-8
+     * @param objectMapper Reads the event data
+     * @param defaultZone The zone of floating times, all day dates and unknown TZIDs
+     */
+    public ICalendarReader(@NotNull Reader in, @NotNull ObjectMapper objectMapper, @NotNull ZoneId defaultZone) {
+        IN = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        OBJECT_MAPPER = objectMapper;
+        DEFAULT_ZONE = defaultZone;
+    }
+
+    @Nullable
+    @Override
+    public CalendarEvent read() throws IOException {
+        String line;
+        while((line = readLine()) != null) {
+            if(!line.equalsIgnoreCase("BEGIN:VEVENT"))
+                continue;
+            final CalendarEvent calendarEvent = readEvent();
+            if(calendarEvent != null)
+                return calendarEvent;
+        }
+        return null;
+    }
+
+    /**
+     * @return The amount of VEVENTs which could not be read
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IN.close();
+    }
+
+    @Nullable
+    private CalendarEvent readEvent() throws IOException {
+        final HashMap<String, Property> properties = new HashMap<>();
+        final StringBuilder exceptions = new StringBuilder();
+        Property trigger = null;
+
+        String line;
+        while((line = readLine()) != null) {
+            final Property property;
+            try {
+                property = Property.parse(line);
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("Ignoring malformed iCalendar line: `{}`", line);
+                continue;
+            }
+
+            if(property.NAME.equals("END") && property.VALUE.equalsIgnoreCase("VEVENT"))
+                break;
+            if(property.NAME.equals("BEGIN")) {
+                final Property alarmTrigger = skipComponent(property.VALUE.toUpperCase(Locale.ROOT));
+                if(trigger == null)
+                    trigger = alarmTrigger;
+            } else if(property.NAME.equals("EXDATE")) {
+                // Every EXDATE is kept, as one comma separated list
+                if(exceptions.length() > 0)
+                    exceptions.append(',');
+                exceptions.append(property.VALUE);
+                properties.putIfAbsent("EXDATE", property);
+            } else {
+                properties.putIfAbsent(property.NAME, property);
+            }
+        }
+        final Property uid = properties.get("UID");
+        final Property dtStart = properties.get("DTSTART");
+        if(line == null || dtStart == null) {
+            LOGGER.debug("Skipping incomplete iCalendar event: {}", uid != null ? uid.VALUE : null);
+            skipped++;
+            return null;
+        }
+
+        try {
+            final Property created = properties.containsKey("CREATED") ? properties.get("CREATED") : properties.get("DTSTAMP");
+            final CalendarEvent calendarEvent = new CalendarEvent(
+                    created != null ? parseTime(created, created.VALUE) : System.currentTimeMillis(),
+                    uid != null ? unescape(uid.VALUE) : UUID.randomUUID().toString());
+
+            final long start = parseTime(dtStart, dtStart.VALUE);
+            final long end;
+            if(properties.containsKey("DTEND")) {
+                end = parseTime(properties.get("DTEND"), properties.get("DTEND").VALUE);
+            } else if(properties.containsKey("DURATION")) {
+                end = start + parseDuration(properties.get("DURATION").VALUE).toMillis();
+            } else if(isDate(dtStart, dtStart.VALUE)) {
+                end = start + Duration.ofDays(1).toMillis();
+            } else {
+                end = start;
+            }
+            calendarEvent.setStart(start).setEnd(end);
+
+            if(trigger != null)
+                calendarEvent.setAlert(parseTrigger(trigger, start, end));
+            if(properties.containsKey("SUMMARY"))
+                calendarEvent.setName(unescape(properties.get("SUMMARY").VALUE));
+            if(properties.containsKey("DESCRIPTION"))
+                calendarEvent.setDescription(unescape(properties.get("DESCRIPTION").VALUE));
+            if(properties.containsKey(ICalendarWriter.ACTIVE_PROPERTY))
+                calendarEvent.setActive(!properties.get(ICalendarWriter.ACTIVE_PROPERTY).VALUE.equalsIgnoreCase("FALSE"));
+            if(properties.containsKey(ICalendarWriter.DATA_PROPERTY))
+                calendarEvent.setData(readData(calendarEvent, properties.get(ICalendarWriter.DATA_PROPERTY).VALUE));
+            if(properties.containsKey("RRULE"))
+                calendarEvent.setRecurrence(parseRecurrence(calendarEvent, properties.get("RRULE").VALUE, properties.get("EXDATE"), exceptions));
+            return calendarEvent;
+        } catch (DateTimeException | IllegalArgumentException | ArithmeticException e) {
+            LOGGER.warn("Skipping iCalendar event {}: {}", uid != null ? uid.VALUE : null, e.getMessage());
+            skipped++;
+            return null;
+        }
+    }
+
+    /**
+     * Skips a nested component such as a VALARM or a VTIMEZONE.
+     * @return The TRIGGER of a VALARM, or null
+     */
+    @Nullable
+    private Property skipComponent(String component) throws IOException {
+        Property trigger = null;
+        int depth = 1;
+        String line;
+        while(depth > 0 && (line = readLine()) != null) {
+            final Property property;
+            try {
+                property = Property.parse(line);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if(property.NAME.equals("BEGIN"))
+                depth++;
+            else if(property.NAME.equals("END"))
+                depth--;
+            else if(depth == 1 && component.equals("VALARM") && property.NAME.equals("TRIGGER") && trigger == null)
+                trigger = property;
+        }
+        return trigger;
+    }
+
+    @Nullable
+    private EventData readData(CalendarEvent calendarEvent, String value) {
+        try {
+            return OBJECT_MAPPER.readValue(unescape(value), EventData.class);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable Event Data of iCalendar event {}: {}", calendarEvent.getUniqueID(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param exDate The first EXDATE, for its parameters
+     * @param exceptions The values of every EXDATE
+     */
+    @Nullable
+    private Recurrence parseRecurrence(CalendarEvent calendarEvent, String value, @Nullable Property exDate, CharSequence exceptions) {
+        final HashMap<String, String> parts = new HashMap<>();
+        for(String part : value.split(";")) {
+            final int equals = part.indexOf('=');
+            if(equals > 0)
+                parts.put(part.substring(0, equals).toUpperCase(Locale.ROOT), part.substring(equals + 1));
+        }
+
+        final Recurrence.Frequency frequency;
+        try {
+            frequency = Recurrence.Frequency.valueOf(parts.getOrDefault("FREQ", "").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unsupported RRULE of iCalendar event {}: {}", calendarEvent.getUniqueID(), value);
+            return null;
+        }
+
+        final Recurrence recurrence = new Recurrence(frequency);
+        if(parts.containsKey("INTERVAL"))
+            recurrence.setInterval(Integer.parseInt(parts.get("INTERVAL")));
+        if(parts.containsKey("COUNT"))
+            recurrence.setCount(Integer.parseInt(parts.get("COUNT")));
+        if(parts.containsKey("UNTIL")) {
+            final String until = parts.get("UNTIL");
+            // A date includes the whole day
+            recurrence.setUntil(isDate(null, until)
+                    ? parseTime(null, until) + Duration.ofDays(1).toMillis() - 1
+                    : parseTime(null, until));
+        }
+        if(exceptions.length() > 0) {
+            for(String exception : exceptions.toString().split(","))
+                recurrence.addException(parseTime(exDate, exception.trim()));
+        }
+        if(!RRULE_PARTS.containsAll(parts.keySet()))
+            LOGGER.debug("Ignoring unsupported RRULE parts of iCalendar event {}: {}", calendarEvent.getUniqueID(), value);
+        return recurrence;
+    }
+
+    /**
+     * @param property Its VALUE and TZID parameters are used, or null for UTC and floating times only
+     */
+    private long parseTime(@Nullable Property property, String value) {
+        if(isDate(property, value))
+            return LocalDate.parse(value, DATE).atStartOfDay(getZone(property)).toInstant().toEpochMilli();
+        if(value.endsWith("Z") || value.endsWith("z"))
+            return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME).toInstant(ZoneOffset.UTC).toEpochMilli();
+        return LocalDateTime.parse(value, DATE_TIME).atZone(getZone(property)).toInstant().toEpochMilli();
+    }
+
+    /**
+     * A relative trigger is counted from the start, or from the end with <b>RELATED=END</b>.
+     */
+    private long parseTrigger(Property trigger, long start, long end) {
+        if("DATE-TIME".equalsIgnoreCase(trigger.getParameter("VALUE")))
+            return parseTime(trigger, trigger.VALUE);
+        final long from = "END".equalsIgnoreCase(trigger.getParameter("RELATED")) ? end : start;
+        return from + parseDuration(trigger.VALUE).toMillis();
+    }
+
+    private ZoneId getZone(@Nullable Property property) {
+        final String zone = property != null ? property.getParameter("TZID") : null;
+        if(zone == null)
+            return DEFAULT_ZONE;
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            LOGGER.debug("Unknown TZID `{}`, using {}", zone, DEFAULT_ZONE);
+            return DEFAULT_ZONE;
+        }
+    }
+
+    private static boolean isDate(@Nullable Property property, String value) {
+        return value.length() == 8 || (property != null && "DATE".equalsIgnoreCase(property.getParameter("VALUE")));
+    }
+
+    /**
+     * Reads <b>P1W</b>, <b>-PT15M</b> and <b>P1DT2H</b> style durations.
+     */
+    static Duration parseDuration(String value) {
+        final boolean negative = value.startsWith("-");
+        final String duration = negative || value.startsWith("+") ? value.substring(1) : value;
+        final int weeks = duration.indexOf('W');
+        final Duration parsed = weeks > 0
+                ? Duration.ofDays(7 * Long.parseLong(duration.substring(1, weeks)))
+                : Duration.parse(duration);
+        return negative ? parsed.negated() : parsed;
+    }
+
+    static String unescape(String value) {
+        if(value.indexOf('\\') == -1)
+            return value;
+
+        final StringBuilder text = new StringBuilder(value.length());
+        for(int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c != '\\' || i + 1 == value.length()) {
+                text.append(c);
+                continue;
+            }
+            final char escaped = value.charAt(++i);
+            text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reads a content line, joining the continuation lines folded onto it.
+     * @return The line, or null at the end of the stream
+     */
+    @Nullable
+    private String readLine() throws IOException {
+        String line = lookahead != null ? lookahead : IN.readLine();
+        lookahead = null;
+        if(line == null)
+            return null;
+        if(!started) {
+            started = true;
+            if(!line.isEmpty() && line.charAt(0) == '\uFEFF')
+                line = line.substring(1);
+        }
+
+        StringBuilder unfolded = null;
+        String next;
+        while((next = IN.readLine()) != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if(unfolded == null)
+                unfolded = new StringBuilder(line);
+            unfolded.append(next, 1, next.length());
+        }
+        lookahead = next;
+        return unfolded != null ? unfolded.toString() : line;
+    }
+
+    /**
+     * A content line, <b>NAME;PARAM=value:VALUE</b>
+     */
+    private static class Property {
+        private final String NAME;
+        @Nullable
+        private final HashMap<String, String> PARAMETERS;
+        private final String VALUE;
+
+        private Property(String name, @Nullable HashMap<String, String> parameters, String value) {
+            NAME = name;
+            PARAMETERS = parameters;
+            VALUE = value;
+        }
+
+        @Nullable
+        private String getParameter(String name) {
+            return PARAMETERS != null ? PARAMETERS.get(name) : null;
+        }
+
+        private static Property parse(String line) {
+            int i = 0;
+            while(i < line.length() && line.charAt(i) != ';' && line.charAt(i) != ':')
+                i++;
+            if(i == 0 || i == line.length())
+                throw new IllegalArgumentException("Not a content line: " + line);
+            final String name = line.substring(0, i).toUpperCase(Locale.ROOT);
+
+            HashMap<String, String> parameters = null;
+            while(line.charAt(i) == ';') {
+                final int equals = line.indexOf('=', i);
+                if(equals == -1)
+                    throw new IllegalArgumentException("Not a content line: " + line);
+                final String key = line.substring(i + 1, equals).toUpperCase(Locale.ROOT);
+
+                int end = equals + 1;
+                boolean quoted = false;
+                while(end < line.length() && (quoted || (line.charAt(end) != ';' && line.charAt(end) != ':'))) {
+                    if(line.charAt(end) == '"')
+                        quoted = !quoted;
+                    end++;
+                }
+                if(end == line.length())
+                    throw new IllegalArgumentException("Not a content line: " + line);
+
+                if(parameters == null)
+                    parameters = new HashMap<>(4);
+                parameters.put(key, line.substring(equals + 1, end).replace("\"", ""));
+                i = end;
+            }
+            return new Property(name, parameters, line.substring(i + 1));
+        }
+    }
+
+}
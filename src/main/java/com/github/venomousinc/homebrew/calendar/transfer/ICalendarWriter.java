@@ -0,0 +1,210 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import com.github.venomousinc.homebrew.calendar.data.Recurrence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes Calendar Events as the VEVENTs of an iCalendar (RFC 5545) <b>.ics</b> document, one event at a time.
+ * <p>
+ * The start, end, name, description and recurrence are written as standard properties, in UTC,
+ * and the alert as a VALARM. The active flag and the {@link com.github.venomousinc.homebrew.calendar.data.extra.EventData}
+ * are written as <b>X-MSGCALENDAR</b> properties, which other calendar apps ignore, so {@link ICalendarReader} reads back the same event.
+ *
+ * @see ICalendarReader
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class ICalendarWriter implements EventWriter {
+
+    public static final String PRODUCT_ID = "-//VenomousInc//MSGCalendar//EN";
+    static final String ACTIVE_PROPERTY = "X-MSGCALENDAR-ACTIVE";
+    static final String DATA_PROPERTY = "X-MSGCALENDAR-DATA";
+
+    static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Lines longer than this many UTF-8 bytes are folded
+     */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer OUT;
+    private final ObjectMapper OBJECT_MAPPER;
+    private final StringBuilder VALUE = new StringBuilder(256);
+    /**
+     * The folded line, written to the stream in one call
+     */
+    private final StringBuilder LINE = new StringBuilder(256);
+    private char[] buffer = new char[256];
+
+    private boolean started = false;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER}
+     */
+    public ICalendarWriter(@NotNull Writer out) {
+        this(out, MSGCalendar.OBJECT_MAPPER);
+    }
+
+    /**
+     * @param out Should write UTF-8
+     * @param objectMapper Writes the event data
+     */
+    public ICalendarWriter(@NotNull Writer out, @NotNull ObjectMapper objectMapper) {
+        OUT = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        OBJECT_MAPPER = objectMapper;
+    }
+
+    @Override
+    public void write(@NotNull CalendarEvent calendarEvent) throws IOException {
+        start();
+        writeLine("BEGIN", "VEVENT");
+        writeText("UID", calendarEvent.getUniqueID());
+        writeTime("DTSTAMP", calendarEvent.CREATED_ON);
+        if(calendarEvent.getStart() != -1) {
+            writeTime("DTSTART", calendarEvent.getStart());
+            writeTime("DTEND", calendarEvent.getEnd() != -1 ? calendarEvent.getEnd() : calendarEvent.getStart());
+        }
+        if(calendarEvent.getName() != null)
+            writeText("SUMMARY", calendarEvent.getName());
+        if(calendarEvent.getDescription() != null)
+            writeText("DESCRIPTION", calendarEvent.getDescription());
+        if(calendarEvent.getRecurrence() != null)
+            writeRecurrence(calendarEvent.getRecurrence());
+        if(calendarEvent.isInactive())
+            writeLine(ACTIVE_PROPERTY, "FALSE");
+        if(calendarEvent.getData() != null)
+            writeText(DATA_PROPERTY, OBJECT_MAPPER.writeValueAsString(calendarEvent.getData()));
+        if(calendarEvent.getAlert() != -1) {
+            writeLine("BEGIN", "VALARM");
+            writeLine("ACTION", "DISPLAY");
+            writeText("DESCRIPTION", calendarEvent.getName() != null ? calendarEvent.getName() : "Reminder");
+            writeTime("TRIGGER;VALUE=DATE-TIME", calendarEvent.getAlert());
+            writeLine("END", "VALARM");
+        }
+        writeLine("END", "VEVENT");
+    }
+
+    /**
+     * Ends the calendar, an empty calendar is written if no event was.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            start();
+            writeLine("END", "VCALENDAR");
+        } finally {
+            OUT.close();
+        }
+    }
+
+    private void start() throws IOException {
+        if(started)
+            return;
+        started = true;
+        writeLine("BEGIN", "VCALENDAR");
+        writeLine("VERSION", "2.0");
+        writeLine("PRODID", PRODUCT_ID);
+    }
+
+    private void writeRecurrence(Recurrence recurrence) throws IOException {
+        VALUE.setLength(0);
+        VALUE.append("FREQ=").append(recurrence.getFrequency().name());
+        if(recurrence.getInterval() != 1)
+            VALUE.append(";INTERVAL=").append(recurrence.getInterval());
+        if(recurrence.getCount() != -1)
+            VALUE.append(";COUNT=").append(recurrence.getCount());
+        if(recurrence.getUntil() != -1)
+            VALUE.append(";UNTIL=").append(UTC_DATE_TIME.format(Instant.ofEpochMilli(recurrence.getUntil())));
+        writeLine("RRULE", VALUE);
+
+        if(recurrence.getExceptions().isEmpty())
+            return;
+        VALUE.setLength(0);
+        for(long exception : recurrence.getExceptions()) {
+            if(VALUE.length() > 0)
+                VALUE.append(',');
+            VALUE.append(UTC_DATE_TIME.format(Instant.ofEpochMilli(exception)));
+        }
+        writeLine("EXDATE", VALUE);
+    }
+
+    private void writeTime(String name, long epochMs) throws IOException {
+        writeLine(name, UTC_DATE_TIME.format(Instant.ofEpochMilli(epochMs)));
+    }
+
+    /**
+     * Escapes backslashes, semicolons, commas and line breaks.
+     */
+    private void writeText(String name, @Nullable String text) throws IOException {
+        VALUE.setLength(0);
+        if(text != null) {
+            for(int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                switch (c) {
+                    case '\\': case ';': case ',':
+                        VALUE.append('\\').append(c);
+                        break;
+                    case '\n':
+                        VALUE.append("\\n");
+                        break;
+                    case '\r':
+                        break;
+                    default:
+                        VALUE.append(c);
+                }
+            }
+        }
+        writeLine(name, VALUE);
+    }
+
+    /**
+     * Writes <b>name:value</b>, folding it onto continuation lines every {@link #MAX_LINE_OCTETS} UTF-8 bytes.
+     */
+    private void writeLine(String name, CharSequence value) throws IOException {
+        LINE.setLength(0);
+        int octets = 0;
+        octets = fold(name, octets);
+        octets = fold(":", octets);
+        fold(value, octets);
+        LINE.append("\r\n");
+
+        final int length = LINE.length();
+        if(buffer.length < length)
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        LINE.getChars(0, length, buffer, 0);
+        OUT.write(buffer, 0, length);
+    }
+
+    /**
+     * Appends the text to the {@link #LINE}, never splitting a character.
+     * @return The UTF-8 length of the last folded line
+     */
+    private int fold(CharSequence text, int octets) {
+        for(int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            final boolean pair = Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1));
+            final int length = pair ? 4 : c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+            if(octets + length > MAX_LINE_OCTETS) {
+                LINE.append("\r\n ");
+                octets = 1;
+            }
+            LINE.append(c);
+            if(pair)
+                LINE.append(text.charAt(++i));
+            octets += length;
+        }
+        return octets;
+    }
+
+}
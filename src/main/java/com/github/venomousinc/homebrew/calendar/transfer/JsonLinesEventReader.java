@@ -0,0 +1,70 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads Calendar Events written as JSON lines, one event object per line, with a streaming {@link JsonParser}.
+ * A single JSON array of events is read as well, one element at a time.
+ *
+ * @see JsonLinesEventWriter
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class JsonLinesEventReader implements EventReader {
+
+    private final ObjectMapper OBJECT_MAPPER;
+    private final JsonParser PARSER;
+
+    private boolean started = false;
+    private boolean array = false;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER}
+     */
+    public JsonLinesEventReader(@NotNull InputStream in) throws IOException {
+        this(in, MSGCalendar.OBJECT_MAPPER);
+    }
+
+    /**
+     * @param objectMapper Must know every {@link com.github.venomousinc.homebrew.calendar.data.extra.EventData} subtype in the stream
+     */
+    public JsonLinesEventReader(@NotNull InputStream in, @NotNull ObjectMapper objectMapper) throws IOException {
+        OBJECT_MAPPER = objectMapper;
+        PARSER = objectMapper.getFactory().createParser(in);
+    }
+
+    @Nullable
+    @Override
+    public CalendarEvent read() throws IOException {
+        JsonToken token = PARSER.nextToken();
+        if(!started) {
+            started = true;
+            if(token == JsonToken.START_ARRAY) {
+                array = true;
+                token = PARSER.nextToken();
+            }
+        }
+
+        if(token == null || (array && token == JsonToken.END_ARRAY))
+            return null;
+        if(token != JsonToken.START_OBJECT)
+            throw new JsonParseException(PARSER, "Expected a Calendar Event object, found " + token);
+        return OBJECT_MAPPER.readValue(PARSER, CalendarEvent.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        PARSER.close();
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.venomousinc.homebrew.calendar.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.venomousinc.homebrew.calendar.MSGCalendar;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes Calendar Events as JSON lines, one compact event object per line, with a streaming {@link JsonGenerator}.
+ * Events are written the same way as inside a day file, so nothing is lost.
+ *
+ * @see JsonLinesEventReader
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+public class JsonLinesEventWriter implements EventWriter {
+
+    private final ObjectWriter OBJECT_WRITER;
+    private final JsonGenerator GENERATOR;
+
+    private long written = 0;
+
+    /**
+     * Uses {@link MSGCalendar#OBJECT_MAPPER}
+     */
+    public JsonLinesEventWriter(@NotNull OutputStream out) throws IOException {
+        this(out, MSGCalendar.OBJECT_MAPPER);
+    }
+
+    public JsonLinesEventWriter(@NotNull OutputStream out, @NotNull ObjectMapper objectMapper) throws IOException {
+        // Flushing after every event would write each line to the stream on its own
+        OBJECT_WRITER = objectMapper.writerFor(CalendarEvent.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        GENERATOR = objectMapper.getFactory().createGenerator(out);
+        GENERATOR.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(@NotNull CalendarEvent calendarEvent) throws IOException {
+        OBJECT_WRITER.writeValue(GENERATOR, calendarEvent);
+        written++;
+    }
+
+    /**
+     * @return The amount of events written so far
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(written > 0)
+            GENERATOR.writeRaw('\n');
+        GENERATOR.close();
+    }
+
+}
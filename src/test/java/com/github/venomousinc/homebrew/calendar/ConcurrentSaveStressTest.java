@@ -0,0 +1,101 @@
+package com.github.venomousinc.homebrew.calendar;
+
+import com.github.venomousinc.homebrew.calendar.cache.CalendarDayCache;
+import com.github.venomousinc.homebrew.calendar.data.CalendarDay;
+import com.github.venomousinc.homebrew.calendar.data.CalendarEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads saving into and deleting from the same few days, then checks every surviving event is on disk
+ * and no deleted event came back. Runs once with the {@link MSGCalendar#DAY_CACHE} and once without it,
+ * as without the cache every thread loads its own copy of each day.
+ *
+ * @author VenomousInc
+ * @since 17/10/2026
+ */
+class ConcurrentSaveStressTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ConcurrentSaveStressTest.class );
+    private static final int THREADS = 16;
+    private static final int EVENTS_PER_THREAD = 200;
+    private static final int DAYS = 3;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+
+    public static void main(String[] args) throws InterruptedException {
+        boolean passed = stressTest(true);
+        passed &= stressTest(false);
+        MSGCalendar.DAY_CACHE.setMaximumSize(CalendarDayCache.DEFAULT_MAXIMUM_SIZE);
+
+        System.out.println(passed ? "No lost updates." : "Lost updates!");
+        if(!passed)
+            System.exit(1);
+    }
+
+    private static boolean stressTest(boolean cached) throws InterruptedException {
+        MSGCalendar.DAY_CACHE.invalidateAll();
+        MSGCalendar.DAY_CACHE.setMaximumSize(cached ? CalendarDayCache.DEFAULT_MAXIMUM_SIZE : 0);
+
+        final List<String> kept = Collections.synchronizedList(new ArrayList<>());
+        final List<String> deleted = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for(int thread = 0; thread < THREADS; thread++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for(int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    final LocalDate day = FIRST_DAY.plusDays(i % DAYS);
+                    final CalendarEvent calendarEvent = new CalendarEvent()
+                            .setStart(day.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli() + i);
+                    calendarEvent.save();
+
+                    if(i % 5 == 0) {
+                        MSGCalendar.deleteCalendarItem(calendarEvent.getUniqueID());
+                        deleted.add(calendarEvent.getUniqueID());
+                    } else {
+                        kept.add(calendarEvent.getUniqueID());
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+
+        MSGCalendar.DAY_CACHE.invalidateAll();
+        final ArrayList<String> onDisk = new ArrayList<>();
+        for(int i = 0; i < DAYS; i++) {
+            final CalendarDay calendarDay = CalendarDay.of(FIRST_DAY.plusDays(i));
+            if(calendarDay != null) {
+                calendarDay.copyEvents().forEach(calendarEvent -> onDisk.add(calendarEvent.getUniqueID()));
+            }
+        }
+
+        final ArrayList<String> lost = new ArrayList<>(kept);
+        lost.removeAll(onDisk);
+        final ArrayList<String> resurrected = new ArrayList<>(deleted);
+        resurrected.retainAll(onDisk);
+        LOGGER.info("Cached: {} Kept: {} Deleted: {} Lost: {} Resurrected: {}",
+                cached, kept.size(), deleted.size(), lost.size(), resurrected.size());
+
+        onDisk.forEach(MSGCalendar::deleteCalendarItem);
+        return lost.isEmpty() && resurrected.isEmpty();
+    }
+
+}